@@ -0,0 +1,143 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one JSON line per request to the {@code com.sclms.access} logger, which logback-spring.xml
+ * routes through an async appender, so request threads never wait on stdout.
+ *
+ * Successful requests are sampled per route ({@code logging.access.route-sample-rates}, first matching
+ * pattern wins, otherwise {@code logging.access.sample-rate}); errors and slow requests are always logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.sclms.access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteSampling> routes = new ArrayList<>();
+    private final double defaultSampleRate;
+    private final long slowThresholdMillis;
+
+    public AccessLogFilter(@Value("${logging.access.sample-rate:1.0}") double defaultSampleRate,
+                           @Value("${logging.access.route-sample-rates:}") String routeSampleRates,
+                           @Value("${logging.access.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+
+        // Format: /api/notifications/**=0.1,/api/auth/jwks=0
+        for (String entry : routeSampleRates.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) continue;
+            try {
+                routes.add(new RouteSampling(entry.substring(0, eq).trim(), Double.parseDouble(entry.substring(eq + 1).trim())));
+            } catch (NumberFormatException e) {
+                log.warn("⚠️ Ignoring access log sample rate '{}'", entry);
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            String path = request.getRequestURI();
+            RouteSampling route = matchRoute(path);
+            double rate = route != null ? route.rate : defaultSampleRate;
+            int status = response.getStatus();
+            boolean alwaysLog = status >= 400 || elapsedNanos >= slowThresholdMillis * 1_000_000L;
+
+            if (alwaysLog || rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+                accessLog.info(toJson(request, path, route, status, elapsedNanos, alwaysLog ? 1.0 : rate));
+            }
+        }
+    }
+
+    private RouteSampling matchRoute(String path) {
+        for (RouteSampling route : routes) {
+            if (pathMatcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String toJson(HttpServletRequest request, String path, RouteSampling route,
+                                 int status, long elapsedNanos, double sampleRate) {
+        Object user = request.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_USER_ATTRIBUTE);
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"ts\":\"").append(Instant.now()).append('"');
+        json.append(",\"method\":\"").append(request.getMethod()).append('"');
+        appendString(json, "path", path);
+        if (route != null) {
+            appendString(json, "route", route.pattern);
+        }
+        json.append(",\"status\":").append(status);
+        json.append(",\"latencyMs\":").append(Math.round(elapsedNanos / 1_000.0) / 1_000.0);
+        appendString(json, "user", user != null ? user.toString() : null);
+        appendString(json, "ip", request.getRemoteAddr());
+        json.append(",\"sampleRate\":").append(sampleRate);
+        json.append('}');
+        return json.toString();
+    }
+
+    private static void appendString(StringBuilder json, String field, String value) {
+        json.append(",\"").append(field).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private record RouteSampling(String pattern, double rate) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.sclms.sclms_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Business counters (contract status transitions, notifications created) and hit/miss counts for the
+ * in-memory snapshots that stand in for caches. Counts made inside a transaction are recorded when it
+ * commits, so rolled-back work is not counted. HTTP and repository timers come from Spring Boot's own
+ * instrumentation (http.server.requests, spring.data.repository.invocations).
+ */
+@Component
+public class ApplicationMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+
+    public ApplicationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // =========================================================
+    // BUSINESS COUNTERS
+    // =========================================================
+
+    // source: api, bulk or import
+    public void contractTransition(String from, String to, String source, long count) {
+        Counter counter = Counter.builder("sclms.contract.transitions")
+                .description("Contract status changes")
+                .tag("from", from)
+                .tag("to", to)
+                .tag("source", source)
+                .register(registry);
+        afterCommit(() -> counter.increment(count));
+    }
+
+    public void notificationsCreated(String type, long count) {
+        Counter counter = Counter.builder("sclms.notifications.created")
+                .description("Notifications stored for users")
+                .tag("type", type != null ? type : "UNKNOWN")
+                .register(registry);
+        afterCommit(() -> counter.increment(count));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // =========================================================
+    // CACHES
+    // =========================================================
+
+    public void cacheHit(String cache) {
+        cache(cache).hits.increment();
+        RequestProfile.recordCacheLookup(true);
+    }
+
+    public void cacheMiss(String cache) {
+        cache(cache).misses.increment();
+        RequestProfile.recordCacheLookup(false);
+    }
+
+    // cache.gets{result=hit|miss} as Micrometer's cache binders name it, plus the ratio for quick reading
+    private CacheStats cache(String name) {
+        return caches.computeIfAbsent(name, key -> {
+            CacheStats stats = new CacheStats();
+            FunctionCounter.builder("cache.gets", stats.hits, LongAdder::sum)
+                    .tag("cache", key).tag("result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", stats.misses, LongAdder::sum)
+                    .tag("cache", key).tag("result", "miss").register(registry);
+            Gauge.builder("sclms.cache.hit.ratio", stats, CacheStats::hitRatio)
+                    .description("Share of lookups answered from memory since startup")
+                    .tag("cache", key).register(registry);
+            return stats;
+        });
+    }
+
+    private static final class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        double hitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 1.0 : (double) h / total;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sclms.sclms_backend.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker keeping pool gauges (active, idle, pending) and connection wait/usage totals.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private volatile PoolStats poolStats;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            metrics.put("active", stats.getActiveConnections());
+            metrics.put("idle", stats.getIdleConnections());
+            metrics.put("total", stats.getTotalConnections());
+            metrics.put("pending", stats.getPendingThreads());
+            metrics.put("max", stats.getMaxConnections());
+            metrics.put("minIdle", stats.getMinConnections());
+        }
+
+        long acquired = acquireCount.sum();
+        long used = usageCount.sum();
+        metrics.put("acquired", acquired);
+        metrics.put("avgWaitMs", acquired > 0 ? acquireNanos.sum() / acquired / 1_000_000.0 : 0.0);
+        metrics.put("maxWaitMs", maxAcquireNanos.get() / 1_000_000.0);
+        metrics.put("avgUsageMs", used > 0 ? (double) usageMillis.sum() / used : 0.0);
+        metrics.put("timeouts", timeouts.sum());
+        metrics.put("connectionsCreated", connectionsCreated.sum());
+        return metrics;
+    }
+}
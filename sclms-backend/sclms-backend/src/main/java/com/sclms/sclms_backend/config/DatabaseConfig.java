@@ -1,47 +1,216 @@
 package com.sclms.sclms_backend.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Pooled DataSource. Uses the DB_* variables (Aiven MySQL) when DB_HOST is set, otherwise the
+ * standard spring.datasource.* settings (H2 locally). The pool starts at {@code db.pool.max-size}
+ * and is resized to SystemSettings.maxConnections once the settings are readable
+ * (see ConnectionPoolService). Read-only transactions can be served by read replicas
+ * (see ReplicaRoutingDataSource), and tenants' contracts can be placed on extra shards
+ * (see ShardRoutingDataSource).
+ */
 @Configuration
 public class DatabaseConfig {
 
-    @Value("${DB_HOST}")
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    @Value("${DB_HOST:}")
     private String dbHost;
 
-    @Value("${DB_PORT}")
+    @Value("${DB_PORT:3306}")
     private String dbPort;
 
-    @Value("${DB_NAME}")
+    @Value("${DB_NAME:}")
     private String dbName;
 
-    @Value("${DB_USER}")
+    @Value("${DB_USER:}")
     private String dbUser;
 
-    @Value("${DB_PASSWORD}")
+    @Value("${DB_PASSWORD:}")
     private String dbPassword;
 
+    @Value("${db.pool.max-size:10}")
+    private int maxPoolSize;
+
+    @Value("${db.pool.min-idle:2}")
+    private int minIdle;
+
+    @Value("${db.pool.connection-timeout:10000}")
+    private long connectionTimeout;
+
+    @Value("${db.pool.idle-timeout:300000}")
+    private long idleTimeout;
+
+    // Keep below the server's wait_timeout so the pool retires connections before MySQL drops them
+    @Value("${db.pool.max-lifetime:1500000}")
+    private long maxLifetime;
+
+    @Value("${db.pool.leak-detection-threshold:30000}")
+    private long leakDetectionThreshold;
+
+    @Value("${db.replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${db.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${db.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${db.replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${db.replicas.max-lag-seconds:5}")
+    private long replicaMaxLagSeconds;
+
+    // Query returning the replica's lag in seconds; MySQL replicas default to SHOW REPLICA STATUS
+    @Value("${db.replicas.lag-query:}")
+    private String replicaLagQuery;
+
+    // Extra contract shards (comma separated JDBC URLs); the primary database is always shard 0
+    @Value("${db.shards.urls:}")
+    private String shardUrls;
+
+    @Value("${db.shards.username:}")
+    private String shardUsername;
+
+    @Value("${db.shards.password:}")
+    private String shardPassword;
+
+    @Value("${db.shards.pool-size:10}")
+    private int shardPoolSize;
+
+    // Count statements per request (QueryBudgetFilter) and in tests; off in production
+    @Value("${db.query-tracking.enabled:false}")
+    private boolean queryTracking;
+
+    // Per-request DB time and statement count for Server-Timing and the slowest-requests buffer
+    @Value("${profiling.enabled:false}")
+    private boolean profiling;
+
     @Bean
-    @Primary
-    @ConditionalOnProperty(name = "DB_HOST")
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, ConnectionPoolMetrics poolMetrics) {
+        HikariConfig config;
+        if (dbHost != null && !dbHost.isBlank()) {
+            // Construct standard MySQL JDBC URL with SSL safe for Aiven
+            config = poolConfig("sclms-pool", "com.mysql.cj.jdbc.Driver",
+                    String.format("jdbc:mysql://%s:%s/%s?sslMode=REQUIRED", dbHost, dbPort, dbName),
+                    dbUser, dbPassword);
+            log.info("✅ Configured pooled MySQL DataSource from DB_HOST environment variable: {}", dbHost);
+        } else {
+            config = poolConfig("sclms-pool", properties.determineDriverClassName(), properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword());
+            log.info("✅ Configured pooled DataSource from spring.datasource.url");
+        }
 
-        // Construct standard MySQL JDBC URL with SSL safe for Aiven
-        String jdbcUrl = String.format("jdbc:mysql://%s:%s/%s?sslMode=REQUIRED", dbHost, dbPort, dbName);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(minIdle, maxPoolSize));
+        config.setMetricsTrackerFactory(poolMetrics);
 
-        dataSource.setUrl(jdbcUrl);
-        dataSource.setUsername(dbUser);
-        dataSource.setPassword(dbPassword);
+        return new HikariDataSource(config);
+    }
+
+    // Read replicas from db.replicas.urls (comma separated JDBC URLs); none configured -> everything uses the primary
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        String[] urls = replicaUrls.isBlank() ? new String[0] : replicaUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            String url = urls[i].trim();
+            HikariConfig config = poolConfig("sclms-replica-" + (i + 1), null, url,
+                    replicaUsername.isBlank() ? primaryDataSource.getUsername() : replicaUsername,
+                    replicaUsername.isBlank() ? primaryDataSource.getPassword() : replicaPassword);
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(Math.min(minIdle, replicaPoolSize));
+            config.setReadOnly(true);
+            // Don't fail startup when a replica is down; the health check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+            log.info("✅ Configured read replica {}", config.getPoolName());
+        }
+
+        String lagQuery = replicaLagQuery;
+        if (lagQuery.isBlank() && !replicas.isEmpty() && replicas.get(0).getJdbcUrl().startsWith("jdbc:mysql:")) {
+            lagQuery = "SHOW REPLICA STATUS";
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaMaxLagSeconds, lagQuery);
+    }
 
-        System.out.println("✅ Configured MySQL DataSource from DB_HOST environment variable: " + dbHost);
+    // Shard 0 is the primary (with its replicas); each db.shards.urls entry adds a shard
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ReplicaRoutingDataSource routingDataSource,
+                                                         HikariDataSource primaryDataSource) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(routingDataSource);
+        String[] urls = shardUrls.isBlank() ? new String[0] : shardUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            HikariConfig config = poolConfig("sclms-shard-" + (i + 1), null, urls[i].trim(),
+                    shardUsername.isBlank() ? primaryDataSource.getUsername() : shardUsername,
+                    shardUsername.isBlank() ? primaryDataSource.getPassword() : shardPassword);
+            config.setMaximumPoolSize(shardPoolSize);
+            config.setMinimumIdle(Math.min(minIdle, shardPoolSize));
+            shards.add(new HikariDataSource(config));
+            log.info("✅ Configured contract shard {}", i + 1);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // Connections are fetched lazily so the routers see the transaction's read-only flag and shard
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        if (queryTracking || profiling) {
+            log.info("✅ Statement timing enabled | queryBudgets={} | profiling={}", queryTracking, profiling);
+            return new LazyConnectionDataSourceProxy(new QueryCountingDataSource(shardRoutingDataSource));
+        }
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    private HikariConfig poolConfig(String poolName, String driverClassName, String jdbcUrl,
+                                    String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        if (driverClassName != null) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setIdleTimeout(idleTimeout);
+        config.setMaxLifetime(maxLifetime);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:mysql:")) {
+            addMySqlProperties(config);
+        }
+        return config;
+    }
 
-        return dataSource;
+    // Connector/J statement caching: prepare once per connection and reuse server-side statements
+    private static void addMySqlProperties(HikariConfig config) {
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("useLocalSessionState", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("cacheResultSetMetadata", "true");
+        config.addDataSourceProperty("cacheServerConfiguration", "true");
+        config.addDataSourceProperty("elideSetAutoCommits", "true");
+        config.addDataSourceProperty("maintainTimeStats", "false");
     }
 }
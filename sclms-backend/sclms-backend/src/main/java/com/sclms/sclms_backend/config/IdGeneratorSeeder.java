@@ -0,0 +1,58 @@
+package com.sclms.sclms_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the pooled id generators in {@code id_generators} past the highest existing id before the first
+ * insert, so tables whose ids were previously assigned by IDENTITY don't collide with generated ids.
+ * Values follow the pooled-lo optimizer: the stored value is the next id to hand out.
+ */
+@Component
+public class IdGeneratorSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    // Generator key -> table whose ids it assigns (must match the @TableGenerator pkColumnValue)
+    private static final Map<String, String> GENERATORS = Map.of(
+            "notifications", "notifications",
+            "approval_history", "approval_history"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so the schema update has created the tables first
+    public IdGeneratorSeeder(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void seed() {
+        GENERATORS.forEach((key, table) -> {
+            try {
+                long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+                List<Long> current = jdbcTemplate.queryForList(
+                        "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, key);
+
+                if (current.isEmpty()) {
+                    jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", key, nextId);
+                    log.info("✅ Id generator {} initialised at {}", key, nextId);
+                } else if (current.get(0) < nextId) {
+                    jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                            nextId, key, nextId);
+                    log.info("✅ Id generator {} advanced to {}", key, nextId);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ Could not seed id generator {}: {}", key, e.getMessage());
+            }
+        });
+    }
+}
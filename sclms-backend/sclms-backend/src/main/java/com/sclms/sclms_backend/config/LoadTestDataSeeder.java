@@ -0,0 +1,408 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.Notification;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.NotificationRepository;
+import com.sclms.sclms_backend.service.OrganizationService;
+import com.sclms.sclms_backend.service.TenantShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a production-sized, reproducible data set for load tests: N organizations, M
+ * users per role in each, and K contracts between them with their approval history and notifications.
+ * The same seed always produces the same rows. Users, contracts, history and notifications are written
+ * as JDBC batches (contracts per shard of the receiving organization).
+ *
+ * Off by default; enable with {@code loadtest.seed.enabled=true}. Every generated user can log in with
+ * {@code loadtest.seed.password}; emails are {@code lt-<role>-<org>-<n>@load.test}, e.g.
+ * {@code lt-approver-3-1@load.test}. Runs once: if the first generated user exists, nothing is written.
+ */
+@Component
+@ConditionalOnProperty(name = "loadtest.seed.enabled", havingValue = "true")
+public class LoadTestDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    public static final String EMAIL_DOMAIN = "load.test";
+    public static final String[] ROLES = {"USER", "APPROVER", "ADMIN"};
+
+    private static final String[] CONTRACT_TYPES = {"SERVICE", "SUPPLY", "MAINTENANCE", "CONSULTING", "LICENSE", "LEASE"};
+    private static final String[] SUBJECTS = {
+            "Cloud Hosting", "Office Supplies", "Facility Maintenance", "Security Audit", "Software Licenses",
+            "Logistics", "Catering", "Network Upgrade", "Legal Advisory", "Equipment Lease", "Data Migration",
+            "Staff Training"};
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, password, role, status, organization, organization_id, created_date, " +
+            "browser_notifications, email_notifications, system_notifications, contract_alerts, expiration_reminders, " +
+            "two_factor_enabled, last_password_changed_at, login_attempts, account_locked, force_password_reset) " +
+            "VALUES (?, ?, ?, ?, 'APPROVED', ?, ?, ?, TRUE, TRUE, TRUE, TRUE, TRUE, FALSE, ?, 0, FALSE, FALSE)";
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts (title, description, contract_type, from_org, to_org, from_org_id, to_org_id, " +
+            "start_date, end_date, status, created_date, approved_date, created_by, approved_by, approver_comments, " +
+            "rejection_reason, contract_value, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrganizationService organizationService;
+    private final TenantShardRouter shardRouter;
+    private final ApprovalHistoryRepository historyRepository;
+    private final NotificationRepository notificationRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.seed.organizations:20}")
+    private int organizations;
+
+    @Value("${loadtest.seed.users-per-role:10}")
+    private int usersPerRole;
+
+    @Value("${loadtest.seed.contracts:10000}")
+    private int contracts;
+
+    @Value("${loadtest.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${loadtest.seed.password:LoadTest#2026}")
+    private String password;
+
+    @Value("${loadtest.seed.batch-size:500}")
+    private int batchSize;
+
+    public LoadTestDataSeeder(DataSource dataSource, OrganizationService organizationService,
+                              TenantShardRouter shardRouter, ApprovalHistoryRepository historyRepository,
+                              NotificationRepository notificationRepository, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.organizationService = organizationService;
+        this.shardRouter = shardRouter;
+        this.historyRepository = historyRepository;
+        this.notificationRepository = notificationRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public static String organizationName(int org) {
+        return String.format("Load Org %03d", org);
+    }
+
+    public static String email(String role, int org, int n) {
+        return "lt-" + role.toLowerCase() + "-" + org + "-" + n + "@" + EMAIL_DOMAIN;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class,
+                email(ROLES[0], 1, 1));
+        if (existing != null && existing > 0) {
+            log.info("🌱 Load test data already present, not seeding again");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        List<Org> orgs = new ArrayList<>(organizations);
+        for (int org = 1; org <= organizations; org++) {
+            orgs.add(new Org(org, organizationName(org), organizationService.resolveId(organizationName(org))));
+        }
+
+        insertUsers(orgs);
+        long history = 0;
+        long notifications = 0;
+        for (int first = 0; first < contracts; first += batchSize) {
+            Batch batch = generateContracts(orgs, random, Math.min(batchSize, contracts - first));
+            history += insertContracts(batch);
+            notifications += insertNotifications(batch, random);
+        }
+
+        log.info("🌱 Load test data seeded in {} ms | organizations={} | users={} | contracts={} | history={} | notifications={}",
+                System.currentTimeMillis() - started, organizations, organizations * usersPerRole * ROLES.length,
+                contracts, history, notifications);
+    }
+
+    // =========================================================
+    // USERS
+    // =========================================================
+
+    private void insertUsers(List<Org> orgs) {
+        // One hash for everyone: BCrypt per row would dominate the seeding time
+        String hash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String createdDate = LocalDate.now().toString();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Org org : orgs) {
+            for (String role : ROLES) {
+                for (int n = 1; n <= usersPerRole; n++) {
+                    rows.add(new Object[]{
+                            capitalize(role) + " " + n + " of " + org.name, email(role, org.number, n), hash, role,
+                            org.name, org.id, createdDate, now});
+                }
+            }
+        }
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_USER, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+
+        jdbcTemplate.query("SELECT id, email FROM users WHERE email LIKE ?", rs -> {
+            String[] parts = rs.getString("email").split("[-@]");
+            Org org = orgs.get(Integer.parseInt(parts[2]) - 1);
+            org.users.computeIfAbsent(parts[1].toUpperCase(), role -> new ArrayList<>()).add(
+                    new SeededUser(rs.getLong("id"), capitalize(parts[1]) + " " + parts[3] + " of " + org.name));
+        }, "lt-%@" + EMAIL_DOMAIN);
+    }
+
+    // =========================================================
+    // CONTRACTS + HISTORY
+    // =========================================================
+
+    private Batch generateContracts(List<Org> orgs, Random random, int count) {
+        Batch batch = new Batch();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Org from = orgs.get(random.nextInt(orgs.size()));
+            Org to = orgs.size() > 1 ? orgs.get(random.nextInt(orgs.size())) : from;
+            while (to == from && orgs.size() > 1) {
+                to = orgs.get(random.nextInt(orgs.size()));
+            }
+
+            SeededContract contract = new SeededContract();
+            contract.from = from;
+            contract.to = to;
+            contract.creator = pick(from.users.get("USER"), random);
+            contract.approver = pick(to.users.get("APPROVER"), random);
+            contract.type = CONTRACT_TYPES[random.nextInt(CONTRACT_TYPES.length)];
+            contract.title = SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + (1000 + random.nextInt(9000));
+            contract.createdDate = now.minusMinutes(random.nextInt(365 * 24 * 60));
+            contract.startDate = contract.createdDate.plusDays(random.nextInt(30)).toLocalDate().atStartOfDay();
+            contract.endDate = contract.startDate.plusMonths(3 + random.nextInt(34)).minusSeconds(1);
+            contract.value = Math.round(1_000 + random.nextDouble() * 499_000) * 1.0;
+            contract.modified = random.nextInt(5) == 0;
+
+            // Roughly the production mix: a third waiting, most of the rest approved
+            int roll = random.nextInt(100);
+            contract.status = roll < 35 ? "PENDING" : roll < 85 ? "APPROVED" : "REJECTED";
+            if (!"PENDING".equals(contract.status)) {
+                contract.decidedDate = contract.createdDate.plusHours(1 + random.nextInt(24 * 7));
+                if (contract.decidedDate.isAfter(now)) {
+                    contract.decidedDate = now;
+                }
+            }
+            batch.byShard.computeIfAbsent(shardRouter.shardForTenant(to.name), s -> new ArrayList<>()).add(contract);
+        }
+        return batch;
+    }
+
+    private long insertContracts(Batch batch) {
+        long history = 0;
+        for (Map.Entry<Integer, List<SeededContract>> shard : batch.byShard.entrySet()) {
+            List<SeededContract> rows = shard.getValue();
+            history += shardRouter.onShard(shard.getKey(), () -> {
+                insertContractRows(rows);
+                List<ApprovalHistory> entries = new ArrayList<>(rows.size() * 2);
+                for (SeededContract contract : rows) {
+                    entries.add(history(contract.id, "CREATED", "Contract created & sent for approval",
+                            contract.creator.name, "USER", contract.createdDate));
+                    if (contract.modified) {
+                        entries.add(history(contract.id, "MODIFIED", "Terms updated after review",
+                                contract.creator.name, "USER", contract.createdDate.plusMinutes(30)));
+                    }
+                    if ("APPROVED".equals(contract.status)) {
+                        entries.add(history(contract.id, "APPROVED", "Approved", contract.approver.name,
+                                "APPROVER", contract.decidedDate));
+                    } else if ("REJECTED".equals(contract.status)) {
+                        entries.add(history(contract.id, "REJECTED", "Budget constraints", contract.approver.name,
+                                "APPROVER", contract.decidedDate));
+                    }
+                }
+                historyRepository.saveAll(entries);
+                return (long) entries.size();
+            });
+        }
+        return history;
+    }
+
+    private void insertContractRows(List<SeededContract> rows) {
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CONTRACT, Statement.RETURN_GENERATED_KEYS)) {
+                for (SeededContract contract : rows) {
+                    boolean decided = contract.decidedDate != null;
+                    boolean rejected = "REJECTED".equals(contract.status);
+                    ps.setString(1, contract.title);
+                    ps.setString(2, contract.type.charAt(0) + contract.type.substring(1).toLowerCase()
+                            + " agreement between " + contract.from.name + " and " + contract.to.name);
+                    ps.setString(3, contract.type);
+                    ps.setString(4, contract.from.name);
+                    ps.setString(5, contract.to.name);
+                    ps.setLong(6, contract.from.id);
+                    ps.setLong(7, contract.to.id);
+                    ps.setTimestamp(8, Timestamp.valueOf(contract.startDate));
+                    ps.setTimestamp(9, Timestamp.valueOf(contract.endDate));
+                    ps.setString(10, contract.status);
+                    ps.setTimestamp(11, Timestamp.valueOf(contract.createdDate));
+                    ps.setTimestamp(12, decided ? Timestamp.valueOf(contract.decidedDate) : null);
+                    ps.setLong(13, contract.creator.id);
+                    if (decided) {
+                        ps.setLong(14, contract.approver.id);
+                    } else {
+                        ps.setNull(14, Types.BIGINT);
+                    }
+                    ps.setString(15, decided ? (rejected ? "Budget constraints" : "Approved") : null);
+                    ps.setString(16, rejected ? "Insufficient budget allocation for this fiscal year" : null);
+                    ps.setDouble(17, contract.value);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> generated = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+        if (ids == null || ids.size() != rows.size()) {
+            throw new IllegalStateException("Driver returned " + (ids == null ? 0 : ids.size())
+                    + " generated ids for " + rows.size() + " contracts");
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).id = ids.get(i);
+        }
+    }
+
+    // =========================================================
+    // NOTIFICATIONS
+    // =========================================================
+
+    // Approvers hear about every new contract, creators about decisions; older ones have mostly been read
+    private long insertNotifications(Batch batch, Random random) {
+        LocalDateTime readBefore = LocalDateTime.now().minusDays(7);
+        List<Notification> notifications = new ArrayList<>();
+        for (List<SeededContract> rows : batch.byShard.values()) {
+            for (SeededContract contract : rows) {
+                for (SeededUser approver : contract.to.users.get("APPROVER")) {
+                    notifications.add(notification(approver.id, contract.id, "CONTRACT_CREATED",
+                            "New Contract for Approval",
+                            String.format("Contract '%s' from %s requires your approval", contract.title, contract.from.name),
+                            contract.createdDate, contract.createdDate.isBefore(readBefore) && random.nextInt(10) < 8));
+                }
+                if (contract.decidedDate != null) {
+                    boolean approved = "APPROVED".equals(contract.status);
+                    notifications.add(notification(contract.creator.id, contract.id,
+                            approved ? "CONTRACT_APPROVED" : "CONTRACT_REJECTED",
+                            approved ? "Contract Approved" : "Contract Rejected",
+                            approved
+                                    ? String.format("Your contract '%s' has been approved", contract.title)
+                                    : String.format("Your contract '%s' has been rejected. Reason: %s", contract.title,
+                                    "Insufficient budget allocation for this fiscal year"),
+                            contract.decidedDate, contract.decidedDate.isBefore(readBefore) && random.nextInt(10) < 8));
+                }
+            }
+        }
+        shardRouter.onShard(ShardRoutingDataSource.DIRECTORY_SHARD, () -> notificationRepository.saveAll(notifications));
+        return notifications.size();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private static ApprovalHistory history(Long contractId, String action, String comment, String actor,
+                                           String actorRole, LocalDateTime timestamp) {
+        ApprovalHistory entry = new ApprovalHistory();
+        entry.setContractId(contractId);
+        entry.setAction(action);
+        entry.setComment(comment);
+        entry.setActor(actor);
+        entry.setActorRole(actorRole);
+        entry.setTimestamp(timestamp);
+        return entry;
+    }
+
+    private static Notification notification(Long userId, Long contractId, String type, String title, String message,
+                                             LocalDateTime createdAt, boolean read) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setContractId(contractId);
+        notification.setType(type);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setIsRead(read);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String capitalize(String value) {
+        return value.charAt(0) + value.substring(1).toLowerCase();
+    }
+
+    // =========================================================
+    // TYPES
+    // =========================================================
+
+    private static final class Org {
+        private final int number;
+        private final String name;
+        private final Long id;
+        private final Map<String, List<SeededUser>> users = new HashMap<>();
+
+        private Org(int number, String name, Long id) {
+            this.number = number;
+            this.name = name;
+            this.id = id;
+        }
+    }
+
+    private record SeededUser(Long id, String name) {
+    }
+
+    private static final class SeededContract {
+        private Long id;
+        private Org from;
+        private Org to;
+        private SeededUser creator;
+        private SeededUser approver;
+        private String type;
+        private String title;
+        private String status;
+        private boolean modified;
+        private double value;
+        private LocalDateTime createdDate;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private LocalDateTime decidedDate;
+    }
+
+    // One batch of generated contracts, grouped by the shard of their receiving organization
+    private static final class Batch {
+        private final Map<Integer, List<SeededContract>> byShard = new HashMap<>();
+    }
+}
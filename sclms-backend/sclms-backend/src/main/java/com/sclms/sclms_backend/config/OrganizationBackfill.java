@@ -0,0 +1,76 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.service.OrganizationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the organization registry from the free-text organization names stored on users and contracts,
+ * and links those rows to it. Only rows without an organization id are touched, so after the first run
+ * this is a handful of no-op statements.
+ */
+@Component
+public class OrganizationBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationBackfill.class);
+
+    // Distinct trimmed names from every column that holds an organization name
+    private static final String INSERT_MISSING =
+            "INSERT INTO organizations (name, created_at) " +
+            "SELECT DISTINCT n.name, CURRENT_TIMESTAMP FROM (" +
+            "  SELECT TRIM(organization) AS name FROM users" +
+            "  UNION SELECT TRIM(from_org) FROM contracts" +
+            "  UNION SELECT TRIM(to_org) FROM contracts" +
+            ") n " +
+            "WHERE n.name IS NOT NULL AND n.name <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM organizations o WHERE o.name = n.name)";
+
+    private static final String LINK_USERS =
+            "UPDATE users SET organization_id = " +
+            "(SELECT o.id FROM organizations o WHERE o.name = TRIM(users.organization)) " +
+            "WHERE organization_id IS NULL " +
+            "AND EXISTS (SELECT 1 FROM organizations o WHERE o.name = TRIM(users.organization))";
+
+    private static final String LINK_CONTRACTS_FROM =
+            "UPDATE contracts SET from_org_id = " +
+            "(SELECT o.id FROM organizations o WHERE o.name = TRIM(contracts.from_org)) " +
+            "WHERE from_org_id IS NULL " +
+            "AND EXISTS (SELECT 1 FROM organizations o WHERE o.name = TRIM(contracts.from_org))";
+
+    private static final String LINK_CONTRACTS_TO =
+            "UPDATE contracts SET to_org_id = " +
+            "(SELECT o.id FROM organizations o WHERE o.name = TRIM(contracts.to_org)) " +
+            "WHERE to_org_id IS NULL " +
+            "AND EXISTS (SELECT 1 FROM organizations o WHERE o.name = TRIM(contracts.to_org))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrganizationService organizationService;
+
+    public OrganizationBackfill(DataSource dataSource, OrganizationService organizationService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.organizationService = organizationService;
+    }
+
+    // Runs after startup so rows created during initialisation (default admin, sample data) are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int organizations = jdbcTemplate.update(INSERT_MISSING);
+            int users = jdbcTemplate.update(LINK_USERS);
+            int contracts = jdbcTemplate.update(LINK_CONTRACTS_FROM) + jdbcTemplate.update(LINK_CONTRACTS_TO);
+            if (organizations > 0 || users > 0 || contracts > 0) {
+                log.info("✅ Organization backfill | organizations={} | users={} | contractLinks={}",
+                        organizations, users, contracts);
+            }
+            organizationService.reload();
+        } catch (Exception e) {
+            log.warn("⚠️ Organization backfill failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sclms.sclms_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.service.RequestProfilerService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * MVC side of request profiling: an interceptor that tells the request's {@link RequestProfile} its route
+ * and caller (the security context is gone by the time RequestProfilingFilter finishes), and a Jackson
+ * converter that times serialization.
+ */
+@Configuration
+@ConditionalOnProperty(name = "profiling.enabled", havingValue = "true")
+public class ProfilingWebConfig implements WebMvcConfigurer {
+
+    private final RequestProfilerService profilerService;
+
+    public ProfilingWebConfig(RequestProfilerService profilerService) {
+        this.profilerService = profilerService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestProfile profile = RequestProfile.current();
+                if (profile != null) {
+                    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                    User caller = auth != null && auth.getPrincipal() instanceof User user ? user : null;
+                    profile.identify((String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                            caller != null ? caller.getId() : null,
+                            caller != null ? caller.getEmail() : null,
+                            profilerService.isServerTimingEnabled(caller));
+                }
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonConverter)) {
+                converters.set(i, new TimedJacksonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+
+    /**
+     * Records the time spent writing JSON. For callers who get Server-Timing the body is serialized to a
+     * buffer first, so the header (which must precede the body) can include the serialization time.
+     */
+    static final class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            RequestProfile profile = RequestProfile.current();
+            if (profile == null) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+
+            long start = System.nanoTime();
+            if (!profile.isServerTiming()) {
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    RequestProfile.recordSerialization(System.nanoTime() - start);
+                }
+                return;
+            }
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            RequestProfile.recordSerialization(System.nanoTime() - start);
+            outputMessage.getHeaders().add(RequestProfile.SERVER_TIMING_HEADER, profile.serverTimingValue());
+            profile.markServerTimingSent();
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sclms.sclms_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the statements each request executes (see QueryCounter) and logs requests that exceed their
+ * budget with the SQL they ran, repeated statements first, and the call site of each. Budgets are per
+ * route ({@code db.query-tracking.route-budgets}, first matching pattern wins, otherwise
+ * {@code db.query-tracking.budget}). Work handed to other threads (async exports, report workers) is not
+ * counted against the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "db.query-tracking.enabled", havingValue = "true")
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    // How many statements of an over-budget request are printed
+    private static final int LOGGED_STATEMENTS = 10;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteBudget> routes = new ArrayList<>();
+    private final int defaultBudget;
+    private final int repeatThreshold;
+
+    public QueryBudgetFilter(@Value("${db.query-tracking.budget:20}") int defaultBudget,
+                             @Value("${db.query-tracking.route-budgets:}") String routeBudgets,
+                             @Value("${db.query-tracking.repeat-threshold:5}") int repeatThreshold) {
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+
+        // Format: /api/admin/dashboard/**=30,/api/contracts/import/**=200
+        for (String entry : routeBudgets.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) continue;
+            try {
+                routes.add(new RouteBudget(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim())));
+            } catch (NumberFormatException e) {
+                log.warn("⚠️ Ignoring query budget '{}'", entry);
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            filterChain.doFilter(request, response);
+
+            String path = request.getRequestURI();
+            int budget = budgetFor(path);
+            List<QueryCounter.StatementStats> repeated = scope.repeated(repeatThreshold);
+            if (scope.count() > budget || !repeated.isEmpty()) {
+                log.warn("⚠️ Query budget exceeded | {} {} | statements={} budget={} dbMs={}{}",
+                        request.getMethod(), path, scope.count(), budget,
+                        Math.round(scope.elapsedNanos() / 1_000.0) / 1_000.0, describe(scope, repeated));
+            }
+        }
+    }
+
+    private int budgetFor(String path) {
+        for (RouteBudget route : routes) {
+            if (pathMatcher.match(route.pattern, path)) {
+                return route.budget;
+            }
+        }
+        return defaultBudget;
+    }
+
+    // Repeated statements (likely N+1) first, then the rest in execution order
+    private static String describe(QueryCounter.Scope scope, List<QueryCounter.StatementStats> repeated) {
+        List<QueryCounter.StatementStats> listed = new ArrayList<>(repeated);
+        for (QueryCounter.StatementStats stats : scope.statements()) {
+            if (!listed.contains(stats)) {
+                listed.add(stats);
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < listed.size() && i < LOGGED_STATEMENTS; i++) {
+            QueryCounter.StatementStats stats = listed.get(i);
+            out.append("\n  ").append(repeated.contains(stats) ? "N+1? " : "").append(stats);
+        }
+        if (listed.size() > LOGGED_STATEMENTS) {
+            out.append("\n  ... ").append(listed.size() - LOGGED_STATEMENTS).append(" more distinct statements");
+        }
+        return out.toString();
+    }
+
+    private record RouteBudget(String pattern, int budget) {
+    }
+}
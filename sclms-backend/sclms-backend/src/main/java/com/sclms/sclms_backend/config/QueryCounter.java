@@ -0,0 +1,166 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.service.TenantShardRouter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the JDBC statements executed on the current thread while a scope is open. Statements are
+ * reported by QueryCountingDataSource, so Hibernate, Spring Data and JdbcTemplate work is all counted.
+ * Used by QueryBudgetFilter (one scope per request) and by tests that assert a maximum query count.
+ *
+ * Identical SQL executed many times in one scope is the N+1 signature; {@link Scope#repeated(int)}
+ * lists those statements with the application frame that issued them first.
+ */
+public final class QueryCounter {
+
+    // Distinct statements kept per scope with their call site; later ones are only counted
+    private static final int MAX_TRACKED_STATEMENTS = 100;
+    private static final String APPLICATION_PACKAGE = "com.sclms.sclms_backend.";
+    private static final Set<String> PLUMBING = Set.of(
+            QueryCounter.class.getName(),
+            QueryCountingDataSource.class.getName(),
+            ShardRoutingDataSource.class.getName(),
+            TenantShardRouter.class.getName());
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens a scope on this thread. Scopes nest: a statement is counted in every open scope, so a test's
+     * scope still sees the statements of the request scope opened by QueryBudgetFilter.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        String key = sql != null ? sql : "?";
+        String callSite = null;
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (scope.add(key, elapsedNanos, callSite) && callSite == null) {
+                callSite = callSite();
+                scope.statements.get(key).callSite = callSite;
+            }
+        }
+    }
+
+    // First frame in application code, skipping the counting and shard routing plumbing
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(f -> !PLUMBING.contains(f.getClassName()) && !f.getClassName().contains("$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(APPLICATION_PACKAGE.length()) + "." + f.getMethodName()
+                        + ":" + f.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+        private int count;
+        private long elapsedNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        // Returns true when the statement is tracked here for the first time and still needs its call site
+        private boolean add(String sql, long nanos, String callSite) {
+            count++;
+            elapsedNanos += nanos;
+            StatementStats stats = statements.get(sql);
+            boolean needsCallSite = false;
+            if (stats == null && statements.size() < MAX_TRACKED_STATEMENTS) {
+                stats = new StatementStats(sql, callSite);
+                statements.put(sql, stats);
+                needsCallSite = callSite == null;
+            }
+            if (stats != null) {
+                stats.count++;
+                stats.elapsedNanos += nanos;
+            }
+            return needsCallSite;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        // Statements executed at least minCount times, most frequent first
+        public List<StatementStats> repeated(int minCount) {
+            List<StatementStats> repeated = new ArrayList<>();
+            for (StatementStats stats : statements.values()) {
+                if (stats.count >= minCount) {
+                    repeated.add(stats);
+                }
+            }
+            repeated.sort(Comparator.comparingInt(StatementStats::count).reversed());
+            return repeated;
+        }
+
+        public List<StatementStats> statements() {
+            return new ArrayList<>(statements.values());
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+
+    public static final class StatementStats {
+        private final String sql;
+        private String callSite;
+        private int count;
+        private long elapsedNanos;
+
+        private StatementStats(String sql, String callSite) {
+            this.sql = sql;
+            this.callSite = callSite;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public String callSite() {
+            return callSite;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return count + "x [" + callSite + "] " + sql.replaceAll("\\s+", " ");
+        }
+    }
+}
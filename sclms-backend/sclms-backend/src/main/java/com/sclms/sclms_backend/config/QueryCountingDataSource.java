@@ -0,0 +1,98 @@
+package com.sclms.sclms_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Reports every executed statement to QueryCounter and to the request's RequestProfile. Connections and
+ * statements are wrapped in JDK proxies; a batch counts as one statement since it is one round trip.
+ * Installed when {@code db.query-tracking.enabled} or {@code profiling.enabled} is true (see DatabaseConfig).
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return wrap(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement wrap(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = new InvocationHandler() {
+            private String batchSql;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("addBatch".equals(name) && args != null && args.length == 1 && batchSql == null) {
+                    batchSql = (String) args[0];
+                }
+                if (!EXECUTE_METHODS.contains(name)) {
+                    return QueryCountingDataSource.invoke(statement, method, args);
+                }
+
+                String sql = preparedSql;
+                if (sql == null) {
+                    sql = args != null && args.length > 0 && args[0] instanceof String s ? s : batchSql;
+                }
+                long start = System.nanoTime();
+                try {
+                    return QueryCountingDataSource.invoke(statement, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    QueryCounter.record(sql, elapsed);
+                    RequestProfile.recordStatement(elapsed);
+                    if (name.endsWith("Batch")) {
+                        batchSql = null;
+                    }
+                }
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
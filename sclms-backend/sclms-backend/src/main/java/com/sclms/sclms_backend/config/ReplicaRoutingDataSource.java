@@ -0,0 +1,175 @@
+package com.sclms.sclms_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy read replica (round robin) and everything else to the primary.
+ *
+ * Only read-only transactions declared by application code are routed. The implicit read-only
+ * transactions Spring Data opens around a bare repository call stay on the primary, so the common
+ * "findById, modify, save" flow never reads a lagging copy. Replicas are checked on a schedule and
+ * skipped while unreachable or lagging more than {@code maxLagSeconds}; if a replica connection fails
+ * the request falls back to the primary. Must be wrapped in a LazyConnectionDataSourceProxy so the
+ * connection is fetched after the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    long maxLagSeconds, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = routeToReplica() ? pickReplica() : null;
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    boolean routeToReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name == null || !name.startsWith("org.springframework.data.");
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // =========================================================
+    // REPLICA HEALTH / LAG
+    // =========================================================
+
+    @Scheduled(fixedDelayString = "${db.replicas.check-interval:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                Long lag = readLagSeconds(statement);
+                replica.lagSeconds = lag;
+                if (lag != null && lag > maxLagSeconds) {
+                    replica.markDown("lag " + lag + "s exceeds " + maxLagSeconds + "s");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown("health check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Seconds behind the primary; null when the replica cannot report lag (e.g. a local H2 copy)
+    private Long readLagSeconds(Statement statement) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            statement.execute("SELECT 1");
+            return null;
+        }
+        try (ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            if (lagQuery.trim().toUpperCase().startsWith("SHOW")) {
+                // SHOW REPLICA STATUS: NULL means replication is stopped
+                Object value = rs.getObject(columnIndex(rs, "Seconds_Behind_Source", "Seconds_Behind_Master"));
+                return value != null ? ((Number) value).longValue() : Long.MAX_VALUE;
+            }
+            long lag = rs.getLong(1);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private static int columnIndex(ResultSet rs, String... names) throws SQLException {
+        for (String name : names) {
+            try {
+                return rs.findColumn(name);
+            } catch (SQLException ignored) {
+                // try the next name
+            }
+        }
+        throw new SQLException("Replica status has no lag column");
+    }
+
+    public List<Map<String, Object>> getReplicaStatus() {
+        return replicas.stream().map(r -> Map.<String, Object>of(
+                "pool", r.dataSource.getPoolName(),
+                "healthy", r.healthy,
+                "lagSeconds", r.lagSeconds != null ? r.lagSeconds : -1
+        )).toList();
+    }
+
+    public void close() {
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile Long lagSeconds;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("⚠️ Read replica {} disabled, reads go to primary | {}", dataSource.getPoolName(), reason);
+            }
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("✅ Read replica {} back in rotation", dataSource.getPoolName());
+            }
+            healthy = true;
+        }
+    }
+}
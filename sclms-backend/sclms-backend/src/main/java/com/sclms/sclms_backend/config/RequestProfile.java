@@ -0,0 +1,124 @@
+package com.sclms.sclms_backend.config;
+
+/**
+ * Where the current request's time went: wall time, time in JDBC statements (reported by
+ * QueryCountingDataSource), JSON serialization (ProfilingWebConfig) and cache lookups (ApplicationMetrics).
+ * One profile per request thread, opened by RequestProfilingFilter. Work handed to other threads (shard
+ * scatter queries, async exports, report workers) is not attributed to the request.
+ */
+public final class RequestProfile {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+    private long dbNanos;
+    private int statements;
+    private long serializationNanos;
+    private int cacheHits;
+    private int cacheMisses;
+
+    // Set once the handler is known (ProfilingWebConfig's interceptor)
+    private String route;
+    private Long userId;
+    private String user;
+    private boolean serverTiming;
+    private boolean serverTimingSent;
+
+    private RequestProfile() {
+    }
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    // =========================================================
+    // RECORDING (static: callers need not check for an open profile)
+    // =========================================================
+
+    static void recordStatement(long elapsedNanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.statements++;
+            profile.dbNanos += elapsedNanos;
+        }
+    }
+
+    static void recordSerialization(long elapsedNanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.serializationNanos += elapsedNanos;
+        }
+    }
+
+    static void recordCacheLookup(boolean hit) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            if (hit) {
+                profile.cacheHits++;
+            } else {
+                profile.cacheMisses++;
+            }
+        }
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    void identify(String route, Long userId, String user, boolean serverTiming) {
+        this.route = route;
+        this.userId = userId;
+        this.user = user;
+        this.serverTiming = serverTiming;
+    }
+
+    void markServerTimingSent() {
+        serverTimingSent = true;
+    }
+
+    /**
+     * Header value in Server-Timing syntax; "app" is the wall time not spent in the database or
+     * serializing. Before {@link #finish()} the wall time is the time so far.
+     */
+    public String serverTimingValue() {
+        long total = wallNanos();
+        long app = Math.max(0, total - dbNanos - serializationNanos);
+        return "total;dur=" + millis(total)
+                + ", db;dur=" + millis(dbNanos) + ";desc=\"" + statements + " statements\""
+                + ", ser;dur=" + millis(serializationNanos)
+                + ", app;dur=" + millis(app)
+                + ", cache;desc=\"" + cacheHits + " hits, " + cacheMisses + " misses\"";
+    }
+
+    public long wallNanos() {
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    public long getDbNanos() { return dbNanos; }
+    public int getStatements() { return statements; }
+    public long getSerializationNanos() { return serializationNanos; }
+    public int getCacheHits() { return cacheHits; }
+    public int getCacheMisses() { return cacheMisses; }
+    public String getRoute() { return route; }
+    public Long getUserId() { return userId; }
+    public String getUser() { return user; }
+    public boolean isServerTiming() { return serverTiming; }
+    public boolean isServerTimingSent() { return serverTimingSent; }
+
+    public static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
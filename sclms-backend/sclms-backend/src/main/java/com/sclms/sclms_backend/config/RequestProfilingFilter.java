@@ -0,0 +1,50 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.service.RequestProfilerService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link RequestProfile} for each request and hands the finished profile to
+ * RequestProfilerService's slowest-requests buffer. JSON responses get their Server-Timing header from the
+ * message converter (so it includes serialization, see ProfilingWebConfig); other responses get it here
+ * if they are not committed yet. Requests that continue asynchronously (CSV exports) are not recorded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "profiling.enabled", havingValue = "true")
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private final RequestProfilerService profilerService;
+
+    public RequestProfilingFilter(RequestProfilerService profilerService) {
+        this.profilerService = profilerService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.clear();
+            if (!request.isAsyncStarted()) {
+                profile.finish();
+                if (profile.isServerTiming() && !profile.isServerTimingSent() && !response.isCommitted()) {
+                    response.addHeader(RequestProfile.SERVER_TIMING_HEADER, profile.serverTimingValue());
+                }
+                profilerService.record(request.getMethod(), request.getRequestURI(), response.getStatus(), profile);
+            }
+        }
+    }
+}
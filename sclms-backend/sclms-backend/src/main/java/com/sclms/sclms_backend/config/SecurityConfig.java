@@ -1,10 +1,13 @@
 package com.sclms.sclms_backend.config;
 
 import com.sclms.sclms_backend.security.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,7 +15,9 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -25,6 +30,10 @@ public class SecurityConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+        // Prometheus cannot refresh JWTs, so scrapes are allowed from these addresses (CIDR, comma separated)
+        @Value("${metrics.scrape.allowed-addresses:127.0.0.1/32,::1/128}")
+        private List<String> scrapeAddresses;
+
         public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
                 this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         }
@@ -59,9 +68,12 @@ public class SecurityConfig {
                                                 .requestMatchers(
                                                                 "/",
                                                                 "/api/auth/**",
+                                                                "/.well-known/jwks.json",
                                                                 "/api/debug/**",
                                                                 "/swagger-ui/**",
-                                                                "/v3/api-docs/**")
+                                                                "/v3/api-docs/**",
+                                                                "/actuator/health",
+                                                                "/actuator/health/**")
                                                 .permitAll()
 
                                                 // ======================
@@ -76,6 +88,7 @@ public class SecurityConfig {
                                                 .requestMatchers(
                                                                 "/api/contracts/my/**",
                                                                 "/api/contracts/create/**",
+                                                                "/api/contracts/import/**",
                                                                 "/api/notifications/**",
                                                                 "/api/2fa/**",
                                                                 "/api/contracts/file/**",
@@ -87,6 +100,7 @@ public class SecurityConfig {
                                                 // ======================
                                                 .requestMatchers(
                                                                 "/api/contracts/approver/**",
+                                                                "/api/contracts/bulk/**",
                                                                 "/api/contracts/activity/approver/**",
                                                                 "/api/contracts/history/**",
                                                                 "/api/users/**")
@@ -95,7 +109,9 @@ public class SecurityConfig {
                                                 // ======================
                                                 // ADMIN
                                                 // ======================
-                                                .requestMatchers("/api/admin/**")
+                                                .requestMatchers("/actuator/prometheus")
+                                                .access(scrapeAccess())
+                                                .requestMatchers("/api/admin/**", "/actuator/**")
                                                 .hasAuthority("ROLE_ADMIN")
 
                                                 // ======================
@@ -111,6 +127,24 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        // ===============================
+        // METRICS SCRAPE ACCESS
+        // ===============================
+        private AuthorizationManager<RequestAuthorizationContext> scrapeAccess() {
+                List<IpAddressMatcher> allowed = scrapeAddresses.stream()
+                                .map(String::trim)
+                                .filter(address -> !address.isEmpty())
+                                .map(IpAddressMatcher::new)
+                                .toList();
+                return (authentication, context) -> {
+                        String remote = context.getRequest().getRemoteAddr();
+                        boolean granted = allowed.stream().anyMatch(matcher -> matcher.matches(remote))
+                                        || authentication.get().getAuthorities().stream()
+                                                        .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+                        return new AuthorizationDecision(granted);
+                };
+        }
+
         // ===============================
         // CORS CONFIG (FINAL)
         // ===============================
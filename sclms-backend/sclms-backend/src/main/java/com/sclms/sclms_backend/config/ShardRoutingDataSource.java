@@ -0,0 +1,99 @@
+package com.sclms.sclms_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections to the shard selected for the current thread (see {@link #callOn}).
+ *
+ * Shard 0 is the directory shard: it holds every global table (users, organizations, settings,
+ * notifications, ...) and the contracts of all tenants that were not placed elsewhere. Other shards only
+ * hold contracts and their approval history. Each shard hands out ids from its own range
+ * ({@link #idBase}), so the shard of a contract can be read from its id. With no extra shards configured
+ * every connection comes from shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource {
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    // 2^40 ids per shard; ids stay below 2^53 so they remain exact in JavaScript clients
+    public static final int SHARD_ID_BITS = 40;
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getShard(currentShard()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getShard(currentShard()).getConnection(username, password);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public DataSource getShard(int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+        return shards.get(shard);
+    }
+
+    public static int currentShard() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard != null ? shard : DIRECTORY_SHARD;
+    }
+
+    /**
+     * Runs the work with connections taken from the given shard. The shard must be chosen before a
+     * transaction starts: a transaction keeps the connection it opened with.
+     */
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_SHARD.set(previous);
+            } else {
+                CURRENT_SHARD.remove();
+            }
+        }
+    }
+
+    public static int shardOfId(long id) {
+        return (int) (id >>> SHARD_ID_BITS);
+    }
+
+    public static long idBase(int shard) {
+        return (long) shard << SHARD_ID_BITS;
+    }
+
+    // Closes the extra shard pools; shard 0 is the primary/replica pool managed as its own bean
+    public void close() {
+        for (int i = 1; i < shards.size(); i++) {
+            if (shards.get(i) instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.sclms.sclms_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prepares the extra contract shards: creates the schema on an empty shard and moves its id counters into
+ * the shard's id range, so ids never collide across shards. On the directory shard it drops the
+ * notifications -> contracts foreign key, since notifications may refer to contracts on other shards.
+ * Schema changes on existing extra shards are left to migrations, as ddl-auto only covers shard 0.
+ */
+@Component
+public class ShardSchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final ShardRoutingDataSource shards;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Depends on the EntityManagerFactory so the schema update has run on the directory shard first
+    public ShardSchemaInitializer(ShardRoutingDataSource shards, EntityManagerFactory entityManagerFactory) {
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void initialise() {
+        if (shards.getShardCount() == 1) {
+            return;
+        }
+        dropCrossShardForeignKeys(shards.getShard(ShardRoutingDataSource.DIRECTORY_SHARD));
+
+        for (int shard = 1; shard < shards.getShardCount(); shard++) {
+            DataSource dataSource = shards.getShard(shard);
+            try {
+                if (!tableExists(dataSource, "contracts")) {
+                    ShardRoutingDataSource.callOn(shard, () -> {
+                        entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(false);
+                        return null;
+                    });
+                    log.info("✅ Created schema on shard {}", shard);
+                }
+                seedIdRange(dataSource, shard);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not initialise shard " + shard, e);
+            }
+        }
+    }
+
+    private void seedIdRange(DataSource dataSource, int shard) throws SQLException {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long base = ShardRoutingDataSource.idBase(shard);
+
+        Long maxContractId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM contracts", Long.class);
+        if (maxContractId < base) {
+            jdbc.execute(isMySql(dataSource)
+                    ? "ALTER TABLE contracts AUTO_INCREMENT = " + base
+                    : "ALTER TABLE contracts ALTER COLUMN id RESTART WITH " + base);
+        }
+
+        // Pooled-lo table generator: the stored value is the next id to hand out
+        List<Long> next = jdbc.queryForList(
+                "SELECT next_val FROM id_generators WHERE sequence_name = 'approval_history'", Long.class);
+        if (next.isEmpty()) {
+            jdbc.update("INSERT INTO id_generators (sequence_name, next_val) VALUES ('approval_history', ?)", base);
+        } else if (next.get(0) < base) {
+            jdbc.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = 'approval_history'", base);
+        }
+    }
+
+    private void dropCrossShardForeignKeys(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean mySql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            Set<String> foreignKeys = new LinkedHashSet<>();
+            for (String table : List.of("notifications", "NOTIFICATIONS")) {
+                try (ResultSet rs = connection.getMetaData().getImportedKeys(connection.getCatalog(), null, table)) {
+                    while (rs.next()) {
+                        if ("contract_id".equalsIgnoreCase(rs.getString("FKCOLUMN_NAME")) && rs.getString("FK_NAME") != null) {
+                            foreignKeys.add(rs.getString("FK_NAME"));
+                        }
+                    }
+                }
+            }
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            for (String foreignKey : foreignKeys) {
+                jdbc.execute("ALTER TABLE notifications DROP " + (mySql ? "FOREIGN KEY " : "CONSTRAINT ") + foreignKey);
+                log.info("✅ Dropped notifications foreign key {} (contracts may live on other shards)", foreignKey);
+            }
+        } catch (SQLException e) {
+            log.warn("⚠️ Could not check notification foreign keys: {}", e.getMessage());
+        }
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : List.of(table, table.toUpperCase())) {
+                try (ResultSet rs = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private static boolean isMySql(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        }
+    }
+}
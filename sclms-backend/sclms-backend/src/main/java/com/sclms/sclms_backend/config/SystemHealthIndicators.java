@@ -0,0 +1,63 @@
+package com.sclms.sclms_backend.config;
+
+import com.sclms.sclms_backend.service.SystemHealthService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes the sections of {@link SystemHealthService} as Actuator health indicators (database,
+ * connectionPool, memory, threads, uploads, queues), grouped under /actuator/health/system. They read
+ * the same cached snapshot as /api/admin/system-health, so probes from load balancers stay cheap.
+ */
+@Configuration
+public class SystemHealthIndicators {
+
+    public static final Status DEGRADED = new Status(SystemHealthService.DEGRADED);
+
+    @Bean
+    public HealthIndicator databaseHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("database"));
+    }
+
+    @Bean
+    public HealthIndicator connectionPoolHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("connectionPool"));
+    }
+
+    @Bean
+    public HealthIndicator memoryHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("memory"));
+    }
+
+    @Bean
+    public HealthIndicator threadsHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("threads"));
+    }
+
+    @Bean
+    public HealthIndicator uploadsHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("uploads"));
+    }
+
+    @Bean
+    public HealthIndicator queuesHealthIndicator(SystemHealthService healthService) {
+        return () -> toHealth(healthService.getSection("queues"));
+    }
+
+    private static Health toHealth(Map<String, Object> section) {
+        Map<String, Object> details = new LinkedHashMap<>(section);
+        Object health = details.remove("health");
+        Status status = SystemHealthService.DOWN.equals(health) ? Status.DOWN
+                : SystemHealthService.DEGRADED.equals(health) ? DEGRADED
+                : Status.UP;
+        // Actuator rejects null detail values
+        details.values().removeIf(value -> value == null);
+        return Health.status(status).withDetails(details).build();
+    }
+}
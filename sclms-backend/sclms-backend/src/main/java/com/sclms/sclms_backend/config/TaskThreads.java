@@ -0,0 +1,66 @@
+package com.sclms.sclms_backend.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for the application's own executors (report workers, import writers, shard scatter). With
+ * spring.threads.virtual.enabled on Java 21 (see the java21 Maven profile) they are virtual threads, like
+ * Tomcat's request threads and Spring's task executor and scheduler; otherwise named daemon platform threads.
+ * CPU-bound work (import validation) keeps platform threads either way.
+ */
+@Component
+public class TaskThreads {
+
+    private final boolean virtual;
+
+    public TaskThreads(Environment environment) {
+        // Only active on Java 21+, whatever the property says
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    // Platform threads, for code built outside the context, e.g. tests
+    public static TaskThreads platform() {
+        return new TaskThreads(new StandardEnvironment());
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // Threads named prefix + number
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        return platformFactory(prefix);
+    }
+
+    public static ThreadFactory platformFactory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One new thread per task, for blocking fan-out whose concurrency is bounded elsewhere (e.g. by the
+     * connection pool). Keep-alive is 0, so a thread ends with its task and nothing is pooled.
+     */
+    public ExecutorService perTask(String prefix) {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                factory(prefix));
+    }
+}
@@ -0,0 +1,112 @@
+package com.sclms.sclms_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * With virtual threads on, watches for a virtual thread that blocks while pinned to its carrier (inside a
+ * synchronized block or native frame) for longer than threads.pinning.threshold-ms, via the JDK's
+ * jdk.VirtualThreadPinned event. Each occurrence counts in sclms.threads.pinned, tagged with the first
+ * application frame (or the top frame), and each new site is logged once with its stack. A pinned
+ * carrier is one of the few platform threads serving all requests, so these sites are what to fix.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.sclms.";
+
+    private final TaskThreads taskThreads;
+    private final MeterRegistry registry;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Value("${threads.pinning.monitor-enabled:true}")
+    private boolean enabled;
+
+    @Value("${threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    public VirtualThreadPinningMonitor(TaskThreads taskThreads, MeterRegistry registry) {
+        this.taskThreads = taskThreads;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !taskThreads.isVirtual()) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("🧵 Virtual threads on; reporting carriers pinned longer than {} ms", thresholdMs);
+        } catch (Exception e) {
+            stream = null;
+            log.warn("⚠️ Could not start virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+
+        counters.computeIfAbsent(site, key -> Counter.builder("sclms.threads.pinned")
+                        .description("Virtual threads that blocked while pinned to their carrier")
+                        .tag("site", key)
+                        .register(registry))
+                .increment();
+
+        if (reportedSites.add(site)) {
+            log.warn("⚠️ Virtual thread pinned for {} ms at {}:\n    {}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(20).map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n    ")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    // Pinned events per site since startup
+    public Map<String, Long> getPinnedCounts() {
+        return counters.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> (long) entry.getValue().count()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -1,66 +1,162 @@
 package com.sclms.sclms_backend.controller;
 
 import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.ReportJob;
 import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.entity.UserActivity;
 import com.sclms.sclms_backend.repository.ContractRepository;
+import com.sclms.sclms_backend.service.ActivityLogService;
+import com.sclms.sclms_backend.service.ConnectionPoolService;
+import com.sclms.sclms_backend.service.ContractArchiveService;
+import com.sclms.sclms_backend.service.ContractImportService;
+import com.sclms.sclms_backend.service.CsvExportService;
+import com.sclms.sclms_backend.service.MetricsSummaryService;
+import com.sclms.sclms_backend.service.ReportService;
+import com.sclms.sclms_backend.service.RequestProfilerService;
+import com.sclms.sclms_backend.service.SystemHealthService;
+import com.sclms.sclms_backend.service.TenantShardRouter;
 import com.sclms.sclms_backend.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/admin")
 public class AdminController {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
     private final UserService userService;
     private final ContractRepository contractRepository;
+    private final ConnectionPoolService connectionPoolService;
+    private final TenantShardRouter shardRouter;
+    private final ContractArchiveService archiveService;
+    private final CsvExportService exportService;
+    private final ReportService reportService;
+    private final SystemHealthService systemHealthService;
+    private final MetricsSummaryService metricsSummaryService;
+    private final RequestProfilerService profilerService;
+    private final ActivityLogService activityLogService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public AdminController(UserService userService, ContractRepository contractRepository) {
+    public AdminController(UserService userService, ContractRepository contractRepository,
+                           ConnectionPoolService connectionPoolService, TenantShardRouter shardRouter,
+                           ContractArchiveService archiveService, CsvExportService exportService,
+                           ReportService reportService, SystemHealthService systemHealthService,
+                           MetricsSummaryService metricsSummaryService, RequestProfilerService profilerService,
+                           ActivityLogService activityLogService) {
         this.userService = userService;
         this.contractRepository = contractRepository;
-    }
-
-    // System health check
+        this.connectionPoolService = connectionPoolService;
+        this.shardRouter = shardRouter;
+        this.archiveService = archiveService;
+        this.exportService = exportService;
+        this.reportService = reportService;
+        this.systemHealthService = systemHealthService;
+        this.metricsSummaryService = metricsSummaryService;
+        this.profilerService = profilerService;
+        this.activityLogService = activityLogService;
+    }
+
+    // System health: live probes, cached for a few seconds (see SystemHealthService)
     @GetMapping("/system-health")
     public ResponseEntity<?> getSystemHealth() {
         try {
-            Map<String, Object> health = Map.of(
-                "status", "UP",
-                "timestamp", LocalDateTime.now(),
-                "version", "1.0.0",
-                "database", Map.of("status", "CONNECTED"),
-                "memory", Map.of("usagePercent", 45.5),
-                "services", List.of("auth", "contracts", "users", "notifications")
-            );
-            return ResponseEntity.ok(health);
+            return ResponseEntity.ok(systemHealthService.getHealth());
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("status", "DOWN", "error", e.getMessage()));
         }
     }
 
+    // Connection pool metrics (active, idle, pending, wait time)
+    @GetMapping("/db-pool")
+    public ResponseEntity<?> getConnectionPoolMetrics() {
+        try {
+            return ResponseEntity.ok(connectionPoolService.getPoolMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Slowest endpoints / repository / service methods and business counters (same data as /actuator/prometheus)
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetricsSummary(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(metricsSummaryService.summary(limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Slowest requests since startup or the last reset, with their DB / serialization / cache breakdown
+    @GetMapping("/profiling/slowest")
+    public ResponseEntity<?> getSlowestRequests() {
+        return ResponseEntity.ok(profilerService.getSlowest());
+    }
+
+    @DeleteMapping("/profiling/slowest")
+    public ResponseEntity<?> resetSlowestRequests() {
+        profilerService.reset();
+        return ResponseEntity.ok(Map.of("message", "Slowest requests cleared"));
+    }
+
+    // Users who currently get the Server-Timing header besides the configured roles
+    @GetMapping("/profiling/server-timing")
+    public ResponseEntity<?> getServerTimingUsers() {
+        return ResponseEntity.ok(profilerService.getServerTimingUsers());
+    }
+
+    // Sends Server-Timing on one user's responses for a while, e.g. while they reproduce a slow page
+    @PutMapping("/profiling/server-timing/{userId}")
+    public ResponseEntity<?> enableServerTiming(@PathVariable Long userId,
+                                                @RequestParam(defaultValue = "30") int minutes) {
+        return ResponseEntity.ok(Map.of("userId", userId, "until", profilerService.enableServerTiming(userId, minutes)));
+    }
+
+    @DeleteMapping("/profiling/server-timing/{userId}")
+    public ResponseEntity<?> disableServerTiming(@PathVariable Long userId) {
+        profilerService.disableServerTiming(userId);
+        return ResponseEntity.ok(Map.of("message", "Server-Timing disabled for user " + userId));
+    }
+
     // Dashboard statistics
     @GetMapping("/dashboard/stats")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getDashboardStats() {
         try {
-            // Contract statistics
-            long totalContracts = contractRepository.count();
-            long pendingContracts = contractRepository.countByStatusAndCreatedDateAfter("PENDING", LocalDateTime.now().minusDays(30));
-            long approvedContracts = contractRepository.countByStatusAndCreatedDateAfter("APPROVED", LocalDateTime.now().minusDays(30));
-            long rejectedContracts = contractRepository.countByStatusAndCreatedDateAfter("REJECTED", LocalDateTime.now().minusDays(30));
+            // Contract statistics (summed over all shards)
+            long totalContracts = shardRouter.scatterSum(contractRepository::count);
+            LocalDateTime since = LocalDateTime.now().minusDays(30);
+            Map<String, Long> recent = countsByStatus(() -> contractRepository.countByStatusCreatedSince(since));
+            long pendingContracts = recent.getOrDefault("PENDING", 0L);
+            long approvedContracts = recent.getOrDefault("APPROVED", 0L);
+            long rejectedContracts = recent.getOrDefault("REJECTED", 0L);
 
             // User statistics
             long totalUsers = userService.getTotalUsers();
@@ -91,9 +187,14 @@ public class AdminController {
 
     // Recent contracts
     @GetMapping("/dashboard/recent-contracts")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getRecentContracts() {
         try {
-            List<Contract> recentContracts = contractRepository.findTop10ByOrderByCreatedDateDesc();
+            List<Contract> recentContracts = shardRouter.scatterMerge(
+                    rows -> contractRepository.findAllByOrderByCreatedDateDescIdDesc(PageRequest.of(0, rows)),
+                    Comparator.comparing(Contract::getCreatedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(Contract::getId, Comparator.reverseOrder()),
+                    0, 10);
             return ResponseEntity.ok(recentContracts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -102,20 +203,23 @@ public class AdminController {
 
     // Contract analytics
     @GetMapping("/analytics/contracts")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getContractAnalytics() {
         try {
             LocalDateTime lastMonth = LocalDateTime.now().minusDays(30);
+            Map<String, Long> monthly = countsByStatus(() -> contractRepository.countByStatusCreatedSince(lastMonth));
+            Map<String, Long> all = countsByStatus(contractRepository::countGroupedByStatus);
 
             Map<String, Object> analytics = Map.of(
                 "monthlyStats", Map.of(
-                    "created", contractRepository.countByStatusAndCreatedDateAfter("PENDING", lastMonth),
-                    "approved", contractRepository.countByStatusAndCreatedDateAfter("APPROVED", lastMonth),
-                    "rejected", contractRepository.countByStatusAndCreatedDateAfter("REJECTED", lastMonth)
+                    "created", monthly.getOrDefault("PENDING", 0L),
+                    "approved", monthly.getOrDefault("APPROVED", 0L),
+                    "rejected", monthly.getOrDefault("REJECTED", 0L)
                 ),
                 "statusDistribution", Map.of(
-                    "pending", contractRepository.countByStatus("PENDING"),
-                    "approved", contractRepository.countByStatus("APPROVED"),
-                    "rejected", contractRepository.countByStatus("REJECTED")
+                    "pending", all.getOrDefault("PENDING", 0L),
+                    "approved", all.getOrDefault("APPROVED", 0L),
+                    "rejected", all.getOrDefault("REJECTED", 0L)
                 )
             );
 
@@ -125,8 +229,20 @@ public class AdminController {
         }
     }
 
+    // [status, count] rows from every shard, summed per status
+    private Map<String, Long> countsByStatus(Supplier<List<Object[]>> query) {
+        Map<String, Long> counts = new HashMap<>();
+        for (List<Object[]> rows : shardRouter.scatter(query)) {
+            for (Object[] row : rows) {
+                counts.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
     // User analytics
     @GetMapping("/analytics/users")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getUserAnalytics() {
         try {
             Map<String, Object> analytics = Map.of(
@@ -175,15 +291,11 @@ public class AdminController {
     @GetMapping("/notifications/pending-users")
     public ResponseEntity<?> getPendingUsersNotifications() {
         try {
-            // Debug logging for authentication
             org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
             if (auth != null) {
-                System.out.println("🔍 PENDING-USERS ENDPOINT - User: " + auth.getName());
-                System.out.println("🔍 PENDING-USERS ENDPOINT - Authorities: " + auth.getAuthorities());
-                System.out.println("🔍 PENDING-USERS ENDPOINT - Principal: " + auth.getPrincipal());
-                System.out.println("🔍 PENDING-USERS ENDPOINT - Authenticated: " + auth.isAuthenticated());
+                log.debug("🔍 PENDING-USERS ENDPOINT | user={} | authorities={}", auth.getName(), auth.getAuthorities());
             } else {
-                System.out.println("🔍 PENDING-USERS ENDPOINT - No authentication found!");
+                log.warn("🔍 PENDING-USERS ENDPOINT - No authentication found!");
                 return ResponseEntity.status(403).body(Map.of("error", "No authentication found"));
             }
 
@@ -231,12 +343,11 @@ public class AdminController {
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<?> getUserByIdPlural(@PathVariable Long id) {
         try {
-            // Debug logging
-            System.out.println("🔍 ADMIN USER ENDPOINT - User ID: " + id);
+            log.debug("🔍 ADMIN USER ENDPOINT - User ID: {}", id);
             User user = userService.getUserById(id);
             return ResponseEntity.ok(user);
         } catch (Exception e) {
-            System.out.println("❌ ADMIN USER ENDPOINT ERROR: " + e.getMessage());
+            log.warn("❌ ADMIN USER ENDPOINT ERROR: {}", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -351,16 +462,21 @@ public class AdminController {
         }
     }
 
-    // Generate report
+    // Queue a report; poll report-status for progress, then fetch it from download-report
     @PostMapping("/generate-report")
-    public ResponseEntity<?> generateReport(@RequestBody Map<String, Object> reportRequest) {
+    public ResponseEntity<?> generateReport(@RequestBody Map<String, Object> reportRequest, Authentication auth) {
         try {
-            Map<String, Object> response = Map.of(
-                "reportId", "RPT-" + System.currentTimeMillis(),
-                "status", "COMPLETED",
-                "fileName", reportRequest.get("reportType") + ".pdf"
-            );
-            return ResponseEntity.ok(response);
+            User admin = (User) auth.getPrincipal();
+            ReportJob job = reportService.submit(
+                    (String) reportRequest.get("reportType"),
+                    parseDay(reportRequest.get("startDate")),
+                    parseDay(reportRequest.get("endDate")),
+                    admin.getId());
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/api/admin/report-status/" + job.getId())
+                    .body(reportToMap(job));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -370,30 +486,112 @@ public class AdminController {
     @GetMapping("/report-status/{reportId}")
     public ResponseEntity<?> getReportStatus(@PathVariable String reportId) {
         try {
-            Map<String, Object> status = Map.of(
-                "reportId", reportId,
-                "status", "COMPLETED",
-                "progress", 100,
-                "fileName", reportId + ".pdf"
-            );
-            return ResponseEntity.ok(status);
+            Optional<ReportJob> job = reportService.getJob(reportId);
+            if (job.isEmpty()) {
+                return ResponseEntity.status(404).body(Map.of("error", "Report not found"));
+            }
+            return ResponseEntity.ok(reportToMap(job.get()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/reports")
+    public ResponseEntity<?> getReports() {
+        try {
+            return ResponseEntity.ok(reportService.recentJobs().stream().map(this::reportToMap).toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reports/{reportId}/cancel")
+    public ResponseEntity<?> cancelReport(@PathVariable String reportId) {
+        try {
+            return ResponseEntity.ok(reportToMap(reportService.cancel(reportId)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/download-report/{reportId}")
+    public ResponseEntity<?> downloadReport(@PathVariable String reportId) {
+        try {
+            Optional<ReportJob> job = reportService.getJob(reportId);
+            if (job.isEmpty()) {
+                return ResponseEntity.status(404).body(Map.of("error", "Report not found"));
+            }
+            if (!ReportService.COMPLETED.equals(job.get().getStatus())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("error", "Report is " + job.get().getStatus().toLowerCase()));
+            }
+            // Files stay on the node that generated them
+            Optional<Path> file = reportService.reportFile(job.get());
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", "Report file is not available"));
+            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.get().getFileName())
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .contentLength(job.get().getFileSize())
+                    .body(new FileSystemResource(file.get()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
-    // Recent login activity
+    private Map<String, Object> reportToMap(ReportJob job) {
+        Map<String, Object> report = new HashMap<>();
+        report.put("reportId", job.getId());
+        report.put("reportType", job.getReportType());
+        report.put("format", job.getFormat());
+        report.put("status", job.getStatus());
+        report.put("progress", job.getProgress());
+        report.put("rowsWritten", job.getRowsWritten());
+        report.put("totalRows", job.getTotalRows());
+        report.put("fileName", job.getFileName());
+        report.put("fileSize", job.getFileSize());
+        report.put("from", job.getRangeFrom());
+        report.put("to", job.getRangeTo());
+        report.put("requestedBy", job.getRequestedBy());
+        report.put("createdAt", job.getCreatedAt());
+        report.put("startedAt", job.getStartedAt());
+        report.put("finishedAt", job.getFinishedAt());
+        report.put("error", job.getErrorMessage());
+        report.put("cancelRequested", job.getCancelRequested());
+        return report;
+    }
+
+    private static LocalDate parseDay(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        return ContractImportService.parseContractDate(value.toString(), false).toLocalDate();
+    }
+
+    // Recent logins, newest first; pass nextCursor back as before for the next page
     @GetMapping("/recent-logins")
-    public ResponseEntity<?> getRecentLogins(@RequestParam(defaultValue = "50") int limit) {
+    public ResponseEntity<?> getRecentLogins(@RequestParam(defaultValue = "50") int limit,
+                                             @RequestParam(required = false) Long before) {
         try {
-            Map<String, Object> activity = Map.of(
-                "activities", List.of(
-                    Map.of("lastActivity", "2 hours ago", "ipAddress", "192.168.1.100"),
-                    Map.of("lastActivity", "1 day ago", "ipAddress", "192.168.1.101"),
-                    Map.of("lastActivity", "3 days ago", "ipAddress", "192.168.1.102")
-                ),
-                "total", 3
-            );
+            List<UserActivity> logins = activityLogService.getRecentLogins(before, limit);
+            List<Map<String, Object>> activities = logins.stream().map(login -> {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", login.getId());
+                entry.put("userId", login.getUserId());
+                entry.put("email", login.getActor());
+                entry.put("lastActivity", login.getOccurredAt());
+                entry.put("ipAddress", login.getIpAddress());
+                entry.put("userAgent", login.getUserAgent());
+                return entry;
+            }).toList();
+
+            Map<String, Object> activity = new LinkedHashMap<>();
+            activity.put("activities", activities);
+            activity.put("total", activities.size());
+            activity.put("nextCursor", nextCursor(logins, limit));
             return ResponseEntity.ok(activity);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -453,6 +651,32 @@ public class AdminController {
         }
     }
 
+    // Move closed contracts to the archive now instead of waiting for the nightly run
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> runContractArchival() {
+        try {
+            Map<Integer, Integer> archivedByShard = archiveService.archiveClosedContracts();
+            int total = archivedByShard.values().stream().mapToInt(Integer::intValue).sum();
+            return ResponseEntity.ok(Map.of("archived", total, "byShard", archivedByShard));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Bring an archived contract back into the live tables (same id)
+    @PostMapping("/archive/contracts/{id}/restore")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> restoreArchivedContract(@PathVariable Long id) {
+        try {
+            Contract contract = archiveService.restore(id);
+            log.info("📦 Contract {} restored from archive", id);
+            return ResponseEntity.ok(contract);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Send notification to user
     @PostMapping("/users/{userId}/notify")
     public ResponseEntity<?> sendNotification(@PathVariable Long userId, @RequestBody Map<String, Object> notification) {
@@ -463,21 +687,37 @@ public class AdminController {
         }
     }
 
-    // Get user activity log
+    // Get user activity log, newest first; the next page starts before the last id returned
     @GetMapping("/users/{userId}/activity")
-    public ResponseEntity<?> getUserActivity(@PathVariable Long userId, @RequestParam(defaultValue = "10") int limit) {
+    public ResponseEntity<?> getUserActivity(@PathVariable Long userId, @RequestParam(defaultValue = "10") int limit,
+                                             @RequestParam(required = false) Long before) {
         try {
-            List<Map<String, Object>> activities = List.of(
-                Map.of("action", "LOGIN", "timestamp", LocalDateTime.now().minusHours(2), "ip", "192.168.1.100"),
-                Map.of("action", "VIEW_CONTRACT", "timestamp", LocalDateTime.now().minusHours(5), "ip", "192.168.1.100"),
-                Map.of("action", "APPROVE_CONTRACT", "timestamp", LocalDateTime.now().minusDays(1), "ip", "192.168.1.100")
-            );
-            return ResponseEntity.ok(activities);
+            List<UserActivity> page = activityLogService.getUserActivity(userId, before, limit);
+            List<Map<String, Object>> activities = page.stream().map(activity -> {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", activity.getId());
+                entry.put("action", activity.getAction());
+                entry.put("timestamp", activity.getOccurredAt());
+                entry.put("ip", activity.getIpAddress());
+                entry.put("contractId", activity.getContractId());
+                entry.put("detail", activity.getDetail());
+                return entry;
+            }).toList();
+            String cursor = nextCursor(page, limit);
+            return cursor != null
+                    ? ResponseEntity.ok().header("X-Next-Cursor", cursor).body(activities)
+                    : ResponseEntity.ok(activities);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Id to pass as before for the next page; null when this page was the last
+    private static String nextCursor(List<UserActivity> page, int limit) {
+        return !page.isEmpty() && page.size() >= Math.min(limit, ActivityLogService.MAX_PAGE_SIZE)
+                ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+    }
+
     // Bulk user operations
     @PostMapping("/users/bulk")
     public ResponseEntity<?> bulkUserOperation(@RequestBody Map<String, Object> request) {
@@ -522,69 +762,45 @@ public class AdminController {
 
     // Export users to CSV
     @GetMapping("/users/export")
-    public ResponseEntity<?> exportUsers(@RequestParam Map<String, String> filters) {
+    public ResponseEntity<?> exportUsers(@RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(defaultValue = "false") boolean gzip) {
         try {
-            // Add logging to debug authentication
-            org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null) {
-                System.out.println("🔍 EXPORT ENDPOINT - User: " + auth.getName());
-                System.out.println("🔍 EXPORT ENDPOINT - Authorities: " + auth.getAuthorities());
-                System.out.println("🔍 EXPORT ENDPOINT - Principal: " + auth.getPrincipal());
-            } else {
-                System.out.println("🔍 EXPORT ENDPOINT - No authentication found!");
-            }
-
-            List<User> users = userService.getAllUsers();
-
-            // Apply filters if provided
-            String statusFilter = filters.get("status");
-            String roleFilter = filters.get("role");
-
-            if (statusFilter != null && !statusFilter.isEmpty() && !statusFilter.equals("ALL")) {
-                users = users.stream()
-                    .filter(user -> user.getStatus().equals(statusFilter))
-                    .toList();
-            }
-
-            if (roleFilter != null && !roleFilter.isEmpty() && !roleFilter.equals("ALL")) {
-                users = users.stream()
-                    .filter(user -> user.getRole().equals(roleFilter))
-                    .toList();
-            }
-
-            // Build CSV content
-            StringBuilder csv = new StringBuilder();
-            csv.append("ID,Name,Email,Organization,Role,Status,Created Date,Two Factor Enabled\n");
-
-            for (User user : users) {
-                csv.append(user.getId()).append(",")
-                   .append(escapeCSV(user.getName())).append(",")
-                   .append(escapeCSV(user.getEmail())).append(",")
-                   .append(escapeCSV(user.getOrganization())).append(",")
-                   .append(user.getRole()).append(",")
-                   .append(user.getStatus()).append(",")
-                   .append(user.getCreatedDate() != null ? user.getCreatedDate().toString() : "").append(",")
-                   .append(user.getTwoFactorEnabled()).append("\n");
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users_export.csv");
-            headers.add(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE);
+            return exportService.exportUsers(filter(status), filter(role), gzip);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            return ResponseEntity.ok()
-                .headers(headers)
-                .body(csv.toString());
+    @GetMapping("/contracts/export")
+    public ResponseEntity<?> exportContracts(@RequestParam(required = false) String status,
+                                             @RequestParam(required = false) String organization,
+                                             @RequestParam(required = false) String since,
+                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            return exportService.exportContracts(filter(status), filter(organization), parseSince(since), gzip);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
-    // Helper method to escape CSV values
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+    @GetMapping("/history/export")
+    public ResponseEntity<?> exportApprovalHistory(@RequestParam(required = false) String action,
+                                                   @RequestParam(required = false) String since,
+                                                   @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            return exportService.exportHistory(filter(action), parseSince(since), gzip);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return value;
+    }
+
+    // Empty and "ALL" mean no filter
+    private static String filter(String value) {
+        return value == null || value.isBlank() || value.equals("ALL") ? null : value;
+    }
+
+    private static LocalDateTime parseSince(String since) {
+        return since == null || since.isBlank() ? null : ContractImportService.parseContractDate(since, false);
     }
 }
@@ -6,9 +6,14 @@ import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.ContractRepository;
 import com.sclms.sclms_backend.repository.UserRepository;
 import com.sclms.sclms_backend.security.JwtUtil;
+import com.sclms.sclms_backend.security.TokenRevocationService;
+import com.sclms.sclms_backend.service.ActivityLogService;
+import com.sclms.sclms_backend.service.RefreshTokenService;
 import com.sclms.sclms_backend.service.SecurityService;
 import com.sclms.sclms_backend.service.UserService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,21 +30,31 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepository;
     private final ContractRepository contractRepository;
     private final UserService userService;
     private final SecurityService securityService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ActivityLogService activityLogService;
 
     public AuthController(UserRepository userRepository, ContractRepository contractRepository, UserService userService,
-            SecurityService securityService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+            SecurityService securityService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+            RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+            ActivityLogService activityLogService) {
         this.userRepository = userRepository;
         this.contractRepository = contractRepository;
         this.userService = userService;
         this.securityService = securityService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.activityLogService = activityLogService;
     }
 
     @PostConstruct
@@ -67,10 +82,10 @@ public class AuthController {
             admin.setTwoFactorEnabled(false);
 
             userRepository.save(admin);
-            System.out.println("✅ ADMIN USER SYNCED: " + adminEmail);
+            log.info("✅ ADMIN USER SYNCED: {}", adminEmail);
 
         } catch (Exception e) {
-            System.err.println("Error initializing admin user: " + e.getMessage());
+            log.error("❌ Error initializing admin user: {}", e.getMessage());
         }
     }
 
@@ -95,7 +110,7 @@ public class AuthController {
                 pendingContract.setCreatedDate(LocalDateTime.now().minusDays(2));
                 pendingContract.setCreatedBy(user.getId());
                 contractRepository.save(pendingContract);
-                System.out.println("✅ Sample pending contract created");
+                log.info("✅ Sample pending contract created");
 
                 // Create sample approved contract
                 Contract approvedContract = new Contract();
@@ -114,7 +129,7 @@ public class AuthController {
                 approvedContract.setApprovedBy(approver.getId());
                 approvedContract.setApproverComments("Approved after reviewing service terms");
                 contractRepository.save(approvedContract);
-                System.out.println("✅ Sample approved contract created");
+                log.info("✅ Sample approved contract created");
 
                 // Create sample rejected contract
                 Contract rejectedContract = new Contract();
@@ -134,12 +149,12 @@ public class AuthController {
                 rejectedContract.setApproverComments("Budget constraints");
                 rejectedContract.setRejectionReason("Insufficient budget allocation for this fiscal year");
                 contractRepository.save(rejectedContract);
-                System.out.println("✅ Sample rejected contract created");
+                log.info("✅ Sample rejected contract created");
 
-                System.out.println("✅ All sample contracts created successfully!");
+                log.info("✅ All sample contracts created successfully!");
             }
         } catch (Exception e) {
-            System.err.println("Error creating sample contracts: " + e.getMessage());
+            log.error("❌ Error creating sample contracts: {}", e.getMessage());
         }
     }
 
@@ -204,7 +219,7 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody User loginRequest) {
-        System.out.println("🔥 LOGIN ENDPOINT HIT for: " + loginRequest.getEmail());
+        log.debug("🔥 LOGIN ENDPOINT HIT for: {}", loginRequest.getEmail());
 
         // ================= EMERGENCY ADMIN LOGIN =================
         // TEMPORARY - REMOVE AFTER RECOVERY
@@ -212,11 +227,11 @@ public class AuthController {
                 "admin@sclms.com".equalsIgnoreCase(loginRequest.getEmail().trim())
                 && "admin123".equals(loginRequest.getPassword())) {
 
-            System.out.println("🔥 EMERGENCY ADMIN LOGIN TRIPPED");
+            log.warn("🔥 EMERGENCY ADMIN LOGIN TRIPPED");
 
             User admin = userRepository.findByEmail("admin@sclms.com")
                     .orElseGet(() -> {
-                        System.out.println("🔥 RE-CREATING MISSING ADMIN");
+                        log.warn("🔥 RE-CREATING MISSING ADMIN");
                         User newAdmin = new User();
 
                         newAdmin.setName("System Administrator");
@@ -250,10 +265,8 @@ public class AuthController {
 
             userRepository.save(admin);
 
-            String token = jwtUtil.generateToken(
-                    admin.getEmail(),
-                    admin.getRole(),
-                    admin.getId());
+            String token = jwtUtil.generateToken(admin);
+            String refreshToken = refreshTokenService.issueRefreshToken(admin);
 
             Map<String, Object> userResponse = new HashMap<>();
             userResponse.put("id", admin.getId());
@@ -263,29 +276,32 @@ public class AuthController {
             userResponse.put("status", admin.getStatus());
             userResponse.put("organization", admin.getOrganization());
 
+            activityLogService.record(admin, ActivityLogService.LOGIN, null, "Emergency admin login");
             return ResponseEntity.ok(Map.of(
                     "token", token,
+                    "refreshToken", refreshToken,
                     "user", userResponse,
                     "message", "Emergency admin login success"));
         }
         // ================= END EMERGENCY LOGIN =================
 
         try {
-            System.out.println("🔍 LOGIN REQUEST: email=" + loginRequest.getEmail());
 
             User user = userService.getUserByEmail(loginRequest.getEmail());
-            System.out.println("🔍 USER FOUND: "
-                    + (user != null ? user.getEmail() + " role=" + user.getRole() + " status=" + user.getStatus()
-                            : "null"));
+            log.debug("🔍 USER FOUND: {}", user != null
+                    ? user.getEmail() + " role=" + user.getRole() + " status=" + user.getStatus() : null);
 
             if (user == null) {
+                activityLogService.record(null, loginRequest.getEmail(), ActivityLogService.LOGIN_FAILED, null,
+                        "Unknown email");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Invalid email or password"));
             }
 
             // Check if account is locked
             if (securityService.isAccountLocked(user)) {
-                System.out.println("❌ ACCOUNT LOCKED for user: " + user.getEmail());
+                log.warn("❌ ACCOUNT LOCKED for user: {}", user.getEmail());
+                activityLogService.record(user, ActivityLogService.LOGIN_FAILED, null, "Account locked");
 
                 // Calculate remaining lockout time
                 long remainingMinutes = 0;
@@ -305,12 +321,12 @@ public class AuthController {
 
             // Check password
             boolean passwordValid = securityService.validatePassword(loginRequest.getPassword(), user.getPassword());
-            System.out.println("🔍 PASSWORD VALIDATION: " + passwordValid);
 
             if (!passwordValid) {
                 // Record failed login attempt
                 securityService.recordFailedLogin(user);
-                System.out.println("❌ INVALID PASSWORD for user: " + user.getEmail());
+                log.warn("❌ INVALID PASSWORD for user: {}", user.getEmail());
+                activityLogService.record(user, ActivityLogService.LOGIN_FAILED, null, "Invalid password");
 
                 // Check if account got locked after this attempt
                 if (securityService.isAccountLocked(user)) {
@@ -343,10 +359,9 @@ public class AuthController {
 
             // Check if account is approved
             String userStatus = user.getStatus();
-            System.out.println("🔍 USER STATUS: " + userStatus);
 
             if (!"APPROVED".equals(userStatus)) {
-                System.out.println("❌ USER NOT APPROVED: " + user.getEmail() + " status=" + userStatus);
+                log.info("❌ USER NOT APPROVED: {} status={}", user.getEmail(), userStatus);
                 // CHANGE: Return 401 instead of 403 to differentiate from Security Layer
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Account not approved yet. Please wait for admin approval."));
@@ -354,7 +369,7 @@ public class AuthController {
 
             // Check if 2FA is required
             if (securityService.isTwoFactorRequired(user)) {
-                System.out.println("🔍 2FA REQUIRED for user: " + user.getEmail());
+                log.debug("🔍 2FA REQUIRED for user: {}", user.getEmail());
                 Map<String, Object> response = new HashMap<>();
                 response.put("requires2FA", true);
                 response.put("userId", user.getId());
@@ -366,10 +381,10 @@ public class AuthController {
             // Generate JWT token
             String userRole = user.getRole();
             Long userId = user.getId();
-            System.out.println("🔍 GENERATING JWT: email=" + user.getEmail() + " role=" + userRole + " id=" + userId);
+            log.debug("🔍 GENERATING JWT: email={} role={} id={}", user.getEmail(), userRole, userId);
 
-            String token = jwtUtil.generateToken(user.getEmail(), userRole, userId);
-            System.out.println("🔍 JWT GENERATED: " + (token != null ? "SUCCESS" : "FAILED"));
+            String token = jwtUtil.generateToken(user);
+            String refreshToken = refreshTokenService.issueRefreshToken(user);
 
             // Return user info without password
             Map<String, Object> userResponse = new HashMap<>();
@@ -380,8 +395,10 @@ public class AuthController {
             userResponse.put("status", user.getStatus());
             userResponse.put("organization", user.getOrganization());
 
+            activityLogService.record(user, ActivityLogService.LOGIN, null, null);
             return ResponseEntity.ok(Map.of(
                     "token", token,
+                    "refreshToken", refreshToken,
                     "user", userResponse,
                     "message", "Login successful"));
 
@@ -391,9 +408,43 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        try {
+            RefreshTokenService.RotationResult rotation = refreshTokenService.rotate(request.get("refreshToken"));
+            User user = rotation.getUser();
+
+            return ResponseEntity.ok(Map.of(
+                    "token", jwtUtil.generateToken(user),
+                    "refreshToken", rotation.getRefreshToken(),
+                    "expiresIn", jwtUtil.getAccessTokenExpiration() / 1000));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // In JWT, logout is handled client-side by removing the token
+    public ResponseEntity<?> logout(
+            @RequestBody(required = false) Map<String, String> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // Revoke the refresh token so the session can't be renewed
+        if (request != null) {
+            refreshTokenService.revoke(request.get("refreshToken"));
+        }
+
+        // Revoke the presented access token for the rest of its lifetime
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                io.jsonwebtoken.Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+                tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+                activityLogService.record(claims.get("userId", Long.class), claims.getSubject(),
+                        ActivityLogService.LOGOUT, null, null);
+            } catch (Exception ignored) {
+                // Expired or invalid tokens need no revocation
+            }
+        }
+
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
 
@@ -419,7 +470,8 @@ public class AuthController {
             boolean isForceReset = false;
 
             if (auth != null && auth.getPrincipal() instanceof User) {
-                user = (User) auth.getPrincipal();
+                // Principal is built from token claims and carries no password hash
+                user = userService.getUserById(((User) auth.getPrincipal()).getId());
             } else {
                 // For force reset scenarios - get user by ID
                 String userIdStr = passwordRequest.get("userId");
@@ -467,7 +519,15 @@ public class AuthController {
 
             userService.updateUser(user.getId(), user);
 
-            return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
+            // Sign out every session that knew the old password; the caller continues with new tokens
+            refreshTokenService.revokeAllForUser(user.getId());
+            if (isForceReset) {
+                return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
+            }
+            return ResponseEntity.ok(Map.of(
+                    "message", "Password changed successfully",
+                    "token", jwtUtil.generateToken(user),
+                    "refreshToken", refreshTokenService.issueRefreshToken(user)));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -1,21 +1,35 @@
 package com.sclms.sclms_backend.controller;
 
+import com.sclms.sclms_backend.config.ApplicationMetrics;
 import com.sclms.sclms_backend.entity.Contract;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.entity.ApprovalHistory;
 import com.sclms.sclms_backend.repository.ContractRepository;
 import com.sclms.sclms_backend.repository.UserRepository;
 import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.service.ActivityLogService;
+import com.sclms.sclms_backend.service.ContractArchiveService;
+import com.sclms.sclms_backend.service.ContractDecisionService;
+import com.sclms.sclms_backend.service.ContractImportService;
 import com.sclms.sclms_backend.service.FileStorageService;
 import com.sclms.sclms_backend.service.NotificationService;
+import com.sclms.sclms_backend.service.OrganizationService;
+import com.sclms.sclms_backend.service.TenantShardRouter;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.nio.file.Files;
@@ -26,24 +40,55 @@ import java.nio.file.Paths;
 @RequestMapping("/api/contracts")
 public class ContractController {
 
+    private static final Logger log = LoggerFactory.getLogger(ContractController.class);
+
+    // Page size cap for lists merged across shards; without a size the whole list is returned
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Same order as the ...OrderByCreatedDateDescIdDesc queries (nulls sort low, so last)
+    private static final Comparator<Contract> NEWEST_FIRST =
+            Comparator.comparing(Contract::getCreatedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Contract::getId, Comparator.reverseOrder());
+
     private final ContractRepository contractRepository;
     private final UserRepository userRepository;
     private final ApprovalHistoryRepository historyRepository;
     private final FileStorageService fileService;
     private final NotificationService notificationService;
+    private final OrganizationService organizationService;
+    private final TenantShardRouter shardRouter;
+    private final ContractArchiveService archiveService;
+    private final ContractDecisionService decisionService;
+    private final ContractImportService importService;
+    private final ApplicationMetrics metrics;
+    private final ActivityLogService activityLogService;
 
     public ContractController(
             ContractRepository contractRepository,
             UserRepository userRepository,
             ApprovalHistoryRepository historyRepository,
             FileStorageService fileService,
-            NotificationService notificationService
+            NotificationService notificationService,
+            OrganizationService organizationService,
+            TenantShardRouter shardRouter,
+            ContractArchiveService archiveService,
+            ContractDecisionService decisionService,
+            ContractImportService importService,
+            ApplicationMetrics metrics,
+            ActivityLogService activityLogService
     ) {
         this.contractRepository = contractRepository;
         this.userRepository = userRepository;
         this.historyRepository = historyRepository;
         this.fileService = fileService;
         this.notificationService = notificationService;
+        this.organizationService = organizationService;
+        this.shardRouter = shardRouter;
+        this.archiveService = archiveService;
+        this.decisionService = decisionService;
+        this.importService = importService;
+        this.metrics = metrics;
+        this.activityLogService = activityLogService;
     }
 
     // =========================================================
@@ -55,26 +100,28 @@ public class ContractController {
             @RequestBody CreateContractRequest request
     ) {
         try {
-            // Log the request payload for debugging
-            System.out.println("🔍 CONTRACT CREATION REQUEST:");
-            System.out.println("userId: " + userId);
-            System.out.println("title: " + request.getTitle());
-            System.out.println("toOrg: " + request.getToOrg());
-            System.out.println("contractType: " + request.getContractType());
-            System.out.println("startDate: " + request.getStartDate());
-            System.out.println("endDate: " + request.getEndDate());
-            System.out.println("description: " + request.getDescription());
+            log.debug("🔍 CONTRACT CREATION REQUEST | userId={} | title={} | toOrg={} | type={} | start={} | end={}",
+                    userId, request.getTitle(), request.getToOrg(), request.getContractType(),
+                    request.getStartDate(), request.getEndDate());
 
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            Long toOrgId = organizationService.findId(request.getToOrg());
+            if (toOrgId == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown organization: " + request.getToOrg()));
+            }
+
             Contract contract = new Contract();
             contract.setTitle(request.getTitle());
             contract.setFromOrg(user.getOrganization());
             contract.setToOrg(request.getToOrg());
+            contract.setFromOrgId(user.getOrganizationId() != null
+                    ? user.getOrganizationId() : organizationService.resolveId(user.getOrganization()));
+            contract.setToOrgId(toOrgId);
             contract.setContractType(request.getContractType());
-            contract.setStartDate(LocalDateTime.parse(request.getStartDate() + "T00:00:00"));
-            contract.setEndDate(LocalDateTime.parse(request.getEndDate() + "T23:59:59"));
+            contract.setStartDate(ContractImportService.parseContractDate(request.getStartDate(), false));
+            contract.setEndDate(ContractImportService.parseContractDate(request.getEndDate(), true));
             contract.setDescription(request.getDescription());
             contract.setCreatedBy(user.getId());
             contract.setStatus("PENDING");
@@ -87,29 +134,33 @@ public class ContractController {
             //     contract.setDocumentUrl(savedPath);
             // }
 
-            Contract saved = contractRepository.save(contract);
-
-            // Create approval history
-            ApprovalHistory history = new ApprovalHistory();
-            history.setContractId(saved.getId());
-            history.setAction("CREATED");
-            history.setComment("Contract created & sent for approval");
-            history.setActor(user.getName());
-            history.setActorRole("USER");
-            history.setTimestamp(LocalDateTime.now());
-            historyRepository.save(history);
+            // Stored on the receiving organization's shard
+            Contract saved = shardRouter.forTenant(request.getToOrg(), () -> {
+                Contract created = contractRepository.save(contract);
+
+                // Create approval history
+                ApprovalHistory history = new ApprovalHistory();
+                history.setContractId(created.getId());
+                history.setAction("CREATED");
+                history.setComment("Contract created & sent for approval");
+                history.setActor(user.getName());
+                history.setActorRole("USER");
+                history.setTimestamp(LocalDateTime.now());
+                historyRepository.save(history);
+                metrics.contractTransition("NONE", "PENDING", "api", 1);
+                return created;
+            });
 
             // Notify approvers in target organization
             List<User> approvers = userRepository.findByOrganizationAndRole(request.getToOrg(), "APPROVER");
-            for (User approver : approvers) {
-                notificationService.notifyNewContract(
-                        approver.getId(),
-                        saved.getId(),
-                        saved.getTitle(),
-                        user.getOrganization()
-                );
-            }
+            notificationService.notifyNewContract(
+                    approvers.stream().map(User::getId).toList(),
+                    saved.getId(),
+                    saved.getTitle(),
+                    user.getOrganization()
+            );
 
+            activityLogService.record(user, ActivityLogService.CREATE_CONTRACT, saved.getId(), saved.getTitle());
             return ResponseEntity.ok(saved);
 
         } catch (Exception e) {
@@ -117,16 +168,77 @@ public class ContractController {
         }
     }
 
+    // =========================================================
+    // BULK IMPORT (CSV / NDJSON)
+    // =========================================================
+    // Body is the raw file: text/csv with a header row, or application/x-ndjson with one object per line
+    @PostMapping(value = "/import/{userId}", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importContracts(
+            @PathVariable Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            Authentication auth
+    ) {
+        try {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            requireSelfOrAdmin(auth, user.getId());
+
+            ContractImportService.Format format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+                    ? ContractImportService.Format.CSV : ContractImportService.Format.NDJSON;
+            ContractImportService.ImportJob job = importService.submit(body, format, user);
+            activityLogService.record((User) auth.getPrincipal(), ActivityLogService.IMPORT_CONTRACTS, null,
+                    "Job " + job.getJobId() + " (" + format + ") for user " + user.getId());
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/api/contracts/import/jobs/" + job.getJobId())
+                    .body(job.toMap());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/import/jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId, Authentication auth) {
+        try {
+            ContractImportService.ImportJob job = importService.getJob(jobId);
+            if (job == null) {
+                return ResponseEntity.status(404).body(Map.of("error", "Import job not found"));
+            }
+            requireSelfOrAdmin(auth, job.getUserId());
+            return ResponseEntity.ok(job.toMap());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static void requireSelfOrAdmin(Authentication auth, Long userId) {
+        User caller = (User) auth.getPrincipal();
+        if (!caller.getId().equals(userId) && !"ADMIN".equals(caller.getRole())) {
+            throw new IllegalArgumentException("Not allowed for another user's imports");
+        }
+    }
+
     // =========================================================
     // GET SINGLE CONTRACT
     // =========================================================
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
-    public ResponseEntity<?> getContract(@PathVariable Long id) {
+    public ResponseEntity<?> getContract(@PathVariable Long id, Authentication auth) {
         try {
-            Contract contract = contractRepository.findById(id)
+            Optional<Contract> contract = shardRouter.forContract(id, () -> contractRepository.findById(id));
+            if (contract.isPresent()) {
+                activityLogService.record((User) auth.getPrincipal(), ActivityLogService.VIEW_CONTRACT, id, null);
+                return ResponseEntity.ok(contract.get());
+            }
+            // Closed contracts moved to cold storage are still readable
+            Contract archived = archiveService.findArchivedContract(id)
                     .orElseThrow(() -> new RuntimeException("Contract not found"));
-            return ResponseEntity.ok(contract);
+            activityLogService.record((User) auth.getPrincipal(), ActivityLogService.VIEW_CONTRACT, id, "Archived");
+            return ResponseEntity.ok().header("X-Contract-Archived", "true").body(archived);
         } catch (Exception e) {
             return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
         }
@@ -136,14 +248,32 @@ public class ContractController {
     // USER — MY CONTRACTS
     // =========================================================
     @GetMapping("/my/{userId}")
-    public ResponseEntity<?> getUserContracts(@PathVariable Long userId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getUserContracts(@PathVariable Long userId,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(required = false) Integer size) {
         try {
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found"));
-
-            List<Contract> contracts = contractRepository.findByFromOrgOrToOrgOrderByCreatedDateDesc(
-                    user.getOrganization(), user.getOrganization()
-            );
+            String organization = user.getOrganization();
+
+            // Sent contracts live on the receivers' shards; with a size each shard returns only the rows up to this page
+            List<Contract> contracts;
+            if (size == null) {
+                contracts = shardRouter.scatterMergeAll(
+                        () -> contractRepository.findByFromOrgOrToOrgOrderByCreatedDateDescIdDesc(
+                                organization, organization, Pageable.unpaged()),
+                        NEWEST_FIRST);
+            } else {
+                int limit = pageSize(size);
+                contracts = shardRouter.scatterMerge(
+                        rows -> contractRepository.findByFromOrgOrToOrgOrderByCreatedDateDescIdDesc(
+                                organization, organization, PageRequest.of(0, rows)),
+                        NEWEST_FIRST,
+                        Math.multiplyExact(Math.max(page, 0), limit),
+                        limit
+                );
+            }
 
             return ResponseEntity.ok(contracts);
         } catch (Exception e) {
@@ -155,13 +285,32 @@ public class ContractController {
     // APPROVER — ACTIVITY FEED
     // =========================================================
     @GetMapping("/activity/approver")
-    public ResponseEntity<?> getApproverActivity(Authentication auth) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getApproverActivity(Authentication auth,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(required = false) Integer size) {
         try {
             User approver = (User) auth.getPrincipal();
-
-            List<ApprovalHistory> activities = historyRepository.findByActorRoleAndActorOrderByTimestampDesc(
-                    "APPROVER", approver.getName()
-            );
+            Comparator<ApprovalHistory> newestFirst =
+                    Comparator.comparing(ApprovalHistory::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(ApprovalHistory::getId, Comparator.reverseOrder());
+
+            List<ApprovalHistory> activities;
+            if (size == null) {
+                activities = shardRouter.scatterMergeAll(
+                        () -> historyRepository.findByActorRoleAndActorOrderByTimestampDescIdDesc(
+                                "APPROVER", approver.getName(), Pageable.unpaged()),
+                        newestFirst);
+            } else {
+                int limit = pageSize(size);
+                activities = shardRouter.scatterMerge(
+                        rows -> historyRepository.findByActorRoleAndActorOrderByTimestampDescIdDesc(
+                                "APPROVER", approver.getName(), PageRequest.of(0, rows)),
+                        newestFirst,
+                        Math.multiplyExact(Math.max(page, 0), limit),
+                        limit
+                );
+            }
 
             return ResponseEntity.ok(activities);
         } catch (Exception e) {
@@ -173,12 +322,12 @@ public class ContractController {
     // APPROVER — PENDING / APPROVED / REJECTED CONTRACTS
     // =========================================================
     @GetMapping("/approver/pending")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getPendingContracts(Authentication auth) {
         try {
             User approver = (User) auth.getPrincipal();
-            List<Contract> contracts = contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(
-                    approver.getOrganization(), "PENDING"
-            );
+            List<Contract> contracts = shardRouter.forTenant(approver.getOrganization(),
+                    () -> contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(approver.getOrganization(), "PENDING"));
             return ResponseEntity.ok(contracts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -186,12 +335,12 @@ public class ContractController {
     }
 
     @GetMapping("/approver/approved")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getApprovedContracts(Authentication auth) {
         try {
             User approver = (User) auth.getPrincipal();
-            List<Contract> contracts = contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(
-                    approver.getOrganization(), "APPROVED"
-            );
+            List<Contract> contracts = shardRouter.forTenant(approver.getOrganization(),
+                    () -> contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(approver.getOrganization(), "APPROVED"));
             return ResponseEntity.ok(contracts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -199,12 +348,12 @@ public class ContractController {
     }
 
     @GetMapping("/approver/rejected")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getRejectedContracts(Authentication auth) {
         try {
             User approver = (User) auth.getPrincipal();
-            List<Contract> contracts = contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(
-                    approver.getOrganization(), "REJECTED"
-            );
+            List<Contract> contracts = shardRouter.forTenant(approver.getOrganization(),
+                    () -> contractRepository.findByToOrgAndStatusOrderByCreatedDateDesc(approver.getOrganization(), "REJECTED"));
             return ResponseEntity.ok(contracts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -223,39 +372,28 @@ public class ContractController {
         try {
             User approver = (User) auth.getPrincipal();
 
-            Contract contract = contractRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Contract not found"));
-
-            if (!"PENDING".equals(contract.getStatus())) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Contract already processed"));
-            }
-
-            contract.setStatus("APPROVED");
-            contract.setApproverComments(req.getComment());
-            contract.setApprovedBy(approver.getId());
-            contract.setApprovedDate(LocalDateTime.now());
-            contract.setRejectionReason(null);
-
-            Contract saved = contractRepository.save(contract);
-
-            // Create approval history
-            ApprovalHistory history = new ApprovalHistory();
-            history.setContractId(id);
-            history.setAction("APPROVED");
-            history.setComment(req.getComment() != null ? req.getComment() : "Approved");
-            history.setActor(approver.getName());
-            history.setActorRole("APPROVER");
-            history.setTimestamp(LocalDateTime.now());
-            historyRepository.save(history);
+            Contract saved = shardRouter.forContract(id, () -> {
+                // Create approval history
+                ApprovalHistory history = new ApprovalHistory();
+                history.setContractId(id);
+                history.setAction("APPROVED");
+                history.setComment(req.getComment() != null ? req.getComment() : "Approved");
+                history.setActor(approver.getName());
+                history.setActorRole("APPROVER");
+                history.setTimestamp(LocalDateTime.now());
+                return decide(id, "APPROVED", req.getComment(), null, approver, history);
+            });
 
             // Notify contract creator
-            notificationService.notifyContractApproved(contract.getCreatedBy(), id, contract.getTitle());
+            notificationService.notifyContractApproved(saved.getCreatedBy(), id, saved.getTitle());
 
-            // Add debug logging
-            System.out.println("📩 Notification created for user: " + contract.getCreatedBy() + " - Contract approved");
+            log.debug("📩 Notification created for user: {} - Contract approved", saved.getCreatedBy());
 
+            activityLogService.record(approver, ActivityLogService.APPROVE_CONTRACT, id, req.getComment());
             return ResponseEntity.ok(saved);
 
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -273,55 +411,131 @@ public class ContractController {
         try {
             User approver = (User) auth.getPrincipal();
 
-            Contract contract = contractRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Contract not found"));
-
-            if (!"PENDING".equals(contract.getStatus())) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Contract already processed"));
-            }
-
             if (req.getReason() == null || req.getReason().isBlank()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Rejection reason required"));
+                throw new IllegalArgumentException("Rejection reason required");
             }
 
-            contract.setStatus("REJECTED");
-            contract.setApproverComments(req.getComment());
-            contract.setRejectionReason(req.getReason());
-            contract.setApprovedBy(approver.getId());
-            contract.setApprovedDate(LocalDateTime.now());
-
-            Contract saved = contractRepository.save(contract);
-
-            // Create approval history
-            ApprovalHistory history = new ApprovalHistory();
-            history.setContractId(id);
-            history.setAction("REJECTED");
-            history.setComment(req.getReason());
-            history.setActor(approver.getName());
-            history.setActorRole("APPROVER");
-            history.setTimestamp(LocalDateTime.now());
-            historyRepository.save(history);
+            Contract saved = shardRouter.forContract(id, () -> {
+                // Create approval history
+                ApprovalHistory history = new ApprovalHistory();
+                history.setContractId(id);
+                history.setAction("REJECTED");
+                history.setComment(req.getReason());
+                history.setActor(approver.getName());
+                history.setActorRole("APPROVER");
+                history.setTimestamp(LocalDateTime.now());
+                return decide(id, "REJECTED", req.getComment(), req.getReason(), approver, history);
+            });
 
             // Notify contract creator
-            notificationService.notifyContractRejected(contract.getCreatedBy(), id, contract.getTitle(), req.getReason());
+            notificationService.notifyContractRejected(saved.getCreatedBy(), id, saved.getTitle(), req.getReason());
 
             // Add debug logging
-            System.out.println("📩 Notification created for user: " + contract.getCreatedBy() + " - Contract rejected");
+            log.debug("📩 Notification created for user: {} - Contract rejected", saved.getCreatedBy());
 
+            activityLogService.record(approver, ActivityLogService.REJECT_CONTRACT, id, req.getReason());
             return ResponseEntity.ok(saved);
 
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // =========================================================
+    // BULK APPROVE / REJECT
+    // =========================================================
+    @PutMapping("/bulk/approve")
+    public ResponseEntity<?> bulkApprove(@RequestBody BulkDecisionRequest req, Authentication auth) {
+        try {
+            User approver = (User) auth.getPrincipal();
+            Map<Long, String> outcomes = decisionService.decideAll(
+                    req.getIds(), "APPROVED", req.getComment(), null, approver);
+            activityLogService.record(approver, ActivityLogService.BULK_APPROVE, null, bulkDetail(outcomes, "APPROVED"));
+            return ResponseEntity.ok(bulkDecisionResponse(outcomes, "APPROVED"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/bulk/reject")
+    public ResponseEntity<?> bulkReject(@RequestBody BulkDecisionRequest req, Authentication auth) {
+        try {
+            User approver = (User) auth.getPrincipal();
+            if (req.getReason() == null || req.getReason().isBlank()) {
+                throw new IllegalArgumentException("Rejection reason required");
+            }
+            Map<Long, String> outcomes = decisionService.decideAll(
+                    req.getIds(), "REJECTED", req.getComment(), req.getReason(), approver);
+            activityLogService.record(approver, ActivityLogService.BULK_REJECT, null, bulkDetail(outcomes, "REJECTED"));
+            return ResponseEntity.ok(bulkDecisionResponse(outcomes, "REJECTED"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> bulkDecisionResponse(Map<Long, String> outcomes, String status) {
+        List<Map<String, Object>> results = new ArrayList<>(outcomes.size());
+        Map<String, Integer> counts = new HashMap<>();
+        outcomes.forEach((id, outcome) -> {
+            results.add(Map.of("id", id, "outcome", outcome));
+            counts.merge(outcome, 1, Integer::sum);
+        });
+        return Map.of(
+                "requested", outcomes.size(),
+                "decided", counts.getOrDefault(status, 0),
+                "counts", counts,
+                "results", results
+        );
+    }
+
+    // e.g. "12/15 REJECTED: 101, 102, ..." - ids of the contracts actually decided, cut to the column size
+    private static String bulkDetail(Map<Long, String> outcomes, String status) {
+        List<Long> decided = outcomes.entrySet().stream()
+                .filter(entry -> status.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        StringJoiner ids = new StringJoiner(", ");
+        decided.forEach(id -> ids.add(String.valueOf(id)));
+        return decided.size() + "/" + outcomes.size() + " " + status + ": " + ids;
+    }
+
+    /**
+     * Moves a PENDING contract to its final status in one conditional UPDATE, so of two approvers acting
+     * at once exactly one succeeds; the other gets a conflict. Must run inside the contract's shard block.
+     * The history entry is persisted first so its id is reserved before the row lock is taken; the insert
+     * itself is flushed at commit, and discarded when the transition loses.
+     */
+    private Contract decide(Long id, String status, String comment, String reason, User approver,
+                            ApprovalHistory history) {
+        historyRepository.save(history);
+        int changed = contractRepository.transitionFromPending(
+                id, status, comment, reason, approver.getId(), LocalDateTime.now());
+        Contract contract = contractRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
+        if (changed == 0) {
+            throw new OptimisticLockingFailureException("Contract already processed");
+        }
+        metrics.contractTransition("PENDING", status, "api", 1);
+        return contract;
+    }
+
     // =========================================================
     // CONTRACT HISTORY TIMELINE
     // =========================================================
     @GetMapping("/history/{contractId}")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getContractHistory(@PathVariable Long contractId) {
         try {
-            List<ApprovalHistory> history = historyRepository.findByContractIdOrderByTimestampAsc(contractId);
+            List<ApprovalHistory> history = shardRouter.forContract(contractId,
+                    () -> historyRepository.findByContractIdOrderByTimestampAsc(contractId));
+            if (history.isEmpty()) {
+                Optional<List<ApprovalHistory>> archived = archiveService.findArchivedHistory(contractId);
+                if (archived.isPresent()) {
+                    return ResponseEntity.ok().header("X-Contract-Archived", "true").body(archived.get());
+                }
+            }
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -334,9 +548,8 @@ public class ContractController {
     @GetMapping("/file/{id}")
     public ResponseEntity<?> downloadContractFile(@PathVariable Long id, Authentication auth) {
         try {
-            // PRINT AUTH DEBUG INFO
-            System.out.println("AUTH USER: " + (auth != null ? auth.getName() : "NULL"));
-            System.out.println("AUTHORITIES: " + (auth != null ? auth.getAuthorities() : "NULL"));
+            log.debug("🔍 FILE DOWNLOAD | contract={} | user={} | authorities={}", id,
+                    auth != null ? auth.getName() : null, auth != null ? auth.getAuthorities() : null);
 
             // TEMPORARILY REMOVE ACCESS RESTRICTIONS TO TEST
             // User currentUser = (User) auth.getPrincipal();
@@ -362,7 +575,7 @@ public class ContractController {
             //     return ResponseEntity.status(403).body(Map.of("error", "Access denied. You don't have permission to view this file."));
             // }
 
-            Contract contract = contractRepository.findById(id)
+            Contract contract = shardRouter.forContract(id, () -> contractRepository.findById(id))
                     .orElseThrow(() -> new RuntimeException("Contract not found"));
 
             if (contract.getDocumentUrl() == null) {
@@ -387,6 +600,7 @@ public class ContractController {
     // APPROVER KPI
     // =========================================================
     @GetMapping("/approver/kpi")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getApproverKPI(Authentication auth) {
         try {
             User approver = (User) auth.getPrincipal();
@@ -394,17 +608,17 @@ public class ContractController {
             LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
             LocalDateTime month = today.withDayOfMonth(1);
 
-            long todayApproved = historyRepository.countByActorRoleAndActionAndTimestampAfter(
-                    "APPROVER", "APPROVED", today);
+            long todayApproved = shardRouter.scatterSum(() -> historyRepository.countByActorRoleAndActionAndTimestampAfter(
+                    "APPROVER", "APPROVED", today));
 
-            long todayRejected = historyRepository.countByActorRoleAndActionAndTimestampAfter(
-                    "APPROVER", "REJECTED", today);
+            long todayRejected = shardRouter.scatterSum(() -> historyRepository.countByActorRoleAndActionAndTimestampAfter(
+                    "APPROVER", "REJECTED", today));
 
-            long monthApproved = historyRepository.countByActorRoleAndActionAndTimestampAfter(
-                    "APPROVER", "APPROVED", month);
+            long monthApproved = shardRouter.scatterSum(() -> historyRepository.countByActorRoleAndActionAndTimestampAfter(
+                    "APPROVER", "APPROVED", month));
 
-            long monthRejected = historyRepository.countByActorRoleAndActionAndTimestampAfter(
-                    "APPROVER", "REJECTED", month);
+            long monthRejected = shardRouter.scatterSum(() -> historyRepository.countByActorRoleAndActionAndTimestampAfter(
+                    "APPROVER", "REJECTED", month));
 
             Map<String, Long> kpi = new HashMap<>();
             kpi.put("todayApproved", todayApproved);
@@ -431,6 +645,22 @@ public class ContractController {
         public void setReason(String reason) { this.reason = reason; }
     }
 
+    // Shared comment / reason applied to every contract in a bulk decision
+    public static class BulkDecisionRequest {
+        private List<Long> ids;
+        private String comment;
+        private String reason;
+
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+
+        public String getComment() { return comment; }
+        public void setComment(String comment) { this.comment = comment; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+
     // DTO for contract creation
     public static class CreateContractRequest {
         private String title;
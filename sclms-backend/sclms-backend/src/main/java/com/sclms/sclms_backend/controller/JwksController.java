@@ -0,0 +1,31 @@
+package com.sclms.sclms_backend.controller;
+
+import com.sclms.sclms_backend.security.JwtKeyRing;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Public signing keys (JWK set) so gateways and other services can verify access tokens
+     * without sharing a secret. Retired keys stay listed until their tokens have expired.
+     */
+    @GetMapping({"/.well-known/jwks.json", "/api/auth/jwks"})
+    public ResponseEntity<?> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keyRing.getJwks()));
+    }
+}
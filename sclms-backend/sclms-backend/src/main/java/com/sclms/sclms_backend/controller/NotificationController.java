@@ -3,6 +3,8 @@ package com.sclms.sclms_backend.controller;
 import com.sclms.sclms_backend.entity.Notification;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -15,6 +17,8 @@ import java.util.Map;
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
+
     private final NotificationService notificationService;
 
     public NotificationController(NotificationService notificationService) {
@@ -27,8 +31,7 @@ public class NotificationController {
             User user = (User) auth.getPrincipal();
             List<Notification> notifications = notificationService.getUserNotificationsWithApproverLogic(user.getId(), user);
 
-            // Add debug logging
-            System.out.println("📩 Getting notifications for user: " + user.getId() + ", role: " + user.getRole() + ", count: " + notifications.size());
+            log.debug("📩 Getting notifications for user: {}, role: {}, count: {}", user.getId(), user.getRole(), notifications.size());
 
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
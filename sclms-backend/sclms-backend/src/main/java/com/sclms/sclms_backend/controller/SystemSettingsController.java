@@ -3,6 +3,8 @@ package com.sclms.sclms_backend.controller;
 import com.sclms.sclms_backend.entity.SystemSettings;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.service.SystemSettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,8 @@ import java.util.Map;
 @RequestMapping("/api/admin/settings")
 public class SystemSettingsController {
 
+    private static final Logger log = LoggerFactory.getLogger(SystemSettingsController.class);
+
     @Autowired
     private SystemSettingsService systemSettingsService;
 
@@ -32,10 +36,9 @@ public class SystemSettingsController {
     // GENERAL SETTINGS
     @GetMapping("/general")
     public ResponseEntity<?> getGeneralSettings(Authentication authentication) {
-        System.out.println("🎯 SETTINGS CONTROLLER: getGeneralSettings called");
         try {
             User currentUser = getCurrentUser(authentication);
-            System.out.println("🎯 SETTINGS CONTROLLER: User authenticated: " + currentUser.getEmail());
+            log.debug("🎯 SETTINGS CONTROLLER: getGeneralSettings by {}", currentUser.getEmail());
             SystemSettings settings = systemSettingsService.getSystemSettings();
 
             Map<String, Object> response = new HashMap<>();
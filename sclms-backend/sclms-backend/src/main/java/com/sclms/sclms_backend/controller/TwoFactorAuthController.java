@@ -1,9 +1,14 @@
 package com.sclms.sclms_backend.controller;
 
 import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.service.RefreshTokenService;
 import com.sclms.sclms_backend.service.TwoFactorAuthService;
 import com.sclms.sclms_backend.service.UserService;
 import com.sclms.sclms_backend.security.JwtUtil;
+import com.sclms.sclms_backend.security.TotpEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,21 +21,26 @@ import java.util.Map;
 @RequestMapping("/api/2fa")
 public class TwoFactorAuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(TwoFactorAuthController.class);
+
     private final TwoFactorAuthService twoFactorAuthService;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
     public TwoFactorAuthController(
             TwoFactorAuthService twoFactorAuthService,
             UserService userService,
             PasswordEncoder passwordEncoder,
-            JwtUtil jwtUtil
+            JwtUtil jwtUtil,
+            RefreshTokenService refreshTokenService
     ) {
         this.twoFactorAuthService = twoFactorAuthService;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -39,17 +49,15 @@ public class TwoFactorAuthController {
     @PostMapping("/setup")
     public ResponseEntity<?> setup2FA(Authentication auth) {
         try {
-            System.out.println("🔍 2FA setup called - auth: " + (auth != null));
-            if (auth != null && auth.getPrincipal() != null) {
-                System.out.println("🔍 Principal: " + auth.getPrincipal().getClass().getSimpleName());
-                System.out.println("🔍 Authorities: " + auth.getAuthorities());
-            }
+            log.debug("🔍 2FA setup called | authenticated={} | authorities={}",
+                    auth != null, auth != null ? auth.getAuthorities() : null);
 
             // TEMPORARY: Get user from a header or parameter for debugging
             // In production, this should come from authentication
             User user;
             if (auth != null && auth.getPrincipal() instanceof User) {
-                user = (User) auth.getPrincipal();
+                // Principal is built from token claims; load the full record before updating it
+                user = userService.getUserById(((User) auth.getPrincipal()).getId());
             } else {
                 // For debugging - get user from header (this is temporary)
                 // In production, proper authentication should be used
@@ -87,7 +95,7 @@ public class TwoFactorAuthController {
             Authentication auth
     ) {
         try {
-            User user = (User) auth.getPrincipal();
+            User user = userService.getUserById(((User) auth.getPrincipal()).getId());
 
             if (user.getTwoFactorSecret() == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Setup 2FA first"));
@@ -99,8 +107,9 @@ public class TwoFactorAuthController {
             }
 
             // Validate the TOTP code
-            boolean valid = twoFactorAuthService.validateCodeWithWindow(
-                user.getTwoFactorSecret(), code, 2 // 2-minute window
+            // Accepts the current code and one step either side; each code can be used once
+            boolean valid = twoFactorAuthService.verifyCode(
+                user.getId(), user.getTwoFactorSecret(), code
             );
 
             if (!valid) {
@@ -113,6 +122,8 @@ public class TwoFactorAuthController {
 
             return ResponseEntity.ok(Map.of("message", "2FA enabled successfully"));
 
+        } catch (TotpEngine.TotpThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -127,7 +138,7 @@ public class TwoFactorAuthController {
             Authentication auth
     ) {
         try {
-            User user = (User) auth.getPrincipal();
+            User user = userService.getUserById(((User) auth.getPrincipal()).getId());
 
             if (!user.getTwoFactorEnabled()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "2FA not enabled"));
@@ -146,8 +157,8 @@ public class TwoFactorAuthController {
             }
 
             // Verify TOTP code
-            boolean valid = twoFactorAuthService.validateCodeWithWindow(
-                user.getTwoFactorSecret(), code, 2
+            boolean valid = twoFactorAuthService.verifyCode(
+                user.getId(), user.getTwoFactorSecret(), code
             );
 
             if (!valid) {
@@ -158,9 +169,12 @@ public class TwoFactorAuthController {
             user.setTwoFactorEnabled(false);
             user.setTwoFactorSecret(null);
             userService.updateUser(user.getId(), user);
+            twoFactorAuthService.resetUser(user.getId());
 
             return ResponseEntity.ok(Map.of("message", "2FA disabled successfully"));
 
+        } catch (TotpEngine.TotpThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -186,8 +200,8 @@ public class TwoFactorAuthController {
             }
 
             // Validate TOTP code
-            boolean valid = twoFactorAuthService.validateCodeWithWindow(
-                user.getTwoFactorSecret(), code, 2
+            boolean valid = twoFactorAuthService.verifyCode(
+                user.getId(), user.getTwoFactorSecret(), code
             );
 
             if (!valid) {
@@ -195,10 +209,11 @@ public class TwoFactorAuthController {
             }
 
             // Generate JWT token
-            String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId());
+            String token = jwtUtil.generateToken(user);
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
+            response.put("refreshToken", refreshTokenService.issueRefreshToken(user));
             response.put("user", Map.of(
                 "id", user.getId(),
                 "name", user.getName(),
@@ -211,6 +226,8 @@ public class TwoFactorAuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (TotpEngine.TotpThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
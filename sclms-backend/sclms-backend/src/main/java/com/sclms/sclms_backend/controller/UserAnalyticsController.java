@@ -1,11 +1,12 @@
 package com.sclms.sclms_backend.controller;
 
-import com.sclms.sclms_backend.entity.Contract;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
 import com.sclms.sclms_backend.repository.ContractRepository;
 import com.sclms.sclms_backend.repository.NotificationRepository;
+import com.sclms.sclms_backend.service.ActivityLogService;
 import com.sclms.sclms_backend.service.NotificationService;
+import com.sclms.sclms_backend.service.TenantShardRouter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -23,17 +24,23 @@ public class UserAnalyticsController {
     private final ApprovalHistoryRepository historyRepository;
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final TenantShardRouter shardRouter;
+    private final ActivityLogService activityLogService;
 
     public UserAnalyticsController(
             ContractRepository contractRepository,
             ApprovalHistoryRepository historyRepository,
             NotificationRepository notificationRepository,
-            NotificationService notificationService
+            NotificationService notificationService,
+            TenantShardRouter shardRouter,
+            ActivityLogService activityLogService
     ) {
         this.contractRepository = contractRepository;
         this.historyRepository = historyRepository;
         this.notificationRepository = notificationRepository;
         this.notificationService = notificationService;
+        this.shardRouter = shardRouter;
+        this.activityLogService = activityLogService;
     }
 
     /**
@@ -54,32 +61,21 @@ public class UserAnalyticsController {
                 return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
             }
 
-            // Get user to access their organization
-            User targetUser = new User();
-            targetUser.setId(userId);
-
-            // Calculate analytics based on contracts created by user OR in user's organization
-            List<Contract> userContracts = contractRepository.findByCreatedBy(userId);
-            List<Contract> orgContracts = contractRepository.findByToOrg(currentUser.getOrganization());
-
-            // Combine and deduplicate contracts
-            Map<Long, Contract> allContracts = new HashMap<>();
-            userContracts.forEach(c -> allContracts.put(c.getId(), c));
-            orgContracts.forEach(c -> allContracts.put(c.getId(), c));
-
-            long totalContractsCreated = userContracts.size();
-            long totalContractsApproved = userContracts.stream()
-                    .filter(c -> "APPROVED".equals(c.getStatus()))
-                    .count();
-            long totalContractsRejected = userContracts.stream()
-                    .filter(c -> "REJECTED".equals(c.getStatus()))
-                    .count();
-            long contractsPending = userContracts.stream()
-                    .filter(c -> "PENDING".equals(c.getStatus()))
-                    .count();
-
-            // Mock last login time (in real app, this would come from audit logs)
-            LocalDateTime lastLoginTime = LocalDateTime.now().minusDays(1);
+            // Contracts the user created, counted per status on every shard (they live on the receivers' shards)
+            Map<String, Long> createdByStatus = new HashMap<>();
+            for (List<Object[]> rows : shardRouter.scatter(() -> contractRepository.countByStatusForCreator(userId))) {
+                for (Object[] row : rows) {
+                    createdByStatus.merge((String) row[0], (Long) row[1], Long::sum);
+                }
+            }
+
+            long totalContractsCreated = createdByStatus.values().stream().mapToLong(Long::longValue).sum();
+            long totalContractsApproved = createdByStatus.getOrDefault("APPROVED", 0L);
+            long totalContractsRejected = createdByStatus.getOrDefault("REJECTED", 0L);
+            long contractsPending = createdByStatus.getOrDefault("PENDING", 0L);
+
+            // From the activity log; null if the user has not logged in since it was introduced
+            LocalDateTime lastLoginTime = activityLogService.getLastLogin(userId).orElse(null);
 
             Map<String, Object> analytics = new HashMap<>();
             analytics.put("totalContractsCreated", totalContractsCreated);
@@ -118,22 +114,22 @@ public class UserAnalyticsController {
             LocalDateTime monthStart = now.withDayOfMonth(1);
 
             // Today's activity count (approvals/rejections by this user)
-            long todayActivityCount = historyRepository.countByActorAndTimestampAfter(
-                    currentUser.getName(), todayStart);
+            long todayActivityCount = shardRouter.scatterSum(() -> historyRepository.countByActorAndTimestampAfter(
+                    currentUser.getName(), todayStart));
 
             // Month's activity count
-            long monthActivityCount = historyRepository.countByActorAndTimestampAfter(
-                    currentUser.getName(), monthStart);
+            long monthActivityCount = shardRouter.scatterSum(() -> historyRepository.countByActorAndTimestampAfter(
+                    currentUser.getName(), monthStart));
 
             // Notification counts
             long totalNotifications = notificationRepository.countByUserId(userId);
             long unreadNotifications = notificationRepository.countByUserIdAndIsReadFalse(userId);
 
             // Approval statistics
-            long approvalsCompleted = historyRepository.countByActorAndAction(
-                    currentUser.getName(), "APPROVED");
-            long approvalsPending = contractRepository.countByToOrgAndStatus(
-                    currentUser.getOrganization(), "PENDING");
+            long approvalsCompleted = shardRouter.scatterSum(() -> historyRepository.countByActorAndAction(
+                    currentUser.getName(), "APPROVED"));
+            long approvalsPending = shardRouter.forTenant(currentUser.getOrganization(),
+                    () -> contractRepository.countByToOrgAndStatus(currentUser.getOrganization(), "PENDING"));
 
             Map<String, Object> stats = new HashMap<>();
             stats.put("todayActivityCount", todayActivityCount);
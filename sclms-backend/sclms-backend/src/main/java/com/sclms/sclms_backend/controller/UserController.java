@@ -4,6 +4,8 @@ import com.sclms.sclms_backend.dto.OrganizationDto;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.service.OrganizationService;
 import com.sclms.sclms_backend.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -18,6 +20,8 @@ import java.util.Map;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     private final UserService userService;
     private final OrganizationService organizationService;
 
@@ -212,7 +216,7 @@ public class UserController {
             response.put("status", "received");
 
             // Log the feedback for admin review
-            System.out.println("Feedback received from user " + userId + ": " + feedbackData);
+            log.info("Feedback received from user {}: {}", userId, feedbackData);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
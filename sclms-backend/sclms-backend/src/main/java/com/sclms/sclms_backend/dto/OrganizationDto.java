@@ -1,6 +1,7 @@
 package com.sclms.sclms_backend.dto;
 
 public class OrganizationDto {
+    private Long id;
     private String name;
 
     public OrganizationDto() {}
@@ -9,6 +10,19 @@ public class OrganizationDto {
         this.name = name;
     }
 
+    public OrganizationDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
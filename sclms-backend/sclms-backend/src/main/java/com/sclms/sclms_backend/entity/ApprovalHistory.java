@@ -14,8 +14,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ApprovalHistory {
 
+    // Pooled table ids (blocks of 50) so Hibernate can batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "approval_history_ids")
+    @TableGenerator(name = "approval_history_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "approval_history", allocationSize = 50)
     private Long id;
 
     @Column(name = "contract_id", nullable = false)
@@ -5,10 +5,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+        @Index(name = "idx_contracts_from_org", columnList = "from_org_id"),
+        @Index(name = "idx_contracts_to_org", columnList = "to_org_id"),
+        // Keyset pages of the expiring-contracts report
+        @Index(name = "idx_contracts_expiry", columnList = "status, end_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +39,13 @@ public class Contract {
     @Column(nullable = false)
     private String toOrg;
 
+    // Registry ids of fromOrg / toOrg
+    @Column(name = "from_org_id")
+    private Long fromOrgId;
+
+    @Column(name = "to_org_id")
+    private Long toOrgId;
+
     @Column(nullable = false)
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime startDate;
@@ -80,6 +93,12 @@ public class Contract {
     @Column(name = "days_until_expiry")
     private Integer daysUntilExpiry;
 
+    // Optimistic lock: a save based on a stale read fails instead of overwriting a concurrent change
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Manual getters and setters for compilation compatibility
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -99,6 +118,12 @@ public class Contract {
     public String getToOrg() { return toOrg; }
     public void setToOrg(String toOrg) { this.toOrg = toOrg; }
 
+    public Long getFromOrgId() { return fromOrgId; }
+    public void setFromOrgId(Long fromOrgId) { this.fromOrgId = fromOrgId; }
+
+    public Long getToOrgId() { return toOrgId; }
+    public void setToOrgId(Long toOrgId) { this.toOrgId = toOrgId; }
+
     public LocalDateTime getStartDate() { return startDate; }
     public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
 
@@ -140,4 +165,7 @@ public class Contract {
 
     public Integer getDaysUntilExpiry() { return daysUntilExpiry; }
     public void setDaysUntilExpiry(Integer daysUntilExpiry) { this.daysUntilExpiry = daysUntilExpiry; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,68 @@
+package com.sclms.sclms_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A closed contract moved out of the hot tables. The contract, its approval history and its notifications
+ * are kept as one gzip-compressed JSON document; the columns next to it are only what is needed to find it.
+ */
+@Entity
+@Table(name = "contract_archive", indexes = {
+        @Index(name = "idx_contract_archive_to_org", columnList = "to_org"),
+        @Index(name = "idx_contract_archive_from_org", columnList = "from_org")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractArchive {
+
+    // Same id the contract had, so lookups and references keep working
+    @Id
+    @Column(name = "contract_id")
+    private Long contractId;
+
+    @Column(name = "from_org")
+    private String fromOrg;
+
+    @Column(name = "to_org")
+    private String toOrg;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    // Manual getters and setters for compilation compatibility
+    public Long getContractId() { return contractId; }
+    public void setContractId(Long contractId) { this.contractId = contractId; }
+
+    public String getFromOrg() { return fromOrg; }
+    public void setFromOrg(String fromOrg) { this.fromOrg = fromOrg; }
+
+    public String getToOrg() { return toOrg; }
+    public void setToOrg(String toOrg) { this.toOrg = toOrg; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getClosedAt() { return closedAt; }
+    public void setClosedAt(LocalDateTime closedAt) { this.closedAt = closedAt; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+}
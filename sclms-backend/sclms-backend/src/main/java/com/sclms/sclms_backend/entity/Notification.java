@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
@@ -14,8 +15,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification {
 
+    // Pooled table ids (blocks of 50) so Hibernate can batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_ids")
+    @TableGenerator(name = "notification_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notifications", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -45,9 +49,10 @@ public class Notification {
     @JsonIgnore
     private User user;
 
-    // Optional: Link to contract for easier queries
+    // Optional: Link to contract for easier queries (no FK: the contract may live on another shard)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "contract_id", insertable = false, updatable = false)
+    @JoinColumn(name = "contract_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonIgnore
     private Contract contract;
 
@@ -71,6 +76,7 @@ public class Notification {
     public void setType(String type) { this.type = type; }
 
     public boolean isRead() { return isRead; }
+    @JsonProperty("read") // same name as the isRead() getter, so archived notifications round-trip
     public void setIsRead(boolean isRead) { this.isRead = isRead; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
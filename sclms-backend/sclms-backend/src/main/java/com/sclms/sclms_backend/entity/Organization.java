@@ -0,0 +1,42 @@
+package com.sclms.sclms_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "organizations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Organization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Shard holding the contracts this organization receives (null = directory shard)
+    @Column(name = "shard_id")
+    private Integer shardId;
+
+    // Manual getters and setters for compilation compatibility
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Integer getShardId() { return shardId; }
+    public void setShardId(Integer shardId) { this.shardId = shardId; }
+}
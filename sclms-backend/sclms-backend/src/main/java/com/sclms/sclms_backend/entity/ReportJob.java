@@ -0,0 +1,141 @@
+package com.sclms.sclms_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One requested report. The row is the job's state as seen by every instance: workers write status and
+ * progress to it while they run, and cancellation is requested by setting cancel_requested.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_jobs_status", columnList = "status"),
+        @Index(name = "idx_report_jobs_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+
+    @Id
+    @Column(length = 40)
+    private String id;
+
+    @Column(name = "report_type", nullable = false, length = 40)
+    private String reportType;
+
+    @Column(nullable = false, length = 10)
+    private String format;
+
+    // QUEUED, RUNNING, COMPLETED, FAILED or CANCELLED
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    // Percent, 0-100
+    @Column(nullable = false)
+    private Integer progress = 0;
+
+    @Column(name = "rows_written", nullable = false)
+    private Long rowsWritten = 0L;
+
+    @Column(name = "total_rows")
+    private Long totalRows;
+
+    @Column(name = "range_from")
+    private LocalDateTime rangeFrom;
+
+    @Column(name = "range_to")
+    private LocalDateTime rangeTo;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private Boolean cancelRequested = false;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Touched with every progress write; a RUNNING job that stops being touched was lost with its node
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Manual getters and setters for compilation compatibility
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public Long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(Long rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public Long getTotalRows() { return totalRows; }
+    public void setTotalRows(Long totalRows) { this.totalRows = totalRows; }
+
+    public LocalDateTime getRangeFrom() { return rangeFrom; }
+    public void setRangeFrom(LocalDateTime rangeFrom) { this.rangeFrom = rangeFrom; }
+
+    public LocalDateTime getRangeTo() { return rangeTo; }
+    public void setRangeTo(LocalDateTime rangeTo) { this.rangeTo = rangeTo; }
+
+    public Long getRequestedBy() { return requestedBy; }
+    public void setRequestedBy(Long requestedBy) { this.requestedBy = requestedBy; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public Boolean getCancelRequested() { return cancelRequested; }
+    public void setCancelRequested(Boolean cancelRequested) { this.cancelRequested = cancelRequested; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
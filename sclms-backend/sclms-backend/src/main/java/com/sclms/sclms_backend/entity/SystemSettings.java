@@ -172,6 +172,10 @@ public class SystemSettings {
     @Column(name = "updated_by")
     private Long updatedBy;
 
+    // Incremented on every change so other instances can detect it by reading this one column
+    @Column(name = "settings_version")
+    private Long settingsVersion = 0L;
+
     @PrePersist
     public void prePersist() {
         createdAt = LocalDateTime.now();
@@ -333,4 +337,7 @@ public class SystemSettings {
 
     public Long getUpdatedBy() { return updatedBy; }
     public void setUpdatedBy(Long updatedBy) { this.updatedBy = updatedBy; }
+
+    public Long getSettingsVersion() { return settingsVersion; }
+    public void setSettingsVersion(Long settingsVersion) { this.settingsVersion = settingsVersion; }
 }
@@ -7,7 +7,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_organization", columnList = "organization_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +39,10 @@ public class User {
     @Column(nullable = false)
     private String organization;
 
+    // Registry id of the organization; the name above is kept for display and token claims
+    @Column(name = "organization_id")
+    private Long organizationId;
+
     @Column(name = "created_date")
     private String createdDate;
 
@@ -121,6 +127,9 @@ public class User {
     public String getOrganization() { return organization; }
     public void setOrganization(String organization) { this.organization = organization; }
 
+    public Long getOrganizationId() { return organizationId; }
+    public void setOrganizationId(Long organizationId) { this.organizationId = organizationId; }
+
     public String getCreatedDate() { return createdDate; }
     public void setCreatedDate(String createdDate) { this.createdDate = createdDate; }
 
@@ -0,0 +1,80 @@
+package com.sclms.sclms_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only audit entry: one login, logout or contract action by a user. Rows are written in batches by
+ * ActivityLogService and never updated. Ids grow in write order, so pages are read by id (keyset), not by
+ * offset.
+ */
+@Entity
+@Table(name = "user_activity", indexes = {
+        @Index(name = "idx_user_activity_user", columnList = "user_id, id"),
+        @Index(name = "idx_user_activity_action", columnList = "action, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null for failed logins with an unknown email
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(length = 255)
+    private String actor; // email
+
+    @Column(nullable = false, length = 40)
+    private String action; // LOGIN, LOGIN_FAILED, LOGOUT, CREATE_CONTRACT, VIEW_CONTRACT, APPROVE_CONTRACT, ...
+
+    @Column(name = "contract_id")
+    private Long contractId;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 255)
+    private String userAgent;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Manual getters and setters for compilation compatibility
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getActor() { return actor; }
+    public void setActor(String actor) { this.actor = actor; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Long getContractId() { return contractId; }
+    public void setContractId(Long contractId) { this.contractId = contractId; }
+
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public String getUserAgent() { return userAgent; }
+    public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
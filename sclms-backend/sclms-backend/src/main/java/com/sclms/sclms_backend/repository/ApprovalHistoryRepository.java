@@ -1,13 +1,19 @@
 package com.sclms.sclms_backend.repository;
 
 import com.sclms.sclms_backend.entity.ApprovalHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApprovalHistoryRepository extends JpaRepository<ApprovalHistory, Long> {
@@ -15,11 +21,12 @@ public interface ApprovalHistoryRepository extends JpaRepository<ApprovalHistory
     // Basic queries
     List<ApprovalHistory> findByContractIdOrderByTimestampAsc(Long contractId);
     List<ApprovalHistory> findByContractIdOrderByTimestampDesc(Long contractId);
+    List<ApprovalHistory> findByContractIdIn(Collection<Long> contractIds);
 
     // Actor-based queries
     List<ApprovalHistory> findByActor(String actor);
     List<ApprovalHistory> findByActorRole(String actorRole);
-    List<ApprovalHistory> findByActorRoleAndActorOrderByTimestampDesc(String actorRole, String actor);
+    List<ApprovalHistory> findByActorRoleAndActorOrderByTimestampDescIdDesc(String actorRole, String actor, Pageable page);
 
     // Action-based queries
     List<ApprovalHistory> findByAction(String action);
@@ -43,6 +50,15 @@ public interface ApprovalHistoryRepository extends JpaRepository<ApprovalHistory
     @Query("SELECT COUNT(h) FROM ApprovalHistory h WHERE h.actor = :actor AND h.action = :action")
     long countByActorAndAction(@Param("actor") String actor, @Param("action") String action);
 
+    // Export (one shard at a time); null filters match everything
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM ApprovalHistory h WHERE (:action IS NULL OR h.action = :action) " +
+           "AND (:since IS NULL OR h.timestamp >= :since) ORDER BY h.id")
+    Stream<ApprovalHistory> streamForExport(@Param("action") String action, @Param("since") LocalDateTime since);
+
     // Recent activities
     List<ApprovalHistory> findTop50ByOrderByTimestampDesc();
     List<ApprovalHistory> findTop20ByActorRoleOrderByTimestampDesc(String actorRole);
@@ -0,0 +1,9 @@
+package com.sclms.sclms_backend.repository;
+
+import com.sclms.sclms_backend.entity.ContractArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContractArchiveRepository extends JpaRepository<ContractArchive, Long> {
+}
@@ -1,13 +1,20 @@
 package com.sclms.sclms_backend.repository;
 
 import com.sclms.sclms_backend.entity.Contract;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContractRepository extends JpaRepository<Contract, Long> {
@@ -16,12 +23,17 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     List<Contract> findByStatus(String status);
     long countByStatus(String status);
     List<Contract> findByCreatedBy(Long userId);
+
+    // [status, count] of the contracts a user created
+    @Query("SELECT c.status, COUNT(c) FROM Contract c WHERE c.createdBy = :userId GROUP BY c.status")
+    List<Object[]> countByStatusForCreator(@Param("userId") Long userId);
     List<Contract> findByApprovedBy(Long userId);
 
     // Organization-based queries
     List<Contract> findByFromOrg(String fromOrg);
     List<Contract> findByToOrg(String toOrg);
-    List<Contract> findByFromOrgOrToOrgOrderByCreatedDateDesc(String fromOrg, String toOrg);
+    // Newest first, id breaking ties so pages merged across shards come out the same every time
+    List<Contract> findByFromOrgOrToOrgOrderByCreatedDateDescIdDesc(String fromOrg, String toOrg, Pageable page);
 
     // Status and organization combined
     List<Contract> findByToOrgAndStatusOrderByCreatedDateDesc(String toOrg, String status);
@@ -46,6 +58,13 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     @Query("SELECT COUNT(c) FROM Contract c WHERE c.status = :status AND c.createdDate >= :since")
     long countByStatusAndCreatedDateAfter(@Param("status") String status, @Param("since") LocalDateTime since);
 
+    // [status, count] in one scan instead of one count per status
+    @Query("SELECT c.status, COUNT(c) FROM Contract c WHERE c.createdDate >= :since GROUP BY c.status")
+    List<Object[]> countByStatusCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT c.status, COUNT(c) FROM Contract c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+
     @Query("SELECT COUNT(c) FROM Contract c WHERE c.toOrg = :org AND c.status = :status")
     long countByToOrgAndStatus(@Param("org") String org, @Param("status") String status);
 
@@ -53,7 +72,86 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     @Query("SELECT c FROM Contract c WHERE c.endDate <= :futureDate AND c.status = 'APPROVED'")
     List<Contract> findExpiringContracts(@Param("futureDate") LocalDateTime futureDate);
 
+    // Atomic decision: only succeeds while the contract is still PENDING; returns the number of rows changed.
+    // Load the contract only after calling this: the persistence context is not refreshed.
+    @Modifying
+    @Query("UPDATE Contract c SET c.status = :status, c.approverComments = :comment, " +
+           "c.rejectionReason = :reason, c.approvedBy = :approver, c.approvedDate = :decidedAt, " +
+           "c.version = c.version + 1 WHERE c.id = :id AND c.status = 'PENDING'")
+    int transitionFromPending(@Param("id") Long id, @Param("status") String status,
+                              @Param("comment") String comment, @Param("reason") String reason,
+                              @Param("approver") Long approver, @Param("decidedAt") LocalDateTime decidedAt);
+
+    // Set-based variant for bulk decisions; rows no longer PENDING are left untouched
+    @Modifying
+    @Query("UPDATE Contract c SET c.status = :status, c.approverComments = :comment, " +
+           "c.rejectionReason = :reason, c.approvedBy = :approver, c.approvedDate = :decidedAt, " +
+           "c.version = c.version + 1 WHERE c.id IN :ids AND c.status = 'PENDING' " +
+           "AND (:org IS NULL OR c.toOrg = :org)")
+    int transitionAllFromPending(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                                 @Param("comment") String comment, @Param("reason") String reason,
+                                 @Param("approver") Long approver, @Param("decidedAt") LocalDateTime decidedAt,
+                                 @Param("org") String org);
+
+    // [toOrg, count] of contracts waiting for approval, per receiving organization
+    @Query("SELECT c.toOrg, COUNT(c) FROM Contract c WHERE c.status = 'PENDING' GROUP BY c.toOrg")
+    List<Object[]> countPendingByToOrg();
+
+    // [id, status] pairs of the contracts addressed to org (any org when null), without loading the entities
+    @Query("SELECT c.id, c.status FROM Contract c WHERE c.id IN :ids AND (:org IS NULL OR c.toOrg = :org)")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids, @Param("org") String org);
+
+    // Export (one shard at a time); null filters match everything
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Contract c WHERE (:status IS NULL OR c.status = :status) " +
+           "AND (:org IS NULL OR c.fromOrg = :org OR c.toOrg = :org) " +
+           "AND (:since IS NULL OR c.createdDate >= :since) ORDER BY c.id")
+    Stream<Contract> streamForExport(@Param("status") String status, @Param("org") String org,
+                                     @Param("since") LocalDateTime since);
+
+    // Report streams (see ReportService); ranges are [from, to)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Contract c WHERE c.createdDate >= :from AND c.createdDate < :to ORDER BY c.id")
+    Stream<Contract> streamCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COUNT(c) FROM Contract c WHERE c.createdDate >= :from AND c.createdDate < :to")
+    long countCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Contract c WHERE c.approvedBy IS NOT NULL AND c.status IN ('APPROVED', 'REJECTED') " +
+           "AND c.approvedDate >= :from AND c.approvedDate < :to ORDER BY c.id")
+    Stream<Contract> streamDecidedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COUNT(c) FROM Contract c WHERE c.approvedBy IS NOT NULL AND c.status IN ('APPROVED', 'REJECTED') " +
+           "AND c.approvedDate >= :from AND c.approvedDate < :to")
+    long countDecidedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Keyset page of the expiry order: contracts after (afterEnd, afterId) that end before :to
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Contract c WHERE c.status = 'APPROVED' AND c.endDate < :to " +
+           "AND (c.endDate > :afterEnd OR (c.endDate = :afterEnd AND c.id > :afterId)) ORDER BY c.endDate, c.id")
+    List<Contract> findExpiringAfter(@Param("afterEnd") LocalDateTime afterEnd, @Param("afterId") Long afterId,
+                                     @Param("to") LocalDateTime to, Pageable page);
+
+    @Query("SELECT COUNT(c) FROM Contract c WHERE c.status = 'APPROVED' AND c.endDate >= :from AND c.endDate < :to")
+    long countExpiringBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Closed before the cutoff: rejected, or past their end date (pending contracts are never archived)
+    @Query("SELECT c.id FROM Contract c WHERE " +
+           "(c.status = 'REJECTED' AND c.approvedDate < :cutoff) OR " +
+           "(c.status <> 'PENDING' AND c.endDate < :cutoff) ORDER BY c.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
     // Recent contracts
-    List<Contract> findTop10ByOrderByCreatedDateDesc();
+    List<Contract> findAllByOrderByCreatedDateDescIdDesc(Pageable page);
     List<Contract> findTop20ByStatusOrderByCreatedDateDesc(String status);
 }
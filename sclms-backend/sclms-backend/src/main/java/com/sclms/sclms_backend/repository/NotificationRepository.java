@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,6 +20,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(Long userId, Boolean isRead);
     List<Notification> findByType(String type);
     List<Notification> findByContractId(Long contractId);
+    List<Notification> findByContractIdIn(Collection<Long> contractIds);
 
     // User-specific queries
     List<Notification> findByUserIdAndTypeOrderByCreatedAtDesc(Long userId, String type);
@@ -34,6 +36,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     // Count queries
     long countByUserIdAndIsReadFalse(Long userId);
+    long countByIsReadFalse();
     long countByUserId(Long userId);
     long countByType(String type);
 
@@ -0,0 +1,18 @@
+package com.sclms.sclms_backend.repository;
+
+import com.sclms.sclms_backend.entity.Organization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrganizationRepository extends JpaRepository<Organization, Long> {
+
+    Optional<Organization> findByName(String name);
+
+    // Organizations are only ever added, so the highest id doubles as the directory version
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Organization o")
+    long findMaxId();
+}
@@ -0,0 +1,39 @@
+package com.sclms.sclms_backend.repository;
+
+import com.sclms.sclms_backend.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    List<ReportJob> findTop50ByOrderByCreatedAtDesc();
+
+    List<ReportJob> findByStatusInAndUpdatedAtBefore(Collection<String> statuses, LocalDateTime before);
+
+    List<ReportJob> findByStatusInAndFinishedAtBefore(Collection<String> statuses, LocalDateTime before);
+
+    @Query("SELECT j.cancelRequested FROM ReportJob j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.progress = :progress, j.rowsWritten = :rows, j.updatedAt = :now WHERE j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("progress") int progress, @Param("rows") long rows,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.cancelRequested = true WHERE j.id = :id")
+    int requestCancel(@Param("id") String id);
+
+    // Heartbeat for the jobs a live node still holds, so they are not swept up as stale
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.updatedAt = :now WHERE j.id IN :ids")
+    int touch(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+}
@@ -2,9 +2,21 @@ package com.sclms.sclms_backend.repository;
 
 import com.sclms.sclms_backend.entity.SystemSettings;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface SystemSettingsRepository extends JpaRepository<SystemSettings, Long> {
-    // Custom query methods can be added here if needed
+
+    @Query("SELECT COALESCE(s.settingsVersion, 0) FROM SystemSettings s WHERE s.id = :id")
+    Optional<Long> findSettingsVersion(@Param("id") Long id);
+
+    // Atomic so concurrent updates from different instances always end on distinct versions
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SystemSettings s SET s.settingsVersion = COALESCE(s.settingsVersion, 0) + 1 WHERE s.id = :id")
+    int incrementSettingsVersion(@Param("id") Long id);
 }
@@ -0,0 +1,24 @@
+package com.sclms.sclms_backend.repository;
+
+import com.sclms.sclms_backend.entity.UserActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// Keyset pages: newest first, the next page starts below the last id of the previous one
+@Repository
+public interface UserActivityRepository extends JpaRepository<UserActivity, Long> {
+
+    List<UserActivity> findByUserIdOrderByIdDesc(Long userId, Pageable page);
+
+    List<UserActivity> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable page);
+
+    List<UserActivity> findByActionOrderByIdDesc(String action, Pageable page);
+
+    List<UserActivity> findByActionAndIdLessThanOrderByIdDesc(String action, Long beforeId, Pageable page);
+
+    Optional<UserActivity> findFirstByUserIdAndActionOrderByIdDesc(Long userId, String action);
+}
@@ -1,13 +1,17 @@
 package com.sclms.sclms_backend.repository;
 
 import com.sclms.sclms_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -33,4 +37,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRole(String role);
 
     long countByStatus(String status);
+
+    // Export: rows are fetched in pages of 500 and streamed; null filters match everything
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u WHERE (:status IS NULL OR u.status = :status) " +
+           "AND (:role IS NULL OR u.role = :role) ORDER BY u.id")
+    Stream<User> streamForExport(@Param("status") String status, @Param("role") String role);
 }
@@ -2,6 +2,7 @@ package com.sclms.sclms_backend.security;
 
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,12 +24,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Request attribute holding the token subject, picked up by the access log
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = "sclms.authenticatedUser";
+
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository,
+                                   TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -42,23 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String method = request.getMethod();
         final String authHeader = request.getHeader("Authorization");
 
-        // =========================
-        // Log basic request context
-        // =========================
-        String username = "anonymous";
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            try {
-                username = jwtUtil.extractUsername(authHeader.substring(7));
-            } catch (Exception ignored) {
-                username = "invalid-token";
-            }
-        }
-
-        log.info("🔎 REQUEST: {} {} | user={} | path={}", method, requestURI, username, requestURI);
-
         // =========================
         // If no token → skip auth
+        // (every request is recorded by AccessLogFilter)
         // =========================
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -67,50 +60,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String token = authHeader.substring(7);
 
+        // Verify signature + expiry once; every claim below is read from this parse
+        Claims claims;
         try {
-            username = jwtUtil.extractUsername(token);
+            claims = jwtUtil.parseClaims(token);
+        } catch (Exception ex) {
+            log.warn("⚠️ JWT rejected | reason={} | endpoint={}", ex.getMessage(), requestURI);
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        String username = claims.getSubject();
+        request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, username);
+
+        try {
             boolean notAlreadyAuthenticated =
                     SecurityContextHolder.getContext().getAuthentication() == null;
 
-            if (username != null && notAlreadyAuthenticated && jwtUtil.validateToken(token, username)) {
+            Long tokenUserId = claims.get("userId", Long.class);
+
+            if (username == null || !notAlreadyAuthenticated) {
+                log.warn("⚠️ JWT rejected | user={} | endpoint={}", username, requestURI);
+            } else if (tokenRevocationService.isRevoked(claims.getId(), tokenUserId,
+                    claims.get(JwtUtil.ISSUED_AT_MILLIS_CLAIM, Long.class), claims.getIssuedAt())) {
+                log.warn("❌ JWT revoked | user={} | endpoint={}", username, requestURI);
+            } else {
 
-                Optional<User> userOpt = userRepository.findByEmail(username);
+                // Tokens issued by generateToken(User) carry the full principal; older tokens fall back to the DB
+                User user = principalFromClaims(claims, username, tokenUserId);
+                if (user == null) {
+                    user = userRepository.findByEmail(username).orElse(null);
+                }
 
-                if (userOpt.isEmpty()) {
+                if (user == null) {
                     log.warn("❌ JWT user not found in DB: {}", username);
                 } else {
 
-                    User user = userOpt.get();
-
                     // ===========================================
                     // READ ROLES — support multiple claim formats
                     // ===========================================
                     Set<String> roles = new HashSet<>();
 
                     // 1) roles[]
-                    List<String> claimRoles = jwtUtil.extractClaim(token, claims ->
-                            claims.get("roles", List.class));
-
-                    if (claimRoles != null) {
-                        roles.addAll(claimRoles);
-                    }
+                    roles.addAll(stringList(claims, "roles"));
 
                     // 2) role (single)
-                    String singleRole = jwtUtil.extractClaim(token, claims ->
-                            claims.get("role", String.class));
+                    String singleRole = claims.get("role", String.class);
 
                     if (singleRole != null) {
                         roles.add(singleRole);
                     }
 
                     // 3) authorities[]
-                    List<String> authorities = jwtUtil.extractClaim(token, claims ->
-                            claims.get("authorities", List.class));
-
-                    if (authorities != null) {
-                        roles.addAll(authorities);
-                    }
+                    roles.addAll(stringList(claims, "authorities"));
 
                     // 4) Fallback to DB role
                     if (roles.isEmpty() && user.getRole() != null) {
@@ -135,19 +137,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    log.info("✅ AUTH OK | user={} | roles={} | endpoint={}",
+                    log.debug("✅ AUTH OK | user={} | roles={} | endpoint={}",
                             user.getEmail(),
                             grantedAuthorities,
                             requestURI
                     );
                 }
-
-            } else {
-                log.warn("⚠️ JWT rejected | user={} | validToken={} | endpoint={}",
-                        username,
-                        jwtUtil.validateToken(token, username),
-                        requestURI
-                );
             }
 
         } catch (Exception ex) {
@@ -156,4 +151,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Build a detached principal from token claims. Endpoints that need the full
+    // user record (password, 2FA secret, preferences) load it by id themselves.
+    private User principalFromClaims(Claims claims, String email, Long userId) {
+        String name = claims.get("name", String.class);
+        String organization = claims.get("org", String.class);
+        String role = claims.get("role", String.class);
+
+        if (userId == null || name == null || organization == null || role == null) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setName(name);
+        user.setOrganization(organization);
+        user.setRole(role);
+        // Only approved accounts get tokens; rejecting, locking or a password change revokes them
+        user.setStatus("APPROVED");
+        return user;
+    }
+
+    // A list claim as strings; absent or not a list reads as empty
+    private static List<String> stringList(Claims claims, String name) {
+        Object value = claims.get(name);
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+    }
 }
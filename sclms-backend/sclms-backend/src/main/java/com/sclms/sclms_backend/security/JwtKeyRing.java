@@ -0,0 +1,325 @@
+package com.sclms.sclms_backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.*;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * RSA key ring used to sign and verify access tokens.
+ *
+ * Keys are read from {@code jwt.rsa.keys-dir}: every {@code <kid>.pem} file holds a PKCS#8 private
+ * key, every {@code <kid>.pub.pem} file a verify-only public key (a retired key whose tokens may
+ * still be in flight). The active signing key is {@code jwt.rsa.active-kid}, or the most recently
+ * modified private key. The directory is re-scanned periodically, so a key can be rotated by
+ * publishing the new key, switching the active kid, and deleting the old key once its tokens have
+ * expired. Public keys are parsed once per scan and the verifying parser is rebuilt only when the
+ * key set changes.
+ *
+ * Startup fails if a configured keys-dir has no active key. Without keys-dir an ephemeral key pair is
+ * generated, but only under the dev or test profile: its tokens die with the process and never verify
+ * on another node.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test");
+
+    private final Environment environment;
+
+    @Value("${jwt.rsa.keys-dir:}")
+    private String keysDir;
+
+    @Value("${jwt.rsa.active-kid:}")
+    private String configuredActiveKid;
+
+    // Tokens issued before the switch to RS256 carry no kid and are HS256-signed with the old secret. They
+    // are accepted only when both the secret and a cut-off are configured, and only until the cut-off.
+    @Value("${jwt.legacy-hs256.secret:}")
+    private String legacySecret;
+
+    @Value("${jwt.legacy-hs256.accept-until:}")
+    private String legacyAcceptUntil;
+
+    // The HS256 secret that shipped in application.properties; anyone can sign with it
+    private static final String PUBLISHED_DEFAULT_SECRET =
+            "your-super-secret-jwt-key-change-this-in-production-12345678901234567890123456789012";
+
+    private volatile KeySet current;
+    private volatile String scannedFingerprint;
+    private KeyPair ephemeralKeyPair;
+    private String ephemeralKid;
+
+    public JwtKeyRing(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.rsa.reload-interval:60000}")
+    public synchronized void reload() {
+        try {
+            List<Path> files = listKeyFiles();
+            String fingerprint = fingerprint(files);
+            if (current != null && fingerprint.equals(scannedFingerprint)) {
+                return;
+            }
+
+            Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+            Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+            String newestKid = null;
+            long newestModified = Long.MIN_VALUE;
+
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pub.pem")) {
+                    String kid = name.substring(0, name.length() - ".pub.pem".length());
+                    publicKeys.putIfAbsent(kid, readPublicKey(file));
+                } else {
+                    String kid = name.substring(0, name.length() - ".pem".length());
+                    RSAPrivateCrtKey privateKey = readPrivateKey(file);
+                    privateKeys.put(kid, privateKey);
+                    publicKeys.put(kid, derivePublicKey(privateKey));
+                    long modified = Files.getLastModifiedTime(file).toMillis();
+                    if (modified > newestModified) {
+                        newestModified = modified;
+                        newestKid = kid;
+                    }
+                }
+            }
+
+            String activeKid = !configuredActiveKid.isBlank() ? configuredActiveKid : newestKid;
+            PrivateKey activeKey = activeKid != null ? privateKeys.get(activeKid) : null;
+
+            if (activeKey == null) {
+                // Thrown at startup; on a later reload the previous keys stay in use (see below)
+                if (keysDir != null && !keysDir.isBlank()) {
+                    throw new IllegalStateException(activeKid != null
+                            ? "Active JWT key '" + activeKid + "' not found in " + keysDir
+                            : "No JWT signing key in " + keysDir);
+                }
+                if (!environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES)) {
+                    throw new IllegalStateException("No JWT signing keys configured: set jwt.rsa.keys-dir "
+                            + "(an ephemeral key is only allowed under the dev or test profile)");
+                }
+                log.warn("⚠️ No JWT signing keys configured (jwt.rsa.keys-dir) - using an ephemeral key pair; tokens will not survive a restart or verify on other nodes");
+                KeyPair ephemeral = ephemeralKeyPair();
+                activeKid = ephemeralKid;
+                activeKey = ephemeral.getPrivate();
+                publicKeys.put(activeKid, (RSAPublicKey) ephemeral.getPublic());
+            }
+
+            current = new KeySet(activeKid, activeKey, publicKeys, legacyVerifier());
+            scannedFingerprint = fingerprint;
+            log.info("✅ JWT key ring loaded | activeKid={} | verificationKids={}", activeKid, publicKeys.keySet());
+
+        } catch (Exception e) {
+            if (current == null) {
+                throw new IllegalStateException("Could not load JWT signing keys", e);
+            }
+            log.error("❌ JWT key ring reload failed, keeping previous keys: {}", e.getMessage());
+        }
+    }
+
+    public String getActiveKeyId() {
+        return current.activeKid;
+    }
+
+    // Signs with the active key and stamps its kid, read from one snapshot so both always match
+    public JwtBuilder sign(JwtBuilder builder) {
+        KeySet keys = current;
+        return builder.setHeaderParam(JwsHeader.KEY_ID, keys.activeKid)
+                .signWith(keys.activeKey, SignatureAlgorithm.RS256);
+    }
+
+    public JwtParser parser() {
+        return current.parser;
+    }
+
+    // Public keys in JWK format, published at the JWKS endpoint
+    public List<Map<String, Object>> getJwks() {
+        return current.jwks;
+    }
+
+    // =========================================================
+    // KEY LOADING
+    // =========================================================
+
+    private List<Path> listKeyFiles() throws IOException {
+        if (keysDir == null || keysDir.isBlank()) {
+            return List.of();
+        }
+        Path dir = Paths.get(keysDir);
+        if (!Files.isDirectory(dir)) {
+            log.warn("⚠️ jwt.rsa.keys-dir {} does not exist", keysDir);
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(".pem"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String fingerprint(List<Path> files) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Path file : files) {
+            sb.append(file.getFileName()).append(':').append(Files.getLastModifiedTime(file).toMillis()).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static RSAPrivateCrtKey readPrivateKey(Path file) throws IOException, GeneralSecurityException {
+        byte[] der = decodePem(Files.readString(file, StandardCharsets.US_ASCII), "PRIVATE KEY");
+        PrivateKey key = KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der));
+        if (!(key instanceof RSAPrivateCrtKey crtKey)) {
+            throw new GeneralSecurityException(file + " is not an RSA private key");
+        }
+        return crtKey;
+    }
+
+    private static RSAPublicKey readPublicKey(Path file) throws IOException, GeneralSecurityException {
+        byte[] der = decodePem(Files.readString(file, StandardCharsets.US_ASCII), "PUBLIC KEY");
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+    }
+
+    private static RSAPublicKey derivePublicKey(RSAPrivateCrtKey privateKey) throws GeneralSecurityException {
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent());
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+    }
+
+    private static byte[] decodePem(String pem, String type) {
+        String body = pem.replace("-----BEGIN " + type + "-----", "")
+                .replace("-----END " + type + "-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private KeyPair ephemeralKeyPair() {
+        if (ephemeralKeyPair == null) {
+            ephemeralKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+            ephemeralKid = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        return ephemeralKeyPair;
+    }
+
+    // Null (legacy tokens rejected) unless jwt.legacy-hs256.secret and a future accept-until are set
+    private LegacyVerifier legacyVerifier() {
+        if (legacySecret == null || legacySecret.isBlank()) {
+            return null;
+        }
+        if (legacySecret.equals(PUBLISHED_DEFAULT_SECRET)) {
+            log.error("❌ jwt.legacy-hs256.secret is the secret once committed to the repository - legacy HS256 tokens stay rejected");
+            return null;
+        }
+        if (legacyAcceptUntil == null || legacyAcceptUntil.isBlank()) {
+            log.warn("⚠️ jwt.legacy-hs256.secret is set without jwt.legacy-hs256.accept-until - legacy HS256 tokens stay rejected");
+            return null;
+        }
+        Instant until = Instant.parse(legacyAcceptUntil.trim());
+        if (!until.isAfter(Instant.now())) {
+            return null;
+        }
+        return new LegacyVerifier(Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8)), until);
+    }
+
+    private record LegacyVerifier(Key key, Instant acceptUntil) {
+    }
+
+    // =========================================================
+    // IMMUTABLE SNAPSHOT
+    // =========================================================
+
+    private static final class KeySet {
+        private final String activeKid;
+        private final PrivateKey activeKey;
+        private final Map<String, RSAPublicKey> publicKeys;
+        private final List<Map<String, Object>> jwks;
+        private final JwtParser parser;
+
+        private KeySet(String activeKid, PrivateKey activeKey, Map<String, RSAPublicKey> publicKeys, LegacyVerifier legacy) {
+            this.activeKid = activeKid;
+            this.activeKey = activeKey;
+            this.publicKeys = Map.copyOf(publicKeys);
+
+            List<Map<String, Object>> keys = new ArrayList<>();
+            publicKeys.forEach((kid, key) -> keys.add(toJwk(kid, key)));
+            this.jwks = List.copyOf(keys);
+
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            String kid = header.getKeyId();
+                            if (kid != null) {
+                                Key key = KeySet.this.publicKeys.get(kid);
+                                if (key == null) {
+                                    throw new SignatureException("Unknown signing key id: " + kid);
+                                }
+                                return key;
+                            }
+                            if (legacy != null && Instant.now().isBefore(legacy.acceptUntil())
+                                    && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                                return legacy.key();
+                            }
+                            throw new SignatureException("Token has no key id");
+                        }
+                    })
+                    .build();
+        }
+
+        private static Map<String, Object> toJwk(String kid, RSAPublicKey key) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.RS256.getValue());
+            jwk.put("kid", kid);
+            jwk.put("n", base64Url(key.getModulus()));
+            jwk.put("e", base64Url(key.getPublicExponent()));
+            return Collections.unmodifiableMap(jwk);
+        }
+
+        private static String base64Url(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            // Drop the sign byte BigInteger adds when the top bit is set
+            if (bytes.length > 1 && bytes[0] == 0) {
+                bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
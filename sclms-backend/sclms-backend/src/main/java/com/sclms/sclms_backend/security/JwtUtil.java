@@ -1,26 +1,31 @@
 package com.sclms.sclms_backend.security;
 
+import com.sclms.sclms_backend.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Issue time in epoch millis; iat has only second precision, too coarse to order a token against a
+    // revocation in the same second
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatMillis";
 
-    private static final int JWT_EXPIRATION = 1000 * 60 * 60 * 24; // 24 hours
+    private final JwtKeyRing keyRing;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Access tokens are short-lived; long sessions are kept alive through refresh tokens
+    @Value("${jwt.expiration:900000}")
+    private long accessTokenExpiration; // 15 minutes
+
+    public JwtUtil(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
     }
 
     public String extractUsername(String token) {
@@ -36,10 +41,16 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Parses and verifies the token once. Throws if the signature is invalid or the token has expired.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        // Cached parser; resolves the verification key from the token's kid header
+        return keyRing.parser()
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -55,18 +66,37 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Generates an access token carrying everything the request filter needs to build the principal,
+     * so authenticated requests don't have to load the user from the database.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", user.getRole());
+        claims.put("userId", user.getId());
+        claims.put("name", user.getName());
+        claims.put("org", user.getOrganization());
+        return createToken(claims, user.getEmail());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        long now = System.currentTimeMillis();
+        claims.put(ISSUED_AT_MILLIS_CLAIM, now);
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenExpiration));
+        return keyRing.sign(builder).compact();
     }
 
     public Boolean validateToken(String token, String username) {
         final String extractedUsername = extractUsername(token);
         return (extractedUsername.equals(username) && !isTokenExpired(token));
     }
+
+    public long getAccessTokenExpiration() {
+        return accessTokenExpiration;
+    }
 }
@@ -0,0 +1,91 @@
+package com.sclms.sclms_backend.security;
+
+import com.sclms.sclms_backend.entity.SystemSettings;
+
+import java.util.Locale;
+
+/**
+ * Immutable password policy compiled from {@link SystemSettings}.
+ * Character-class requirements are checked in a single pass over the password, without regex.
+ */
+public final class PasswordPolicy {
+
+    private static final int DEFAULT_MIN_LENGTH = 8;
+
+    private final int minLength;
+    private final boolean requireUppercase;
+    private final boolean requireNumbers;
+    private final boolean requireSpecialChars;
+    private final BloomFilter breachedPasswords;
+
+    private PasswordPolicy(int minLength, boolean requireUppercase, boolean requireNumbers,
+                           boolean requireSpecialChars, BloomFilter breachedPasswords) {
+        this.minLength = minLength;
+        this.requireUppercase = requireUppercase;
+        this.requireNumbers = requireNumbers;
+        this.requireSpecialChars = requireSpecialChars;
+        this.breachedPasswords = breachedPasswords;
+    }
+
+    public static PasswordPolicy from(SystemSettings settings, BloomFilter breachedPasswords) {
+        return new PasswordPolicy(
+                settings.getPasswordMinLength() != null ? settings.getPasswordMinLength() : DEFAULT_MIN_LENGTH,
+                Boolean.TRUE.equals(settings.getPasswordRequireUppercase()),
+                Boolean.TRUE.equals(settings.getPasswordRequireNumbers()),
+                Boolean.TRUE.equals(settings.getPasswordRequireSpecialChars()),
+                breachedPasswords);
+    }
+
+    // Throws IllegalArgumentException with the first rule the password breaks
+    public void validate(String password) {
+        if (password == null || password.length() < minLength) {
+            throw new IllegalArgumentException("Password must be at least " + minLength + " characters long");
+        }
+
+        boolean hasUppercase = false;
+        boolean hasNumber = false;
+        boolean hasSpecial = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                hasUppercase = true;
+            } else if (c >= '0' && c <= '9') {
+                hasNumber = true;
+            } else if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+                hasSpecial = true;
+            }
+        }
+
+        if (requireUppercase && !hasUppercase) {
+            throw new IllegalArgumentException("Password must contain at least one uppercase letter");
+        }
+        if (requireNumbers && !hasNumber) {
+            throw new IllegalArgumentException("Password must contain at least one number");
+        }
+        if (requireSpecialChars && !hasSpecial) {
+            throw new IllegalArgumentException("Password must contain at least one special character");
+        }
+        if (breachedPasswords != null && breachedPasswords.mightContain(normalize(password))) {
+            throw new IllegalArgumentException("Password is too common or has appeared in a data breach");
+        }
+    }
+
+    // Breached-list entries and candidates are compared case-insensitively
+    static String normalize(String password) {
+        return password.toLowerCase(Locale.ROOT);
+    }
+
+    // True when the settings would compile to the same rules as this policy
+    boolean matches(SystemSettings settings) {
+        PasswordPolicy other = from(settings, breachedPasswords);
+        return minLength == other.minLength
+                && requireUppercase == other.requireUppercase
+                && requireNumbers == other.requireNumbers
+                && requireSpecialChars == other.requireSpecialChars;
+    }
+
+    public int getMinLength() { return minLength; }
+    public boolean isRequireUppercase() { return requireUppercase; }
+    public boolean isRequireNumbers() { return requireNumbers; }
+    public boolean isRequireSpecialChars() { return requireSpecialChars; }
+}
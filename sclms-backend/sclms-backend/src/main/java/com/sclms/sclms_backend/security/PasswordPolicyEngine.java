@@ -0,0 +1,142 @@
+package com.sclms.sclms_backend.security;
+
+import com.sclms.sclms_backend.entity.SystemSettings;
+import com.sclms.sclms_backend.repository.SystemSettingsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the compiled {@link PasswordPolicy}. The policy is built once from the system settings and
+ * swapped atomically when the security settings change, so validation never touches the database.
+ *
+ * The optional breached-password list ({@code security.password.breached-list}, one password per line)
+ * is loaded into a bloom filter, which keeps a large list to a few bits per entry. A bloom filter can
+ * report false positives, so a small fraction of unlisted passwords ({@code breached-list-fpp}) is
+ * rejected as well.
+ */
+@Component
+public class PasswordPolicyEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordPolicyEngine.class);
+
+    private final SystemSettingsRepository systemSettingsRepository;
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<PasswordPolicy> policy = new AtomicReference<>();
+
+    @Value("${security.password.breached-list:classpath:breached-passwords.txt}")
+    private String breachedListLocation;
+
+    @Value("${security.password.breached-list-fpp:0.0001}")
+    private double breachedListFalsePositiveRate;
+
+    private volatile BloomFilter breachedPasswords;
+    private volatile boolean breachedListLoaded;
+    // The first caller reads the list from disk while holding it
+    private final ReentrantLock breachedListLock = new ReentrantLock();
+
+    public PasswordPolicyEngine(SystemSettingsRepository systemSettingsRepository, ResourceLoader resourceLoader) {
+        this.systemSettingsRepository = systemSettingsRepository;
+        this.resourceLoader = resourceLoader;
+    }
+
+    public void validate(String password) {
+        current().validate(password);
+    }
+
+    public PasswordPolicy current() {
+        PasswordPolicy compiled = policy.get();
+        if (compiled == null) {
+            compiled = compile(systemSettingsRepository.findAll().stream()
+                    .findFirst()
+                    .orElseGet(SystemSettings::new));
+            if (!policy.compareAndSet(null, compiled)) {
+                compiled = policy.get();
+            }
+        }
+        return compiled;
+    }
+
+    // Called with every new settings snapshot (local updates and changes made on other instances)
+    public void update(SystemSettings settings) {
+        PasswordPolicy previous = policy.get();
+        if (previous != null && previous.matches(settings)) {
+            return;
+        }
+        PasswordPolicy compiled = compile(settings);
+        policy.set(compiled);
+        log.info("🔐 Password policy updated | minLength={} uppercase={} numbers={} special={}",
+                compiled.getMinLength(), compiled.isRequireUppercase(),
+                compiled.isRequireNumbers(), compiled.isRequireSpecialChars());
+    }
+
+    private PasswordPolicy compile(SystemSettings settings) {
+        return PasswordPolicy.from(settings, breachedPasswords());
+    }
+
+    // =========================================================
+    // BREACHED PASSWORD LIST
+    // =========================================================
+
+    private BloomFilter breachedPasswords() {
+        if (!breachedListLoaded) {
+            breachedListLock.lock();
+            try {
+                if (!breachedListLoaded) {
+                    breachedPasswords = loadBreachedList();
+                    breachedListLoaded = true;
+                }
+            } finally {
+                breachedListLock.unlock();
+            }
+        }
+        return breachedPasswords;
+    }
+
+    private BloomFilter loadBreachedList() {
+        if (breachedListLocation == null || breachedListLocation.isBlank()) {
+            return null;
+        }
+        Resource resource = resourceLoader.getResource(breachedListLocation);
+        if (!resource.exists()) {
+            log.warn("⚠️ Breached password list {} not found - check disabled", breachedListLocation);
+            return null;
+        }
+        try {
+            // First pass sizes the filter, second pass fills it; the list itself is never held in memory
+            int entries = 0;
+            try (BufferedReader reader = open(resource)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) entries++;
+                }
+            }
+            BloomFilter filter = new BloomFilter(entries, breachedListFalsePositiveRate);
+            try (BufferedReader reader = open(resource)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) filter.add(PasswordPolicy.normalize(line.strip()));
+                }
+            }
+            log.info("✅ Loaded {} breached passwords from {}", entries, breachedListLocation);
+            return filter;
+        } catch (IOException e) {
+            log.error("❌ Could not read breached password list {}: {}", breachedListLocation, e.getMessage());
+            return null;
+        }
+    }
+
+    private static BufferedReader open(Resource resource) throws IOException {
+        return new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
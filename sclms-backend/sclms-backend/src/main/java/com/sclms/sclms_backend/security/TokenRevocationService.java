@@ -0,0 +1,98 @@
+package com.sclms.sclms_backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation list for access tokens.
+ *
+ * Revoked token ids are kept in an exact set fronted by a bloom filter, so the common case
+ * (token not revoked) is answered without touching the map. Whole-user revocation records the
+ * time of revocation in milliseconds; any token issued before it is rejected, while one issued
+ * right after it (e.g. by the refresh that follows) is not. Entries are dropped once every token
+ * they could match has expired on its own.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int BLOOM_EXPECTED_ENTRIES = 10_000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final JwtUtil jwtUtil;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // userId -> revocation time (epoch millis)
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter revokedTokenFilter = newFilter();
+
+    public TokenRevocationService(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    // Revoke a single access token (e.g. on logout)
+    public void revokeToken(String tokenId, Date expiration) {
+        if (tokenId == null) return;
+        long expiresAt = expiration != null
+                ? expiration.getTime()
+                : System.currentTimeMillis() + jwtUtil.getAccessTokenExpiration();
+        revokedTokens.put(tokenId, expiresAt);
+        revokedTokenFilter.add(tokenId);
+    }
+
+    // Revoke every access token issued to the user so far (e.g. user deleted, rejected or locked)
+    public void revokeAllForUser(Long userId) {
+        if (userId == null) return;
+        revokedUsers.put(userId, System.currentTimeMillis());
+        log.info("Revoked all access tokens for userId={}", userId);
+    }
+
+    /**
+     * issuedAtMillis is the token's issue time in epoch millis (JwtUtil.ISSUED_AT_MILLIS_CLAIM). Pass
+     * null with the iat claim for tokens without it: iat has only second precision, so such a token is
+     * rejected if it was issued in the second of the revocation, even after it.
+     */
+    public boolean isRevoked(String tokenId, Long userId, Long issuedAtMillis, Date issuedAt) {
+        Long revokedAt = userId != null ? revokedUsers.get(userId) : null;
+        if (revokedAt != null) {
+            if (issuedAtMillis != null ? issuedAtMillis < revokedAt
+                    : issuedAt != null && issuedAt.getTime() / 1000 <= revokedAt / 1000) {
+                return true;
+            }
+        }
+        if (tokenId == null || !revokedTokenFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    // Drop entries that can no longer match a live token and rebuild the filter without them
+    @Scheduled(fixedDelay = 300000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long userCutoff = now - jwtUtil.getAccessTokenExpiration();
+
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt < userCutoff);
+
+        BloomFilter rebuilt = newFilter();
+        revokedTokens.keySet().forEach(rebuilt::add);
+        revokedTokenFilter = rebuilt;
+        // Tokens revoked while rebuilding may have missed the new filter
+        revokedTokens.keySet().forEach(rebuilt::add);
+    }
+
+    private static BloomFilter newFilter() {
+        return new BloomFilter(BLOOM_EXPECTED_ENTRIES, BLOOM_FALSE_POSITIVE_RATE);
+    }
+}
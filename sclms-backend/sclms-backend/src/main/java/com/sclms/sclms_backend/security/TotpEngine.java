@@ -0,0 +1,176 @@
+package com.sclms.sclms_backend.security;
+
+import org.apache.commons.codec.binary.Base32;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * RFC 6238 TOTP verification (HMAC-SHA1, 6 digits, 30 second steps - the Google Authenticator defaults).
+ *
+ * Per user it keeps the decoded secret, the codes of the current window (computed once per time step,
+ * so repeated or concurrent attempts don't redo the HMACs), the last accepted step so a code cannot be
+ * replayed, and a failed-attempt counter that throttles guessing before any HMAC work is done.
+ * State is dropped once it is older than both the code window and the throttle window.
+ */
+@Component
+public class TotpEngine {
+
+    private static final long STEP_MILLIS = 30_000L;
+    private static final int CODE_MODULUS = 1_000_000;
+
+    private static final ThreadLocal<Mac> HMAC_SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA1");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA1 not available", e);
+        }
+    });
+
+    private final int windowSteps;
+    private final int maxFailedAttempts;
+    private final long attemptWindowMillis;
+    private final ConcurrentMap<Long, UserState> states = new ConcurrentHashMap<>();
+
+    public TotpEngine(@Value("${security.totp.window-steps:1}") int windowSteps,
+                      @Value("${security.totp.max-failed-attempts:5}") int maxFailedAttempts,
+                      @Value("${security.totp.attempt-window:300000}") long attemptWindowMillis) {
+        this.windowSteps = windowSteps;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.attemptWindowMillis = attemptWindowMillis;
+    }
+
+    /**
+     * Verifies a code for the user. Returns false for a wrong or already-used code and throws
+     * {@link TotpThrottledException} while the user is over the failed-attempt limit.
+     */
+    public boolean verify(Long userId, String secret, int code) {
+        return verify(userId, secret, code, System.currentTimeMillis());
+    }
+
+    public boolean verify(Long userId, String secret, int code, long nowMillis) {
+        if (secret == null) {
+            throw new IllegalArgumentException("Secret cannot be null");
+        }
+        UserState state = states.computeIfAbsent(userId, id -> new UserState());
+
+        synchronized (state) {
+            state.lastTouched = nowMillis;
+
+            if (nowMillis - state.attemptWindowStart >= attemptWindowMillis) {
+                state.attemptWindowStart = nowMillis;
+                state.failedAttempts = 0;
+            }
+            if (state.failedAttempts >= maxFailedAttempts) {
+                throw new TotpThrottledException("Too many invalid 2FA codes. Try again later.");
+            }
+
+            long step = Math.floorDiv(nowMillis, STEP_MILLIS);
+            byte[][] window = state.windowCodes(secret, step, windowSteps);
+
+            // Constant-time comparison over the whole window, no early exit, so timing doesn't reveal
+            // which step matched or how much of a code was right
+            byte[] presented = codeBytes(code);
+            int matchedOffset = -1;
+            boolean validFormat = code >= 0 && code < CODE_MODULUS;
+            for (int i = 0; i < window.length; i++) {
+                if (MessageDigest.isEqual(window[i], presented)) {
+                    matchedOffset = i;
+                }
+            }
+
+            long matchedStep = step - windowSteps + matchedOffset;
+            if (!validFormat || matchedOffset < 0 || matchedStep <= state.lastUsedStep) {
+                state.failedAttempts++;
+                return false;
+            }
+
+            state.lastUsedStep = matchedStep;
+            state.failedAttempts = 0;
+            return true;
+        }
+    }
+
+    // Forget the user's cached secret and replay state, e.g. after 2FA is disabled or re-enrolled
+    public void reset(Long userId) {
+        states.remove(userId);
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void purgeStale() {
+        long cutoff = System.currentTimeMillis()
+                - Math.max(attemptWindowMillis, (2L * windowSteps + 1) * STEP_MILLIS);
+        states.values().removeIf(state -> {
+            synchronized (state) {
+                return state.lastTouched < cutoff;
+            }
+        });
+    }
+
+    static int calculateCode(byte[] key, long step) {
+        Mac mac = HMAC_SHA1.get();
+        try {
+            mac.init(new SecretKeySpec(key, "HmacSHA1"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid TOTP key", e);
+        }
+        byte[] hash = mac.doFinal(ByteBuffer.allocate(8).putLong(step).array());
+
+        // RFC 4226 dynamic truncation
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        return binary % CODE_MODULUS;
+    }
+
+    private static byte[] codeBytes(int code) {
+        return ByteBuffer.allocate(4).putInt(code).array();
+    }
+
+    private static final class UserState {
+        private String secret;
+        private byte[] key;
+        private long cachedStep = Long.MIN_VALUE;
+        private byte[][] cachedCodes;
+        private long lastUsedStep = Long.MIN_VALUE;
+        private long attemptWindowStart;
+        private int failedAttempts;
+        private long lastTouched;
+
+        // Codes for steps [step - windowSteps, step + windowSteps], recomputed only when the step or secret changes
+        private byte[][] windowCodes(String currentSecret, long step, int windowSteps) {
+            if (!currentSecret.equals(secret)) {
+                secret = currentSecret;
+                key = new Base32().decode(currentSecret.toUpperCase(Locale.ROOT));
+                cachedCodes = null;
+                lastUsedStep = Long.MIN_VALUE;
+            }
+            if (cachedCodes == null || cachedStep != step) {
+                byte[][] codes = new byte[2 * windowSteps + 1][];
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = codeBytes(calculateCode(key, step - windowSteps + i));
+                }
+                cachedCodes = codes;
+                cachedStep = step;
+            }
+            return cachedCodes;
+        }
+    }
+
+    public static class TotpThrottledException extends RuntimeException {
+        public TotpThrottledException(String message) {
+            super(message);
+        }
+    }
+}
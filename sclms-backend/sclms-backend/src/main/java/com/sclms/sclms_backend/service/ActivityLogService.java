@@ -0,0 +1,230 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.entity.UserActivity;
+import com.sclms.sclms_backend.repository.UserActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only log of logins and contract actions. Callers only put the event in a lock-free ring buffer;
+ * one writer thread drains it and inserts in JDBC batches on the directory shard, so capturing an event
+ * never adds a database write to the login or contract request. Reads therefore lag the action by up to
+ * one flush interval. When the buffer is full (the database is down or far behind) events are dropped
+ * and counted rather than slowing the caller.
+ */
+@Service
+public class ActivityLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogService.class);
+
+    public static final String LOGIN = "LOGIN";
+    public static final String LOGIN_FAILED = "LOGIN_FAILED";
+    public static final String LOGOUT = "LOGOUT";
+    public static final String CREATE_CONTRACT = "CREATE_CONTRACT";
+    public static final String VIEW_CONTRACT = "VIEW_CONTRACT";
+    public static final String APPROVE_CONTRACT = "APPROVE_CONTRACT";
+    public static final String REJECT_CONTRACT = "REJECT_CONTRACT";
+    public static final String BULK_APPROVE = "BULK_APPROVE";
+    public static final String BULK_REJECT = "BULK_REJECT";
+    public static final String IMPORT_CONTRACTS = "IMPORT_CONTRACTS";
+
+    private static final String INSERT = "INSERT INTO user_activity "
+            + "(user_id, actor, action, contract_id, detail, ip_address, user_agent, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final UserActivityRepository activityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityRingBuffer<UserActivity> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ActivityLogService(UserActivityRepository activityRepository,
+                              DataSource dataSource,
+                              MeterRegistry registry,
+                              @Value("${activity.buffer-capacity:8192}") int capacity,
+                              @Value("${activity.batch-size:200}") int batchSize,
+                              @Value("${activity.flush-interval-ms:500}") long flushIntervalMs) {
+        this.activityRepository = activityRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.buffer = new ActivityRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(10, flushIntervalMs));
+
+        Gauge.builder("sclms.activity.buffer.size", buffer, ActivityRingBuffer::size)
+                .description("Activity events waiting to be written")
+                .register(registry);
+        this.dropped = Counter.builder("sclms.activity.dropped")
+                .description("Activity events dropped because the buffer was full")
+                .register(registry);
+        this.failed = Counter.builder("sclms.activity.write.failures")
+                .description("Activity events lost to failed batch inserts")
+                .register(registry);
+
+        this.writer = new Thread(this::drainLoop, "activity-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    // =========================================================
+    // CAPTURE (no I/O on the caller's thread)
+    // =========================================================
+
+    public void record(User user, String action, Long contractId, String detail) {
+        record(user != null ? user.getId() : null, user != null ? user.getEmail() : null, action, contractId, detail);
+    }
+
+    public void record(Long userId, String actor, String action, Long contractId, String detail) {
+        UserActivity activity = new UserActivity();
+        activity.setUserId(userId);
+        activity.setActor(truncate(actor, 255));
+        activity.setAction(action);
+        activity.setContractId(contractId);
+        activity.setDetail(truncate(detail, 500));
+        activity.setOccurredAt(LocalDateTime.now());
+
+        // The request is only reachable from the calling thread, so client details are read here
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            activity.setIpAddress(truncate(request.getRemoteAddr(), 45));
+            activity.setUserAgent(truncate(request.getHeader("User-Agent"), 255));
+        }
+
+        if (!buffer.offer(activity)) {
+            dropped.increment();
+        }
+    }
+
+    // =========================================================
+    // WRITER
+    // =========================================================
+
+    private void drainLoop() {
+        List<UserActivity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            // A full batch means more is likely waiting; otherwise let events accumulate for one interval
+            if (drained < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void write(List<UserActivity> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, activity) -> {
+                if (activity.getUserId() != null) {
+                    ps.setLong(1, activity.getUserId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, activity.getActor());
+                ps.setString(3, activity.getAction());
+                if (activity.getContractId() != null) {
+                    ps.setLong(4, activity.getContractId());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setString(5, activity.getDetail());
+                ps.setString(6, activity.getIpAddress());
+                ps.setString(7, activity.getUserAgent());
+                ps.setTimestamp(8, Timestamp.valueOf(activity.getOccurredAt()));
+            });
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("⚠️ Could not write {} activity events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // Stops the writer and writes what is still buffered
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (!writer.isAlive()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything buffered so far on the calling thread. Only for shutdown and tests: while the
+     * writer runs it is the buffer's single consumer.
+     */
+    void flush() {
+        List<UserActivity> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // =========================================================
+    // QUERIES (keyset: pass the last id of the previous page as before)
+    // =========================================================
+
+    public List<UserActivity> getUserActivity(Long userId, Long before, int limit) {
+        PageRequest page = PageRequest.of(0, clamp(limit));
+        return before != null
+                ? activityRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, before, page)
+                : activityRepository.findByUserIdOrderByIdDesc(userId, page);
+    }
+
+    public List<UserActivity> getRecentLogins(Long before, int limit) {
+        PageRequest page = PageRequest.of(0, clamp(limit));
+        return before != null
+                ? activityRepository.findByActionAndIdLessThanOrderByIdDesc(LOGIN, before, page)
+                : activityRepository.findByActionOrderByIdDesc(LOGIN, page);
+    }
+
+    public Optional<LocalDateTime> getLastLogin(Long userId) {
+        return activityRepository.findFirstByUserIdAndActionOrderByIdDesc(userId, LOGIN)
+                .map(UserActivity::getOccurredAt);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
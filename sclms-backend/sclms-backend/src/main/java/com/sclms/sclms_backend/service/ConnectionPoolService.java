@@ -0,0 +1,77 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ConnectionPoolMetrics;
+import com.sclms.sclms_backend.config.ReplicaRoutingDataSource;
+import com.sclms.sclms_backend.entity.SystemSettings;
+import com.sclms.sclms_backend.repository.SystemSettingsRepository;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Sizes the connection pool from SystemSettings.maxConnections (capped by {@code db.pool.max-size-cap},
+ * since a managed MySQL plan only allows a limited number of connections) and reports pool metrics.
+ */
+@Service
+public class ConnectionPoolService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolService.class);
+
+    private final HikariDataSource dataSource;
+    private final ConnectionPoolMetrics poolMetrics;
+    private final SystemSettingsRepository systemSettingsRepository;
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    @Value("${db.pool.max-size-cap:20}")
+    private int maxSizeCap;
+
+    public ConnectionPoolService(HikariDataSource dataSource, ConnectionPoolMetrics poolMetrics,
+                                 SystemSettingsRepository systemSettingsRepository,
+                                 ReplicaRoutingDataSource routingDataSource) {
+        this.dataSource = dataSource;
+        this.poolMetrics = poolMetrics;
+        this.systemSettingsRepository = systemSettingsRepository;
+        this.routingDataSource = routingDataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyStoredSettings() {
+        try {
+            systemSettingsRepository.findAll().stream()
+                    .findFirst()
+                    .map(SystemSettings::getMaxConnections)
+                    .ifPresent(this::applyMaxConnections);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not size connection pool from system settings: {}", e.getMessage());
+        }
+    }
+
+    // Hikari resizes live: extra connections are retired as they are returned
+    public void applyMaxConnections(Integer maxConnections) {
+        if (maxConnections == null || maxConnections < 1) {
+            return;
+        }
+        HikariConfigMXBean pool = dataSource.getHikariConfigMXBean();
+        int size = Math.min(maxConnections, maxSizeCap);
+        if (pool.getMaximumPoolSize() != size) {
+            pool.setMaximumPoolSize(size);
+            if (pool.getMinimumIdle() > size) {
+                pool.setMinimumIdle(size);
+            }
+            log.info("✅ Connection pool resized | maxConnections={} | poolSize={}", maxConnections, size);
+        }
+    }
+
+    public Map<String, Object> getPoolMetrics() {
+        Map<String, Object> metrics = poolMetrics.snapshot();
+        metrics.put("replicas", routingDataSource.getReplicaStatus());
+        return metrics;
+    }
+}
@@ -0,0 +1,272 @@
+package com.sclms.sclms_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.ContractArchive;
+import com.sclms.sclms_backend.entity.Notification;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.ContractArchiveRepository;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import com.sclms.sclms_backend.repository.NotificationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves closed contracts out of the hot tables. A contract that was rejected, or whose end date passed,
+ * more than archive.after-days ago is written with its approval history and notifications to one
+ * compressed contract_archive row on the contract's shard, and the originals are deleted. Reads by id fall
+ * back to the archive, and an archived contract can be restored with its original id.
+ */
+@Service
+@Timed("sclms.service")
+public class ContractArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractArchiveService.class);
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts (id, title, description, contract_type, from_org, to_org, from_org_id, " +
+            "to_org_id, start_date, end_date, status, created_date, approved_date, created_by, approved_by, " +
+            "approver_comments, rejection_reason, document_name, document_url, contract_value, " +
+            "contract_number, days_until_expiry) VALUES (:id, :title, :description, :contractType, :fromOrg, " +
+            ":toOrg, :fromOrgId, :toOrgId, :startDate, :endDate, :status, :createdDate, :approvedDate, " +
+            ":createdBy, :approvedBy, :approverComments, :rejectionReason, :documentName, :documentUrl, " +
+            ":value, :contractNumber, :daysUntilExpiry)";
+
+    private final ContractRepository contractRepository;
+    private final ApprovalHistoryRepository historyRepository;
+    private final NotificationRepository notificationRepository;
+    private final ContractArchiveRepository archiveRepository;
+    private final TenantShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    @Value("${archive.after-days:365}")
+    private int afterDays;
+
+    @Value("${archive.batch-size:200}")
+    private int batchSize;
+
+    public ContractArchiveService(ContractRepository contractRepository,
+                                  ApprovalHistoryRepository historyRepository,
+                                  NotificationRepository notificationRepository,
+                                  ContractArchiveRepository archiveRepository,
+                                  TenantShardRouter shardRouter,
+                                  ObjectMapper objectMapper,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager) {
+        this.contractRepository = contractRepository;
+        this.historyRepository = historyRepository;
+        this.notificationRepository = notificationRepository;
+        this.archiveRepository = archiveRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        // Routed DataSource: joins the JPA transaction on whichever shard is current
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // =========================================================
+    // ARCHIVE
+    // =========================================================
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        try {
+            archiveClosedContracts();
+        } catch (Exception e) {
+            log.warn("⚠️ Contract archival failed: {}", e.getMessage());
+        }
+    }
+
+    // Returns the number of contracts archived per shard
+    public Map<Integer, Integer> archiveClosedContracts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        Map<Integer, Integer> archivedByShard = new HashMap<>();
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            int archived = 0;
+            List<Long> ids;
+            do {
+                ids = shardRouter.onShard(target,
+                        () -> contractRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize)));
+                if (!ids.isEmpty()) {
+                    archived += archiveBatch(target, ids);
+                }
+            } while (ids.size() == batchSize);
+
+            archivedByShard.put(target, archived);
+            if (archived > 0) {
+                log.info("📦 Archived {} closed contracts on shard {} (closed before {})", archived, target, cutoff);
+            }
+        }
+        return archivedByShard;
+    }
+
+    private int archiveBatch(int shard, List<Long> ids) {
+        // Notifications are global (directory shard); copied first, deleted once the contracts are archived
+        List<Notification> notifications = onDirectory(() -> notificationRepository.findByContractIdIn(ids));
+        Map<Long, List<Notification>> notificationsByContract = new HashMap<>();
+        notifications.forEach(n -> notificationsByContract.computeIfAbsent(n.getContractId(), k -> new ArrayList<>()).add(n));
+
+        int archived = shardRouter.onShard(shard, () -> transaction.execute(status -> {
+            List<Contract> contracts = contractRepository.findAllById(ids);
+            List<ApprovalHistory> history = historyRepository.findByContractIdIn(ids);
+            Map<Long, List<ApprovalHistory>> historyByContract = new HashMap<>();
+            history.forEach(h -> historyByContract.computeIfAbsent(h.getContractId(), k -> new ArrayList<>()).add(h));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<ContractArchive> archives = new ArrayList<>(contracts.size());
+            for (Contract contract : contracts) {
+                ArchivedContract document = new ArchivedContract();
+                document.setContract(contract);
+                document.setHistory(historyByContract.getOrDefault(contract.getId(), List.of()));
+                document.setNotifications(notificationsByContract.getOrDefault(contract.getId(), List.of()));
+
+                ContractArchive archive = new ContractArchive();
+                archive.setContractId(contract.getId());
+                archive.setFromOrg(contract.getFromOrg());
+                archive.setToOrg(contract.getToOrg());
+                archive.setStatus(contract.getStatus());
+                archive.setClosedAt("REJECTED".equals(contract.getStatus())
+                        ? contract.getApprovedDate() : contract.getEndDate());
+                archive.setArchivedAt(now);
+                archive.setPayload(compress(document));
+                archives.add(archive);
+            }
+
+            archiveRepository.saveAll(archives);
+            historyRepository.deleteAllInBatch(history);
+            contractRepository.deleteAllInBatch(contracts);
+            return contracts.size();
+        }));
+
+        if (!notifications.isEmpty()) {
+            onDirectory(() -> transaction.execute(status -> {
+                notificationRepository.deleteAllInBatch(notifications);
+                return null;
+            }));
+        }
+        return archived;
+    }
+
+    // =========================================================
+    // READ FALLBACK
+    // =========================================================
+
+    public Optional<Contract> findArchivedContract(Long contractId) {
+        return findArchived(contractId).map(ArchivedContract::getContract);
+    }
+
+    public Optional<List<ApprovalHistory>> findArchivedHistory(Long contractId) {
+        return findArchived(contractId).map(document -> document.getHistory().stream()
+                .sorted(Comparator.comparing(ApprovalHistory::getTimestamp))
+                .toList());
+    }
+
+    private Optional<ArchivedContract> findArchived(Long contractId) {
+        return shardRouter.forContract(contractId, () -> archiveRepository.findById(contractId))
+                .map(archive -> decompress(archive.getPayload()));
+    }
+
+    // =========================================================
+    // RESTORE
+    // =========================================================
+
+    // Puts the contract, its history and notifications back; the contract keeps its id
+    public Contract restore(Long contractId) {
+        ArchivedContract document = findArchived(contractId)
+                .orElseThrow(() -> new RuntimeException("Archived contract not found"));
+        Contract contract = document.getContract();
+
+        shardRouter.forContract(contractId, () -> transaction.execute(status -> {
+            jdbcTemplate.update(INSERT_CONTRACT, new BeanPropertySqlParameterSource(contract));
+            // History and notification ids come from the pooled generators; nothing refers to them
+            document.getHistory().forEach(h -> h.setId(null));
+            historyRepository.saveAll(document.getHistory());
+            archiveRepository.deleteById(contractId);
+            return null;
+        }));
+
+        if (!document.getNotifications().isEmpty()) {
+            onDirectory(() -> transaction.execute(status -> {
+                document.getNotifications().forEach(n -> n.setId(null));
+                return notificationRepository.saveAll(document.getNotifications());
+            }));
+        }
+
+        log.info("📦 Restored archived contract {} with {} history entries", contractId, document.getHistory().size());
+        return contract;
+    }
+
+    private <T> T onDirectory(Supplier<T> work) {
+        return shardRouter.onShard(ShardRoutingDataSource.DIRECTORY_SHARD, work);
+    }
+
+    // =========================================================
+    // PAYLOAD (gzip JSON)
+    // =========================================================
+
+    private byte[] compress(ArchivedContract document) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive for contract " + document.getContract().getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArchivedContract decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, ArchivedContract.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived contract", e);
+        }
+    }
+
+    public static class ArchivedContract {
+        private Contract contract;
+        private List<ApprovalHistory> history = List.of();
+        private List<Notification> notifications = List.of();
+
+        public Contract getContract() { return contract; }
+        public void setContract(Contract contract) { this.contract = contract; }
+
+        public List<ApprovalHistory> getHistory() { return history; }
+        public void setHistory(List<ApprovalHistory> history) { this.history = history; }
+
+        public List<Notification> getNotifications() { return notifications; }
+        public void setNotifications(List<Notification> notifications) { this.notifications = notifications; }
+    }
+}
@@ -0,0 +1,167 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approves or rejects many contracts in one request. Per shard this is a status lookup, one set-based
+ * UPDATE guarded by status = 'PENDING' (as for single decisions), a reload of the touched rows and a
+ * batched history insert; the creators' notifications are saved as one batch afterwards. Each id gets its
+ * own outcome: decided, already processed (someone else decided it first), not found, or error when its
+ * shard could not be reached. Approvers can only decide contracts addressed to their organization;
+ * other ids come back as not found, exactly like ids that don't exist. Admins can decide any contract.
+ */
+@Service
+@Timed("sclms.service")
+public class ContractDecisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractDecisionService.class);
+
+    public static final String CONFLICT = "ALREADY_PROCESSED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String ERROR = "ERROR";
+
+    private final ContractRepository contractRepository;
+    private final ApprovalHistoryRepository historyRepository;
+    private final NotificationService notificationService;
+    private final TenantShardRouter shardRouter;
+    private final ApplicationMetrics metrics;
+
+    @Value("${contracts.bulk-decision.max-ids:500}")
+    private int maxIds;
+
+    public ContractDecisionService(ContractRepository contractRepository,
+                                   ApprovalHistoryRepository historyRepository,
+                                   NotificationService notificationService,
+                                   TenantShardRouter shardRouter,
+                                   ApplicationMetrics metrics) {
+        this.contractRepository = contractRepository;
+        this.historyRepository = historyRepository;
+        this.notificationService = notificationService;
+        this.shardRouter = shardRouter;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Applies the decision (APPROVED or REJECTED) to every id that is still PENDING. Returns the outcome
+     * per id in request order: the new status, {@link #CONFLICT}, {@link #NOT_FOUND} or {@link #ERROR}.
+     */
+    public Map<Long, String> decideAll(List<Long> ids, String status, String comment, String reason, User approver) {
+        if (!"APPROVED".equals(status) && !"REJECTED".equals(status)) {
+            throw new IllegalArgumentException("Unknown decision " + status);
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No contract ids given");
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " contracts per request");
+        }
+        // null lifts the organization filter, so only admins get it
+        String org = "ADMIN".equals(approver.getRole()) ? null : approver.getOrganization();
+        if (org == null && !"ADMIN".equals(approver.getRole())) {
+            throw new IllegalArgumentException("Approver has no organization");
+        }
+
+        // Contracts are decided where they live; ids carry their shard
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : unique) {
+            idsByShard.computeIfAbsent(ShardRoutingDataSource.shardOfId(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        // Millisecond precision survives every column type, so the reload can recognise this request's rows
+        LocalDateTime decidedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<Long, String> outcomes = new HashMap<>();
+        List<Contract> decided = new ArrayList<>();
+        for (Map.Entry<Integer, List<Long>> shard : idsByShard.entrySet()) {
+            try {
+                decided.addAll(shardRouter.onShard(shard.getKey(), () ->
+                        decideOnShard(shard.getValue(), status, comment, reason, approver, org, decidedAt, outcomes)));
+            } catch (Exception e) {
+                // That shard's transaction rolled back; the other shards' decisions stand
+                log.warn("⚠️ Bulk {} failed on shard {}: {}", status, shard.getKey(), e.getMessage());
+                shard.getValue().forEach(id -> outcomes.put(id, ERROR));
+            }
+        }
+
+        if (!decided.isEmpty()) {
+            notificationService.notifyContractsDecided(decided, reason);
+        }
+
+        Map<Long, String> ordered = new LinkedHashMap<>();
+        unique.forEach(id -> ordered.put(id, outcomes.get(id)));
+        log.info("✅ Bulk {} by {} | requested={} | decided={}", status, approver.getId(), unique.size(), decided.size());
+        return ordered;
+    }
+
+    private List<Contract> decideOnShard(List<Long> ids, String status, String comment, String reason,
+                                         User approver, String org, LocalDateTime decidedAt,
+                                         Map<Long, String> outcomes) {
+        List<Long> pending = new ArrayList<>();
+        Set<Long> found = new LinkedHashSet<>();
+        for (Object[] row : contractRepository.findStatusesByIdIn(ids, org)) {
+            Long id = (Long) row[0];
+            found.add(id);
+            if ("PENDING".equals(row[1])) {
+                pending.add(id);
+            } else {
+                outcomes.put(id, CONFLICT);
+            }
+        }
+        ids.stream().filter(id -> !found.contains(id)).forEach(id -> outcomes.put(id, NOT_FOUND));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        contractRepository.transitionAllFromPending(pending, status, comment, reason, approver.getId(), decidedAt, org);
+
+        // A row another approver decided between the lookup and the UPDATE carries their stamp, not ours
+        List<Contract> decided = new ArrayList<>();
+        for (Contract contract : contractRepository.findAllById(pending)) {
+            boolean ours = status.equals(contract.getStatus())
+                    && approver.getId().equals(contract.getApprovedBy())
+                    && decidedAt.equals(contract.getApprovedDate());
+            outcomes.put(contract.getId(), ours ? status : CONFLICT);
+            if (ours) {
+                decided.add(contract);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ApprovalHistory> history = new ArrayList<>(decided.size());
+        for (Contract contract : decided) {
+            ApprovalHistory entry = new ApprovalHistory();
+            entry.setContractId(contract.getId());
+            entry.setAction(status);
+            entry.setComment("REJECTED".equals(status) ? reason : (comment != null ? comment : "Approved"));
+            entry.setActor(approver.getName());
+            entry.setActorRole("APPROVER");
+            entry.setTimestamp(now);
+            history.add(entry);
+        }
+        historyRepository.saveAll(history);
+        metrics.contractTransition("PENDING", status, "bulk", decided.size());
+        return decided;
+    }
+}
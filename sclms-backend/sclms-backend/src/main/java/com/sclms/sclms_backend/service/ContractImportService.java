@@ -0,0 +1,650 @@
+package com.sclms.sclms_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.TaskThreads;
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports contracts from a CSV or NDJSON upload as a background job.
+ *
+ * The upload is spooled to a temporary file, then read line by line in chunks. Chunks are parsed and
+ * validated in parallel, but written in upload order: a bounded queue of pending chunks keeps reading
+ * from running ahead of the writer. Each chunk's contracts are inserted per shard as one JDBC batch (their
+ * ids come back as generated keys) together with their CREATED history entries. Approvers are notified
+ * once per receiving organization when the job ends, and progress is available from {@link #getJob}.
+ */
+@Service
+@Timed("sclms.service")
+public class ContractImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractImportService.class);
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts (title, description, contract_type, from_org, to_org, from_org_id, to_org_id, " +
+            "start_date, end_date, status, created_date, created_by, contract_value, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?, ?, 0)";
+
+    // Rows kept per job in the error report; the counters keep counting past it
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // Marks the end of the upload in the queue of pending chunks
+    private static final Future<Chunk> END_OF_UPLOAD = CompletableFuture.completedFuture(null);
+
+    public enum Format { CSV, NDJSON }
+
+    private final ApprovalHistoryRepository historyRepository;
+    private final NotificationService notificationService;
+    private final OrganizationService organizationService;
+    private final TenantShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ApplicationMetrics metrics;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService writerExecutor;
+    private final ExecutorService validationExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${contracts.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${contracts.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    public ContractImportService(ApprovalHistoryRepository historyRepository,
+                                 NotificationService notificationService,
+                                 OrganizationService organizationService,
+                                 TenantShardRouter shardRouter,
+                                 ObjectMapper objectMapper,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationMetrics metrics,
+                                 TaskThreads taskThreads,
+                                 @Value("${contracts.import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.historyRepository = historyRepository;
+        this.notificationService = notificationService;
+        this.organizationService = organizationService;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+
+        this.jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, taskThreads.factory("contract-import-"));
+        // One writer per running job, so it never waits behind the validation work it consumes
+        this.writerExecutor = taskThreads.isVirtual()
+                ? taskThreads.perTask("contract-import-write-")
+                : Executors.newCachedThreadPool(TaskThreads.platformFactory("contract-import-write-"));
+        // CPU-bound: one platform thread per core in both modes
+        this.validationExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                TaskThreads.platformFactory("contract-import-validate-"));
+    }
+
+    // =========================================================
+    // JOBS
+    // =========================================================
+
+    // Copies the upload to disk (constant memory) and queues the import; returns the job to poll
+    public ImportJob submit(InputStream upload, Format format, User user) throws IOException {
+        Path spool = Files.createTempFile("contract-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(upload, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        long bytes = Files.size(spool);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, user.getId());
+        jobs.put(job.getJobId(), job);
+        jobExecutor.submit(() -> run(job, spool, user));
+        log.info("📥 Contract import {} queued | format={} | bytes={} | user={}", job.getJobId(), format, bytes, user.getId());
+        return job;
+    }
+
+    public ImportJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    // Imports waiting for a job thread and running on this node
+    public Map<String, Object> getQueueStats() {
+        long running = jobs.values().stream().filter(job -> "RUNNING".equals(job.getStatus())).count();
+        long queued = jobs.values().stream().filter(job -> "QUEUED".equals(job.getStatus())).count();
+        return Map.of("running", running, "queued", queued);
+    }
+
+    @Scheduled(fixedDelayString = "${contracts.import.cleanup-interval:600000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void run(ImportJob job, Path spool, User user) {
+        job.start();
+        Map<String, AtomicLong> importedByOrg = new ConcurrentHashMap<>();
+        Long fromOrgId = user.getOrganizationId() != null
+                ? user.getOrganizationId() : organizationService.resolveId(user.getOrganization());
+        Context context = new Context(user, fromOrgId, LocalDateTime.now());
+
+        // Validated chunks in upload order; the capacity bounds how far reading runs ahead of writing
+        BlockingQueue<Future<Chunk>> pending = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+        Future<?> writer = writerExecutor.submit(() -> write(job, pending, context, importedByOrg));
+
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            CsvHeader header = job.getFormat() == Format.CSV ? CsvHeader.parse(reader.readLine()) : null;
+            int lineNumber = header != null ? 1 : 0;
+            List<RawLine> lines = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(new RawLine(lineNumber, line));
+                if (lines.size() == chunkSize) {
+                    enqueue(pending, validationExecutor.submit(validation(lines, header, context)), writer);
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty()) {
+                enqueue(pending, validationExecutor.submit(validation(lines, header, context)), writer);
+            }
+            enqueue(pending, END_OF_UPLOAD, writer);
+            writer.get();
+            job.finish(null);
+            log.info("✅ Contract import {} finished | imported={} | failed={} | {} rows/s",
+                    job.getJobId(), job.getImported(), job.getFailed(), job.getRowsPerSecond());
+        } catch (Exception e) {
+            writer.cancel(true);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            job.finish(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            log.warn("⚠️ Contract import {} failed after {} rows: {}", job.getJobId(), job.getImported(), cause.getMessage());
+        } finally {
+            // Contracts written before a failure stay imported, so their approvers are told either way
+            importedByOrg.forEach((org, count) -> notifyApprovers(org, count.get(), user));
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not delete import spool {}: {}", spool, e.getMessage());
+            }
+        }
+    }
+
+    private Callable<Chunk> validation(List<RawLine> lines, CsvHeader header, Context context) {
+        return () -> validate(lines, header, context);
+    }
+
+    // Waits for room in the queue, unless the writer has stopped (then its failure is rethrown)
+    private static void enqueue(BlockingQueue<Future<Chunk>> pending, Future<Chunk> chunk, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!pending.offer(chunk, 200, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                chunk.cancel(true);
+                writer.get();
+                throw new IllegalStateException("Import writer stopped");
+            }
+        }
+    }
+
+    private void write(ImportJob job, BlockingQueue<Future<Chunk>> pending, Context context,
+                       Map<String, AtomicLong> importedByOrg) {
+        try {
+            Future<Chunk> next;
+            while ((next = pending.take()) != END_OF_UPLOAD) {
+                Chunk chunk = next.get();
+                chunk.errors.forEach(job::addError);
+                job.addRead(chunk.rows.size() + chunk.errors.size());
+
+                Map<Integer, List<ImportRow>> rowsByShard = new HashMap<>();
+                for (ImportRow row : chunk.rows) {
+                    rowsByShard.computeIfAbsent(shardRouter.shardForTenant(row.getToOrg()), s -> new ArrayList<>()).add(row);
+                }
+                for (Map.Entry<Integer, List<ImportRow>> shard : rowsByShard.entrySet()) {
+                    shardRouter.onShard(shard.getKey(), () -> transaction.execute(status -> insert(shard.getValue(), context)));
+                    shard.getValue().forEach(row -> importedByOrg.computeIfAbsent(row.getToOrg(), org -> new AtomicLong()).incrementAndGet());
+                    job.addImported(shard.getValue().size());
+                    metrics.contractTransition("NONE", "PENDING", "import", shard.getValue().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        }
+    }
+
+    // =========================================================
+    // PARSE + VALIDATE (parallel, per chunk)
+    // =========================================================
+
+    private Chunk validate(List<RawLine> lines, CsvHeader header, Context context) {
+        Chunk chunk = new Chunk();
+        for (RawLine line : lines) {
+            try {
+                ImportRow row = header != null
+                        ? header.toRow(parseCsvLine(line.text))
+                        : objectMapper.readValue(line.text, ImportRow.class);
+                check(row);
+                row.start = parseContractDate(row.getStartDate(), false);
+                row.end = parseContractDate(row.getEndDate(), true);
+                if (!row.end.isAfter(row.start)) {
+                    throw new IllegalArgumentException("endDate must be after startDate");
+                }
+                row.setToOrg(row.getToOrg().trim());
+                row.toOrgId = organizationService.findId(row.getToOrg());
+                if (row.toOrgId == null) {
+                    throw new IllegalArgumentException("toOrg '" + row.getToOrg() + "' is not a registered organization");
+                }
+                chunk.rows.add(row);
+            } catch (Exception e) {
+                // Parser messages run over several lines (source excerpt); the first one says what is wrong
+                String message = e.getMessage() != null ? e.getMessage().lines().findFirst().orElse("") : e.toString();
+                chunk.errors.add(new RowError(line.number, message));
+            }
+        }
+        return chunk;
+    }
+
+    private static void check(ImportRow row) {
+        if (isBlank(row.getTitle())) throw new IllegalArgumentException("title is required");
+        if (isBlank(row.getToOrg())) throw new IllegalArgumentException("toOrg is required");
+        if (isBlank(row.getContractType())) throw new IllegalArgumentException("contractType is required");
+        if (isBlank(row.getStartDate())) throw new IllegalArgumentException("startDate is required");
+        if (isBlank(row.getEndDate())) throw new IllegalArgumentException("endDate is required");
+        if (row.getValue() != null && row.getValue() < 0) throw new IllegalArgumentException("value must not be negative");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Accepts a date (yyyy-MM-dd, taken as the start or end of that day) or a full ISO date-time.
+     */
+    public static LocalDateTime parseContractDate(String value, boolean endOfDay) {
+        String text = value.trim();
+        try {
+            return text.length() <= 10
+                    ? LocalDate.parse(text).atTime(endOfDay ? LocalTime.of(23, 59, 59) : LocalTime.MIDNIGHT)
+                    : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "'");
+        }
+    }
+
+    // RFC 4180 fields: quoted fields may hold commas and doubled quotes (line breaks inside quotes are not supported)
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // =========================================================
+    // WRITE (per shard, one transaction per chunk)
+    // =========================================================
+
+    private Void insert(List<ImportRow> rows, Context context) {
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CONTRACT, Statement.RETURN_GENERATED_KEYS)) {
+                Timestamp createdAt = Timestamp.valueOf(context.startedAt);
+                for (ImportRow row : rows) {
+                    ps.setString(1, row.getTitle().trim());
+                    ps.setString(2, row.getDescription() != null ? row.getDescription() : "");
+                    ps.setString(3, row.getContractType().trim());
+                    ps.setString(4, context.user.getOrganization());
+                    ps.setString(5, row.getToOrg());
+                    setLong(ps, 6, context.fromOrgId);
+                    setLong(ps, 7, row.toOrgId);
+                    ps.setTimestamp(8, Timestamp.valueOf(row.start));
+                    ps.setTimestamp(9, Timestamp.valueOf(row.end));
+                    ps.setTimestamp(10, createdAt);
+                    ps.setLong(11, context.user.getId());
+                    if (row.getValue() != null) {
+                        ps.setDouble(12, row.getValue());
+                    } else {
+                        ps.setNull(12, Types.DOUBLE);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> generated = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+        if (ids == null || ids.size() != rows.size()) {
+            throw new IllegalStateException("Driver returned " + (ids == null ? 0 : ids.size())
+                    + " generated ids for " + rows.size() + " contracts");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ApprovalHistory> history = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ApprovalHistory entry = new ApprovalHistory();
+            entry.setContractId(id);
+            entry.setAction("CREATED");
+            entry.setComment("Contract imported & sent for approval");
+            entry.setActor(context.user.getName());
+            entry.setActorRole("USER");
+            entry.setTimestamp(now);
+            history.add(entry);
+        }
+        historyRepository.saveAll(history);
+        return null;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    // One summary per receiving organization instead of one notification per contract
+    private void notifyApprovers(String organization, long count, User user) {
+        try {
+            notificationService.notifyAllApproversInOrg(organization, "CONTRACT_CREATED",
+                    "New Contracts for Approval",
+                    String.format("%d contracts imported from %s require your approval", count, user.getOrganization()),
+                    null);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not notify approvers of {}: {}", organization, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    // =========================================================
+    // TYPES
+    // =========================================================
+
+    private static final class Context {
+        private final User user;
+        private final Long fromOrgId;
+        private final LocalDateTime startedAt;
+
+        private Context(User user, Long fromOrgId, LocalDateTime startedAt) {
+            this.user = user;
+            this.fromOrgId = fromOrgId;
+            this.startedAt = startedAt;
+        }
+    }
+
+    private record RawLine(int number, String text) {
+    }
+
+    private static class Chunk {
+        private final List<ImportRow> rows = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+    }
+
+    public record RowError(int line, String error) {
+    }
+
+    // Maps CSV columns by name (case, '_' and '-' ignored), so column order does not matter
+    private static final class CsvHeader {
+        private final Map<String, Integer> columns;
+
+        private CsvHeader(Map<String, Integer> columns) {
+            this.columns = columns;
+        }
+
+        static CsvHeader parse(String line) {
+            if (line == null) {
+                throw new IllegalArgumentException("Empty upload: a CSV header row is required");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(normalise(names.get(i)), i);
+            }
+            for (String required : List.of("title", "toorg", "contracttype", "startdate", "enddate")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column " + required);
+                }
+            }
+            return new CsvHeader(columns);
+        }
+
+        ImportRow toRow(List<String> fields) {
+            ImportRow row = new ImportRow();
+            row.setTitle(field(fields, "title"));
+            row.setDescription(field(fields, "description"));
+            row.setContractType(field(fields, "contracttype"));
+            row.setToOrg(field(fields, "toorg"));
+            row.setStartDate(field(fields, "startdate"));
+            row.setEndDate(field(fields, "enddate"));
+            String value = field(fields, "value");
+            if (!isBlank(value)) {
+                try {
+                    row.setValue(Double.parseDouble(value.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value '" + value + "'");
+                }
+            }
+            return row;
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static String normalise(String name) {
+            return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+        }
+    }
+
+    // One uploaded contract (CSV row or NDJSON object)
+    public static class ImportRow {
+        private String title;
+        private String description;
+        private String contractType;
+        private String toOrg;
+        private String startDate;
+        private String endDate;
+        private Double value;
+
+        // Set by validation
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private Long toOrgId;
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public String getContractType() { return contractType; }
+        public void setContractType(String contractType) { this.contractType = contractType; }
+
+        public String getToOrg() { return toOrg; }
+        public void setToOrg(String toOrg) { this.toOrg = toOrg; }
+
+        public String getStartDate() { return startDate; }
+        public void setStartDate(String startDate) { this.startDate = startDate; }
+
+        public String getEndDate() { return endDate; }
+        public void setEndDate(String endDate) { this.endDate = endDate; }
+
+        public Double getValue() { return value; }
+        public void setValue(Double value) { this.value = value; }
+    }
+
+    // Progress of one import, as returned by the job-status endpoint
+    public static class ImportJob {
+        private final String jobId;
+        private final Format format;
+        private final Long userId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        ImportJob(String jobId, Format format, Long userId) {
+            this.jobId = jobId;
+            this.format = format;
+            this.userId = userId;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        void finish(String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        void addRead(long rows) { rowsRead.addAndGet(rows); }
+        void addImported(long rows) { imported.addAndGet(rows); }
+
+        void addError(RowError rowError) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(rowError);
+            }
+        }
+
+        public String getJobId() { return jobId; }
+        public Format getFormat() { return format; }
+        public Long getUserId() { return userId; }
+        public String getStatus() { return status; }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public String getError() { return error; }
+        public long getRowsRead() { return rowsRead.get(); }
+        public long getImported() { return imported.get(); }
+        public long getFailed() { return failed.get(); }
+
+        public List<RowError> getErrors() {
+            synchronized (errors) {
+                return List.copyOf(errors);
+            }
+        }
+
+        public long getRowsPerSecond() {
+            if (startedAt == null) {
+                return 0;
+            }
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now()).toMillis();
+            return millis > 0 ? rowsRead.get() * 1000 / millis : rowsRead.get();
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("jobId", jobId);
+            map.put("status", status);
+            map.put("format", format);
+            map.put("submittedAt", submittedAt);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("rowsRead", getRowsRead());
+            map.put("imported", getImported());
+            map.put("failed", getFailed());
+            map.put("rowsPerSecond", getRowsPerSecond());
+            map.put("errors", getErrors());
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import com.sclms.sclms_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams CSV exports straight from the database to the response. Rows come from repository
+ * {@code Stream} queries inside a read-only transaction (served by a replica when one is configured),
+ * are written as they arrive and detached right after, so memory use does not grow with the export.
+ * Contracts and approval history are read one shard after another.
+ */
+@Service
+public class CsvExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvExportService.class);
+
+    private final UserRepository userRepository;
+    private final ContractRepository contractRepository;
+    private final ApprovalHistoryRepository historyRepository;
+    private final TenantShardRouter shardRouter;
+    private final TransactionTemplate readOnly;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CsvExportService(UserRepository userRepository,
+                            ContractRepository contractRepository,
+                            ApprovalHistoryRepository historyRepository,
+                            TenantShardRouter shardRouter,
+                            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.contractRepository = contractRepository;
+        this.historyRepository = historyRepository;
+        this.shardRouter = shardRouter;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    // =========================================================
+    // EXPORTS
+    // =========================================================
+
+    public ResponseEntity<StreamingResponseBody> exportUsers(String status, String role, boolean gzip) {
+        return respond("users_export", gzip, List.of(
+                "ID", "Name", "Email", "Organization", "Role", "Status", "Created Date", "Two Factor Enabled"
+        ), writer -> writeRows(writer, () -> userRepository.streamForExport(status, role), (User user) -> Arrays.asList(
+                user.getId(), user.getName(), user.getEmail(), user.getOrganization(), user.getRole(),
+                user.getStatus(), user.getCreatedDate(), user.getTwoFactorEnabled()
+        )));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportContracts(String status, String organization,
+                                                                 LocalDateTime since, boolean gzip) {
+        return respond("contracts_export", gzip, List.of(
+                "ID", "Contract Number", "Title", "Type", "From Organization", "To Organization", "Status",
+                "Value", "Start Date", "End Date", "Created Date", "Created By", "Approved Date", "Approved By",
+                "Rejection Reason"
+        ), writer -> {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                shardRouter.onShard(shard, () -> writeRows(writer,
+                        () -> contractRepository.streamForExport(status, organization, since), (Contract c) -> Arrays.asList(
+                                c.getId(), c.getContractNumber(), c.getTitle(), c.getContractType(), c.getFromOrg(),
+                                c.getToOrg(), c.getStatus(), c.getValue(), c.getStartDate(), c.getEndDate(),
+                                c.getCreatedDate(), c.getCreatedBy(), c.getApprovedDate(), c.getApprovedBy(),
+                                c.getRejectionReason()
+                        )));
+            }
+            return null;
+        });
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportHistory(String action, LocalDateTime since, boolean gzip) {
+        return respond("approval_history_export", gzip, List.of(
+                "ID", "Contract ID", "Action", "Actor", "Actor Role", "Comment", "Timestamp"
+        ), writer -> {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                shardRouter.onShard(shard, () -> writeRows(writer,
+                        () -> historyRepository.streamForExport(action, since), (ApprovalHistory h) -> Arrays.asList(
+                                h.getId(), h.getContractId(), h.getAction(), h.getActor(), h.getActorRole(),
+                                h.getComment(), h.getTimestamp()
+                        )));
+            }
+            return null;
+        });
+    }
+
+    // =========================================================
+    // ENGINE
+    // =========================================================
+
+    private ResponseEntity<StreamingResponseBody> respond(String name, boolean gzip, List<String> header,
+                                                          Function<Writer, Void> body) {
+        StreamingResponseBody stream = out -> {
+            long started = System.currentTimeMillis();
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                writeLine(writer, header);
+                readOnly.execute(status -> body.apply(writer));
+                writer.flush();
+                if (target instanceof GZIPOutputStream compressed) {
+                    compressed.finish();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            log.debug("📤 Export {} streamed in {} ms", name, System.currentTimeMillis() - started);
+        };
+
+        String fileName = name + (gzip ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(stream);
+    }
+
+    private <T> Void writeRows(Writer writer, Supplier<Stream<T>> query, Function<T, List<Object>> columns) {
+        try (Stream<T> rows = query.get()) {
+            rows.forEach(row -> {
+                writeLine(writer, columns.apply(row));
+                // Nothing is kept in the persistence context, so memory stays flat however many rows follow
+                entityManager.detach(row);
+            });
+        }
+        return null;
+    }
+
+    static void writeLine(Writer writer, List<?> values) {
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values.get(i)));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sclms.sclms_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the in-process meter registry into a ranking of the slowest endpoints, repository methods and
+ * service methods (by total time spent), next to the business counters, so hot spots can be found
+ * without a Prometheus server. Series of one endpoint that differ only by status or outcome are merged;
+ * their percentiles are the worst of the merged series.
+ */
+@Service
+public class MetricsSummaryService {
+
+    private final MeterRegistry registry;
+
+    public MetricsSummaryService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Map<String, Object> summary(int limit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoints", timers("http.server.requests", limit, "method", "uri"));
+        summary.put("repositories", timers("spring.data.repository.invocations", limit, "repository", "method"));
+        summary.put("services", timers("sclms.service", limit, "class", "method"));
+        summary.put("contractTransitions", counters("sclms.contract.transitions", "source", "from", "to"));
+        summary.put("notificationsCreated", counters("sclms.notifications.created", "type"));
+        summary.put("pendingByOrg", gauges("sclms.contracts.pending", "org"));
+        summary.put("cacheHitRatio", gauges("sclms.cache.hit.ratio", "cache"));
+        summary.put("cacheGets", functionCounters("cache.gets", "cache", "result"));
+        return summary;
+    }
+
+    private List<Map<String, Object>> timers(String name, int limit, String... keyTags) {
+        Map<String, TimerStats> byKey = new LinkedHashMap<>();
+        for (Timer timer : registry.find(name).timers()) {
+            String key = key(timer.getId(), keyTags);
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            byKey.computeIfAbsent(key, k -> new TimerStats()).add(snapshot);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        byKey.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, TimerStats> e) -> e.getValue().totalMs).reversed())
+                .limit(limit)
+                .forEach(e -> rows.add(e.getValue().toMap(e.getKey())));
+        return rows;
+    }
+
+    private Map<String, Double> counters(String name, String... keyTags) {
+        Map<String, Double> values = new TreeMap<>();
+        for (Counter counter : registry.find(name).counters()) {
+            values.merge(key(counter.getId(), keyTags), counter.count(), Double::sum);
+        }
+        return values;
+    }
+
+    private Map<String, Double> functionCounters(String name, String... keyTags) {
+        Map<String, Double> values = new TreeMap<>();
+        for (FunctionCounter counter : registry.find(name).functionCounters()) {
+            values.merge(key(counter.getId(), keyTags), counter.count(), Double::sum);
+        }
+        return values;
+    }
+
+    private Map<String, Double> gauges(String name, String keyTag) {
+        Map<String, Double> values = new TreeMap<>();
+        for (Gauge gauge : registry.find(name).gauges()) {
+            values.put(gauge.getId().getTag(keyTag), round(gauge.value()));
+        }
+        return values;
+    }
+
+    private static String key(Meter.Id id, String... keyTags) {
+        StringBuilder key = new StringBuilder();
+        for (String tag : keyTags) {
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            key.append(id.getTag(tag));
+        }
+        return key.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static final class TimerStats {
+        private long count;
+        private double totalMs;
+        private double maxMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+
+        void add(HistogramSnapshot snapshot) {
+            count += snapshot.count();
+            totalMs += snapshot.total(TimeUnit.MILLISECONDS);
+            maxMs = Math.max(maxMs, snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                double ms = value.value(TimeUnit.MILLISECONDS);
+                if (value.percentile() == 0.5) {
+                    p50Ms = Math.max(p50Ms, ms);
+                } else if (value.percentile() == 0.95) {
+                    p95Ms = Math.max(p95Ms, ms);
+                } else if (value.percentile() == 0.99) {
+                    p99Ms = Math.max(p99Ms, ms);
+                }
+            }
+        }
+
+        Map<String, Object> toMap(String name) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("count", count);
+            row.put("totalMs", round(totalMs));
+            row.put("meanMs", count > 0 ? round(totalMs / count) : 0.0);
+            row.put("maxMs", round(maxMs));
+            row.put("p50Ms", round(p50Ms));
+            row.put("p95Ms", round(p95Ms));
+            row.put("p99Ms", round(p99Ms));
+            return row;
+        }
+    }
+}
@@ -1,25 +1,34 @@
 package com.sclms.sclms_backend.service;
 
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.entity.Contract;
 import com.sclms.sclms_backend.entity.Notification;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.NotificationRepository;
 import com.sclms.sclms_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("sclms.service")
 @Transactional
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final ApplicationMetrics metrics;
 
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository,
+                               ApplicationMetrics metrics) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.metrics = metrics;
     }
 
     // Create notifications
@@ -37,7 +46,9 @@ public class NotificationService {
         notification.setIsRead(false);
         notification.setCreatedAt(LocalDateTime.now());
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        metrics.notificationsCreated(type, 1);
+        return saved;
     }
 
     // Contract-related notifications
@@ -47,6 +58,28 @@ public class NotificationService {
         createNotification(approverId, "CONTRACT_CREATED", title, message, contractId);
     }
 
+    // Notify all approvers in one transaction; the inserts go out as a single JDBC batch
+    public void notifyNewContract(List<Long> approverIds, Long contractId, String contractTitle, String fromOrg) {
+        String title = "New Contract for Approval";
+        String message = String.format("Contract '%s' from %s requires your approval", contractTitle, fromOrg);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Notification> notifications = new ArrayList<>(approverIds.size());
+        for (Long approverId : approverIds) {
+            Notification notification = new Notification();
+            notification.setUserId(approverId);
+            notification.setType("CONTRACT_CREATED");
+            notification.setTitle(title);
+            notification.setMessage(message);
+            notification.setContractId(contractId);
+            notification.setIsRead(false);
+            notification.setCreatedAt(now);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+        metrics.notificationsCreated("CONTRACT_CREATED", notifications.size());
+    }
+
     public void notifyContractApproved(Long userId, Long contractId, String contractTitle) {
         String title = "Contract Approved";
         String message = String.format("Your contract '%s' has been approved", contractTitle);
@@ -59,6 +92,33 @@ public class NotificationService {
         createNotification(userId, "CONTRACT_REJECTED", title, message, contractId);
     }
 
+    // One notification per decided contract, saved as a single JDBC batch
+    public void notifyContractsDecided(List<Contract> contracts, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(contracts.size());
+        for (Contract contract : contracts) {
+            if (contract.getCreatedBy() == null) {
+                continue;
+            }
+            boolean approved = "APPROVED".equals(contract.getStatus());
+            Notification notification = new Notification();
+            notification.setUserId(contract.getCreatedBy());
+            notification.setType(approved ? "CONTRACT_APPROVED" : "CONTRACT_REJECTED");
+            notification.setTitle(approved ? "Contract Approved" : "Contract Rejected");
+            notification.setMessage(approved
+                    ? String.format("Your contract '%s' has been approved", contract.getTitle())
+                    : String.format("Your contract '%s' has been rejected. Reason: %s", contract.getTitle(), reason));
+            notification.setContractId(contract.getId());
+            notification.setIsRead(false);
+            notification.setCreatedAt(now);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+        notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getType, Collectors.counting()))
+                .forEach(metrics::notificationsCreated);
+    }
+
     public void notifyContractExpiring(Long userId, Long contractId, String contractTitle, int daysLeft) {
         String title = "Contract Expiring Soon";
         String message = String.format("Contract '%s' will expire in %d days", contractTitle, daysLeft);
@@ -1,42 +1,236 @@
 package com.sclms.sclms_backend.service;
 
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
 import com.sclms.sclms_backend.dto.OrganizationDto;
-import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.entity.Organization;
+import com.sclms.sclms_backend.repository.OrganizationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Organization registry and tenant -> shard map. Lookups are served from an immutable directory snapshot
+ * that is rebuilt only when an organization is added, here or on another instance (detected through the
+ * highest id). The registry lives on the directory shard.
+ */
 @Service
 public class OrganizationService {
 
     private static final Logger log = LoggerFactory.getLogger(OrganizationService.class);
 
-    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
+    private final TransactionTemplate newTransaction;
+    private final ShardRoutingDataSource shards;
+    private final ApplicationMetrics metrics;
+    private final AtomicReference<Directory> directory = new AtomicReference<>();
+    // Held across a JDBC query; a lock rather than a monitor so a virtual thread waiting on it can unmount
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
-    public OrganizationService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public OrganizationService(OrganizationRepository organizationRepository,
+                               PlatformTransactionManager transactionManager,
+                               ShardRoutingDataSource shards,
+                               ApplicationMetrics metrics) {
+        this.organizationRepository = organizationRepository;
+        this.shards = shards;
+        this.metrics = metrics;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     public List<OrganizationDto> getAllOrganizations() {
-        return userRepository.findAll().stream()
-            .map(user -> user.getOrganization())
-            .filter(org -> org != null && !org.trim().isEmpty())
-            .distinct()
-            .map(OrganizationDto::new)
-            .toList();
+        return directory().organizations;
     }
 
+    // Every user may address contracts to any registered organization
     public List<OrganizationDto> getOrganizationsForUser(Authentication auth) {
-        log.info("🔍 getOrganizationsForUser called with auth={}", auth);
+        List<OrganizationDto> organizations = getAllOrganizations();
+        log.debug("🏢 Organizations for {} | count={}", auth != null ? auth.getName() : null, organizations.size());
+        return organizations;
+    }
+
+    public long getDirectoryVersion() {
+        return directory().version;
+    }
+
+    /**
+     * Shard of the tenant's contracts. A name missing from the snapshot may have been registered on another
+     * instance since the last refresh, so it is looked up in the registry before routing; only organizations
+     * that really are unknown (or have no shard recorded) live on the directory shard.
+     */
+    public int getShard(String name) {
+        if (name == null) {
+            return ShardRoutingDataSource.DIRECTORY_SHARD;
+        }
+        String key = name.trim();
+        Integer shard = directory().shardsByName.get(key);
+        if (shard != null) {
+            metrics.cacheHit("organization-shards");
+            return shard;
+        }
+        metrics.cacheMiss("organization-shards");
+
+        Optional<Organization> registered = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                () -> organizationRepository.findByName(key));
+        if (registered.isEmpty() || registered.get().getShardId() == null) {
+            return ShardRoutingDataSource.DIRECTORY_SHARD;
+        }
+        reload();
+        return registered.get().getShardId();
+    }
+
+    public Map<String, Integer> getShardMap() {
+        return directory().shardsByName;
+    }
+
+    /**
+     * Id of an organization that is already registered, or null. Used for counterparties named in
+     * requests and imports, which must not create tenants; a name missing from the snapshot is checked
+     * against the registry in case another instance registered it since the last refresh.
+     */
+    public Long findId(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = name.trim();
+        Long id = directory().idsByName.get(key);
+        if (id != null) {
+            metrics.cacheHit("organizations");
+            return id;
+        }
+        metrics.cacheMiss("organizations");
+
+        Optional<Organization> registered = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                () -> organizationRepository.findByName(key));
+        if (registered.isEmpty()) {
+            return null;
+        }
+        reload();
+        return registered.get().getId();
+    }
+
+    /**
+     * Returns the id of the named organization, registering it first if it is new. Only for an account's
+     * own organization (sign-up, profile changes); contract counterparties go through {@link #findId}. The insert runs in
+     * its own transaction so the id stays valid even if the caller's transaction rolls back.
+     */
+    public Long resolveId(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = name.trim();
+        Long id = directory().idsByName.get(key);
+        if (id != null) {
+            metrics.cacheHit("organizations");
+            return id;
+        }
+        metrics.cacheMiss("organizations");
+
+        try {
+            id = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD, () -> newTransaction.execute(
+                    status -> organizationRepository.findByName(key)
+                            .orElseGet(() -> {
+                                Organization organization = new Organization();
+                                organization.setName(key);
+                                organization.setCreatedAt(LocalDateTime.now());
+                                // New tenants are spread over the shards; existing ones keep their placement
+                                organization.setShardId(Math.floorMod(key.hashCode(), shards.getShardCount()));
+                                return organizationRepository.save(organization);
+                            })
+                            .getId()));
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently (or differs only in case on a case-insensitive collation)
+            id = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                    () -> organizationRepository.findByName(key))
+                    .map(Organization::getId)
+                    .orElseThrow(() -> e);
+        }
+        reload();
+        return id;
+    }
+
+    // Picks up organizations registered on other instances
+    @Scheduled(fixedDelayString = "${organizations.refresh-interval:30000}")
+    public void refreshIfChanged() {
+        Directory current = directory.get();
+        if (current == null) {
+            return;
+        }
+        try {
+            long maxId = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                    organizationRepository::findMaxId);
+            if (maxId != current.version) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Could not check organization directory version: {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            List<Organization> organizations = ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                    organizationRepository::findAll);
+            directory.set(new Directory(organizations));
+            log.debug("🏢 Organization directory loaded | organizations={}", organizations.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Directory directory() {
+        Directory current = directory.get();
+        if (current == null) {
+            reload();
+            current = directory.get();
+        }
+        return current;
+    }
+
+    // =========================================================
+    // IMMUTABLE SNAPSHOT
+    // =========================================================
+
+    private static final class Directory {
+        private final long version;
+        private final List<OrganizationDto> organizations;
+        private final Map<String, Long> idsByName;
+        private final Map<String, Integer> shardsByName;
 
-        // ALWAYS return all organizations for debugging
-        List<OrganizationDto> allOrgs = getAllOrganizations();
-        log.info("✅ DEBUG MODE - returning all {} organizations: {}", allOrgs.size(),
-                allOrgs.stream().map(OrganizationDto::getName).toList());
-        return allOrgs;
+        private Directory(List<Organization> rows) {
+            long maxId = 0;
+            Map<String, Long> ids = new HashMap<>();
+            Map<String, Integer> shards = new HashMap<>();
+            for (Organization organization : rows) {
+                maxId = Math.max(maxId, organization.getId());
+                ids.put(organization.getName(), organization.getId());
+                if (organization.getShardId() != null) {
+                    shards.put(organization.getName(), organization.getShardId());
+                }
+            }
+            this.version = maxId;
+            this.idsByName = Map.copyOf(ids);
+            this.shardsByName = Map.copyOf(shards);
+            this.organizations = rows.stream()
+                    .sorted(Comparator.comparing(Organization::getName, String.CASE_INSENSITIVE_ORDER))
+                    .map(organization -> new OrganizationDto(organization.getId(), organization.getName()))
+                    .toList();
+        }
     }
 }
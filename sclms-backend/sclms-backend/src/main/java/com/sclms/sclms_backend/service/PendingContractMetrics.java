@@ -0,0 +1,58 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.repository.ContractRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the approval backlog as sclms.contracts.pending{org}: contracts waiting for approval per
+ * receiving organization, summed over all shards. One GROUP BY per shard on a schedule; scrapes only read
+ * the last result. Organizations whose backlog drops to zero disappear from the gauge.
+ */
+@Service
+public class PendingContractMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingContractMetrics.class);
+
+    private final ContractRepository contractRepository;
+    private final TenantShardRouter shardRouter;
+    private final MultiGauge pendingByOrg;
+
+    public PendingContractMetrics(ContractRepository contractRepository, TenantShardRouter shardRouter,
+                                  MeterRegistry registry) {
+        this.contractRepository = contractRepository;
+        this.shardRouter = shardRouter;
+        this.pendingByOrg = MultiGauge.builder("sclms.contracts.pending")
+                .description("Contracts waiting for approval per receiving organization")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.pending-refresh-interval:60000}", initialDelay = 15000)
+    public void refresh() {
+        try {
+            Map<String, Long> pending = new HashMap<>();
+            for (List<Object[]> rows : shardRouter.scatter(contractRepository::countPendingByToOrg)) {
+                for (Object[] row : rows) {
+                    String org = row[0] != null ? (String) row[0] : "UNKNOWN";
+                    pending.merge(org, ((Number) row[1]).longValue(), Long::sum);
+                }
+            }
+
+            List<MultiGauge.Row<?>> rows = new ArrayList<>(pending.size());
+            pending.forEach((org, count) -> rows.add(MultiGauge.Row.of(Tags.of("org", org), count)));
+            pendingByOrg.register(rows, true);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not refresh pending contract metrics: {}", e.getMessage());
+        }
+    }
+}
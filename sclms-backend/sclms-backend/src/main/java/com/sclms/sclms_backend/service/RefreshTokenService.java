@@ -0,0 +1,169 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.entity.RefreshToken;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.RefreshTokenRepository;
+import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.TokenRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshTokenExpiration; // 14 days
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               TokenRevocationService tokenRevocationService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    // Issue a new opaque refresh token for the user; only its hash is stored
+    public String issueRefreshToken(User user) {
+        return store(user.getId()).rawToken;
+    }
+
+    /**
+     * Exchanges a refresh token for a new one. The presented token is revoked; presenting an
+     * already-rotated token is treated as theft and revokes every session of that user. The token is
+     * claimed with a conditional UPDATE (revoked = false), so of two concurrent rotations of the same
+     * token only one gets a new chain and the other counts as reuse.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotationResult rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token required");
+        }
+
+        String tokenHash = hash(rawToken);
+        RefreshToken current = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        // From here on the token is spent, whatever the checks below decide
+        if (current.isRevoked() || refreshTokenRepository.claim(tokenHash) == 0) {
+            log.warn("Refresh token reuse detected for userId={} - revoking all sessions", current.getUserId());
+            revokeAllForUser(current.getUserId());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("User not found"));
+
+        if (!"APPROVED".equals(user.getStatus()) || Boolean.TRUE.equals(user.getAccountLocked())) {
+            throw new InvalidRefreshTokenException("Account is not active");
+        }
+
+        IssuedToken next = store(user.getId());
+        refreshTokenRepository.markReplaced(tokenHash, next.tokenHash);
+
+        return new RotationResult(user, next.rawToken);
+    }
+
+    // Revoke a single refresh token (logout)
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return;
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            token.setRevoked(true);
+            refreshTokenRepository.save(token);
+        });
+    }
+
+    // Revoke every refresh token and outstanding access token of the user
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+        tokenRevocationService.revokeAllForUser(userId);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private IssuedToken store(Long userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(raw));
+        token.setUserId(userId);
+        token.setCreatedAt(LocalDateTime.now());
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshTokenExpiration)));
+        token.setRevoked(false);
+        refreshTokenRepository.save(token);
+
+        return new IssuedToken(raw, token.getTokenHash());
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class IssuedToken {
+        private final String rawToken;
+        private final String tokenHash;
+
+        IssuedToken(String rawToken, String tokenHash) {
+            this.rawToken = rawToken;
+            this.tokenHash = tokenHash;
+        }
+    }
+
+    // Result of a successful rotation: the user to mint an access token for and the new refresh token
+    public static class RotationResult {
+        private final User user;
+        private final String refreshToken;
+
+        public RotationResult(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() { return user; }
+        public String getRefreshToken() { return refreshToken; }
+    }
+
+    // Rejected refresh attempts; revocations made before throwing are kept
+    public static class InvalidRefreshTokenException extends RuntimeException {
+        public InvalidRefreshTokenException(String message) {
+            super(message);
+        }
+    }
+}
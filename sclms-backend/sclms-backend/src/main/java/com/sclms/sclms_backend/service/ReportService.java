@@ -0,0 +1,627 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.config.TaskThreads;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.ReportJob;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import com.sclms.sclms_backend.repository.ReportJobRepository;
+import com.sclms.sclms_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Generates admin reports in the background. A request only stores a QUEUED report_jobs row and hands the
+ * job to a bounded worker pool; when the queue is full the request is refused instead of piling up work.
+ * A worker streams the report's rows shard by shard (read-only transactions, entities detached as they are
+ * written) into a CSV file under reports.dir; the expiring-contracts report is instead merged across shards
+ * in expiry order, one keyset page per shard at a time, and writes its progress to the job row every couple of percent,
+ * which is also where it picks up cancellation requests. Report files live on the disk of the node that
+ * generated them; finished jobs and their files are removed after reports.retention-days.
+ */
+@Service
+@Timed("sclms.service")
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final List<String> ACTIVE = List.of(QUEUED, RUNNING);
+    private static final List<String> FINISHED = List.of(COMPLETED, FAILED, CANCELLED);
+
+    // Progress is written at most this many times per job (plus start and finish)
+    private static final int PROGRESS_STEPS = 50;
+    private static final int MIN_PROGRESS_STEP = 500;
+
+    // Rows per shard held while merging the expiring-contracts report
+    private static final int EXPIRING_PAGE_SIZE = 500;
+    private static final Comparator<Contract> EXPIRY_ORDER =
+            Comparator.comparing(Contract::getEndDate).thenComparing(Contract::getId);
+
+    public enum ReportType {
+        CONTRACT_STATUS, APPROVER_THROUGHPUT, EXPIRING_CONTRACTS;
+
+        // Accepts "APPROVER_THROUGHPUT", "approver-throughput", "Approver Throughput Report", ...
+        public static ReportType parse(String value) {
+            String key = value == null ? "" : value.trim().toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+            if (key.endsWith("_REPORT")) {
+                key = key.substring(0, key.length() - "_REPORT".length());
+            }
+            for (ReportType type : values()) {
+                if (type.name().equals(key)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown report type '" + value + "', expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+
+    private final ReportJobRepository jobRepository;
+    private final ContractRepository contractRepository;
+    private final UserRepository userRepository;
+    private final TenantShardRouter shardRouter;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate jobTransaction;
+    private final ThreadPoolExecutor workers;
+
+    // Jobs this node has queued or is running, and the ones asked to stop
+    private final Map<String, Future<?>> localJobs = new ConcurrentHashMap<>();
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${reports.dir:reports}")
+    private String reportsDir;
+
+    @Value("${reports.default-range-days:30}")
+    private int defaultRangeDays;
+
+    @Value("${reports.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    @Value("${reports.retention-days:7}")
+    private long retentionDays;
+
+    public ReportService(ReportJobRepository jobRepository,
+                         ContractRepository contractRepository,
+                         UserRepository userRepository,
+                         TenantShardRouter shardRouter,
+                         PlatformTransactionManager transactionManager,
+                         TaskThreads taskThreads,
+                         @Value("${reports.workers:2}") int workerCount,
+                         @Value("${reports.queue-capacity:20}") int queueCapacity) {
+        this.jobRepository = jobRepository;
+        this.contractRepository = contractRepository;
+        this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Job rows are written in their own transactions, also from inside a worker's read-only one
+        this.jobTransaction = new TransactionTemplate(transactionManager);
+        this.jobTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // reports.workers still bounds how many reports run at once when the workers are virtual threads
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), taskThreads.factory("report-worker-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // =========================================================
+    // JOBS
+    // =========================================================
+
+    /**
+     * Queues a report. Dates are inclusive days; without them contract status and approver throughput cover
+     * the last reports.default-range-days days, expiring contracts the next ones. Only CSV is produced.
+     */
+    public ReportJob submit(String reportType, LocalDate startDate, LocalDate endDate, Long requestedBy) {
+        ReportType type = ReportType.parse(reportType);
+
+        LocalDate today = LocalDate.now();
+        LocalDate first = startDate;
+        LocalDate last = endDate;
+        if (type == ReportType.EXPIRING_CONTRACTS) {
+            first = first != null ? first : today;
+            last = last != null ? last : first.plusDays(defaultRangeDays - 1L);
+        } else {
+            last = last != null ? last : today;
+            first = first != null ? first : last.minusDays(defaultRangeDays - 1L);
+        }
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("End date is before start date");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ReportJob job = new ReportJob();
+        job.setId("RPT-" + UUID.randomUUID());
+        job.setReportType(type.name());
+        job.setFormat("csv");
+        job.setStatus(QUEUED);
+        job.setRangeFrom(first.atStartOfDay());
+        job.setRangeTo(last.plusDays(1).atStartOfDay());
+        job.setRequestedBy(requestedBy);
+        job.setFileName(type.name().toLowerCase(Locale.ROOT) + "_" + first + "_" + last + ".csv");
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        ReportJob saved = onJobTable(() -> jobRepository.save(job));
+
+        String id = saved.getId();
+        FutureTask<Void> task = new FutureTask<>(() -> run(id), null);
+        localJobs.put(id, task);
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(id);
+            finish(id, FAILED, "Report queue is full");
+            throw new IllegalStateException("Too many reports queued, try again later");
+        }
+        log.info("📊 Report {} queued: {} {} - {}", id, type, first, last);
+        return saved;
+    }
+
+    public Optional<ReportJob> getJob(String id) {
+        return onJobTable(() -> jobRepository.findById(id));
+    }
+
+    public List<ReportJob> recentJobs() {
+        return onJobTable(jobRepository::findTop50ByOrderByCreatedAtDesc);
+    }
+
+    // Worker pool usage on this node
+    public Map<String, Object> getQueueStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", workers.getActiveCount());
+        stats.put("queued", workers.getQueue().size());
+        stats.put("capacity", workers.getQueue().size() + workers.getQueue().remainingCapacity());
+        stats.put("workers", workers.getMaximumPoolSize());
+        return stats;
+    }
+
+    // The finished report's file, if this node has it
+    public Optional<Path> reportFile(ReportJob job) {
+        if (!COMPLETED.equals(job.getStatus()) || job.getFilePath() == null) {
+            return Optional.empty();
+        }
+        Path file = Paths.get(job.getFilePath());
+        return Files.isReadable(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Stops a report. A job still waiting in this node's queue is dropped at once; a running one (here or on
+     * another node) stops at its next progress check and its partial file is deleted.
+     */
+    public ReportJob cancel(String id) {
+        ReportJob job = getJob(id).orElseThrow(() -> new RuntimeException("Report not found"));
+        if (FINISHED.contains(job.getStatus())) {
+            throw new IllegalStateException("Report already " + job.getStatus().toLowerCase(Locale.ROOT));
+        }
+
+        Future<?> queued = localJobs.get(id);
+        if (queued != null && workers.remove((Runnable) queued)) {
+            // Taken out of the queue before it started, so run() will not clean up after it
+            localJobs.remove(id);
+            finish(id, CANCELLED, null);
+        } else {
+            cancelled.add(id);
+            onJobTable(() -> jobRepository.requestCancel(id));
+        }
+        log.info("🛑 Report {} cancellation requested", id);
+        return getJob(id).orElseThrow(() -> new RuntimeException("Report not found"));
+    }
+
+    // =========================================================
+    // WORKER
+    // =========================================================
+
+    private void run(String id) {
+        Path directory = Paths.get(reportsDir).toAbsolutePath();
+        Path part = directory.resolve(id + ".csv.part");
+        try {
+            ReportJob job = onJobTable(() -> jobRepository.findById(id).orElse(null));
+            if (job == null || !QUEUED.equals(job.getStatus())) {
+                return;
+            }
+            if (Boolean.TRUE.equals(job.getCancelRequested())) {
+                finish(id, CANCELLED, null);
+                return;
+            }
+
+            ReportType type = ReportType.valueOf(job.getReportType());
+            LocalDateTime from = job.getRangeFrom();
+            LocalDateTime to = job.getRangeTo();
+            long started = System.currentTimeMillis();
+            long total = countRows(type, from, to);
+            onJobTable(() -> {
+                ReportJob running = jobRepository.findById(id).orElseThrow();
+                running.setStatus(RUNNING);
+                running.setTotalRows(total);
+                running.setStartedAt(LocalDateTime.now());
+                running.setUpdatedAt(LocalDateTime.now());
+                return jobRepository.save(running);
+            });
+
+            Files.createDirectories(directory);
+            Progress progress = new Progress(id, total);
+            try (Writer writer = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+                switch (type) {
+                    case CONTRACT_STATUS -> writeContractStatus(writer, from, to, progress);
+                    case APPROVER_THROUGHPUT -> writeApproverThroughput(writer, from, to, progress);
+                    case EXPIRING_CONTRACTS -> writeExpiringContracts(writer, from, to, progress);
+                }
+            }
+            progress.checkCancelled();
+
+            Path file = directory.resolve(id + ".csv");
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(file);
+            onJobTable(() -> {
+                ReportJob done = jobRepository.findById(id).orElseThrow();
+                done.setStatus(COMPLETED);
+                done.setProgress(100);
+                done.setRowsWritten(progress.rows);
+                done.setFilePath(file.toString());
+                done.setFileSize(size);
+                done.setFinishedAt(LocalDateTime.now());
+                done.setUpdatedAt(LocalDateTime.now());
+                return jobRepository.save(done);
+            });
+            log.info("📊 Report {} ({}) completed | rows={} | bytes={} | {} ms",
+                    id, type, progress.rows, size, System.currentTimeMillis() - started);
+        } catch (CancellationException e) {
+            deleteQuietly(part);
+            finish(id, CANCELLED, null);
+            log.info("🛑 Report {} cancelled", id);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            String message = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+            finish(id, FAILED, message);
+            log.warn("⚠️ Report {} failed: {}", id, message);
+        } finally {
+            localJobs.remove(id);
+            cancelled.remove(id);
+        }
+    }
+
+    private long countRows(ReportType type, LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            total += onShardReadOnly(shard, () -> switch (type) {
+                case CONTRACT_STATUS -> contractRepository.countCreatedBetween(from, to);
+                case APPROVER_THROUGHPUT -> contractRepository.countDecidedBetween(from, to);
+                case EXPIRING_CONTRACTS -> contractRepository.countExpiringBetween(from, to);
+            });
+        }
+        return total;
+    }
+
+    private void finish(String id, String status, String error) {
+        try {
+            onJobTable(() -> jobRepository.findById(id).map(job -> {
+                job.setStatus(status);
+                job.setErrorMessage(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                job.setFinishedAt(LocalDateTime.now());
+                job.setUpdatedAt(LocalDateTime.now());
+                return jobRepository.save(job);
+            }));
+        } catch (Exception e) {
+            log.warn("⚠️ Could not mark report {} {}: {}", id, status, e.getMessage());
+        }
+    }
+
+    // Counts rows, and every step writes progress and checks whether the job should stop
+    private final class Progress {
+        private final String jobId;
+        private final long total;
+        private final long step;
+        private long rows;
+
+        private Progress(String jobId, long total) {
+            this.jobId = jobId;
+            this.total = total;
+            this.step = Math.max(MIN_PROGRESS_STEP, total / PROGRESS_STEPS);
+        }
+
+        void row() {
+            rows++;
+            if (cancelled.contains(jobId)) {
+                throw new CancellationException();
+            }
+            if (rows % step == 0) {
+                // Rows can arrive after the count was taken; stay below 100 until the file is complete
+                int percent = total == 0 ? 99 : (int) Math.min(99, rows * 100 / total);
+                boolean stop = onJobTable(() -> {
+                    jobRepository.updateProgress(jobId, percent, rows, LocalDateTime.now());
+                    return Boolean.TRUE.equals(jobRepository.isCancelRequested(jobId));
+                });
+                if (stop) {
+                    throw new CancellationException();
+                }
+            }
+        }
+
+        // Last look before the file is published; cancellation may have come from another node
+        void checkCancelled() {
+            if (cancelled.contains(jobId)
+                    || Boolean.TRUE.equals(onJobTable(() -> jobRepository.isCancelRequested(jobId)))) {
+                throw new CancellationException();
+            }
+        }
+    }
+
+    // =========================================================
+    // REPORTS
+    // =========================================================
+
+    private void writeContractStatus(Writer writer, LocalDateTime from, LocalDateTime to, Progress progress) {
+        CsvExportService.writeLine(writer, List.of(
+                "ID", "Contract Number", "Title", "Type", "From Organization", "To Organization", "Status",
+                "Value", "Created Date", "Decided Date", "Decided By", "Hours To Decision", "Rejection Reason"
+        ));
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            onShardReadOnly(shard, () -> {
+                try (Stream<Contract> contracts = contractRepository.streamCreatedBetween(from, to)) {
+                    contracts.forEach(c -> {
+                        boolean decided = !"PENDING".equals(c.getStatus()) && c.getApprovedDate() != null;
+                        CsvExportService.writeLine(writer, Arrays.asList(
+                                c.getId(), c.getContractNumber(), c.getTitle(), c.getContractType(), c.getFromOrg(),
+                                c.getToOrg(), c.getStatus(), c.getValue(), c.getCreatedDate(),
+                                decided ? c.getApprovedDate() : null, decided ? c.getApprovedBy() : null,
+                                decided ? hoursBetween(c.getCreatedDate(), c.getApprovedDate()) : null,
+                                c.getRejectionReason()
+                        ));
+                        entityManager.detach(c);
+                        progress.row();
+                    });
+                }
+                return null;
+            });
+        }
+    }
+
+    private void writeApproverThroughput(Writer writer, LocalDateTime from, LocalDateTime to, Progress progress) {
+        // One small accumulator per approver, however many decisions are streamed
+        Map<Long, Throughput> byApprover = new HashMap<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            onShardReadOnly(shard, () -> {
+                try (Stream<Contract> contracts = contractRepository.streamDecidedBetween(from, to)) {
+                    contracts.forEach(c -> {
+                        byApprover.computeIfAbsent(c.getApprovedBy(), id -> new Throughput()).add(c);
+                        entityManager.detach(c);
+                        progress.row();
+                    });
+                }
+                return null;
+            });
+        }
+
+        Map<Long, User> approvers = new HashMap<>();
+        onShardReadOnly(ShardRoutingDataSource.DIRECTORY_SHARD,
+                () -> userRepository.findAllById(byApprover.keySet()))
+                .forEach(user -> approvers.put(user.getId(), user));
+
+        double days = Math.max(1, ChronoUnit.DAYS.between(from.toLocalDate(), to.toLocalDate()));
+        CsvExportService.writeLine(writer, List.of(
+                "Approver ID", "Approver Name", "Organization", "Approved", "Rejected", "Total Decisions",
+                "Decisions Per Day", "Average Hours To Decision"
+        ));
+        List<Map.Entry<Long, Throughput>> rows = new ArrayList<>(byApprover.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<Long, Throughput> e) -> e.getValue().total()).reversed());
+        for (Map.Entry<Long, Throughput> row : rows) {
+            User approver = approvers.get(row.getKey());
+            Throughput t = row.getValue();
+            CsvExportService.writeLine(writer, Arrays.asList(
+                    row.getKey(), approver != null ? approver.getName() : null,
+                    approver != null ? approver.getOrganization() : null,
+                    t.approved, t.rejected, t.total(), round(t.total() / days),
+                    t.timed > 0 ? round(t.minutesToDecision / 60.0 / t.timed) : null
+            ));
+        }
+    }
+
+    private void writeExpiringContracts(Writer writer, LocalDateTime from, LocalDateTime to, Progress progress) {
+        LocalDate today = LocalDate.now();
+        CsvExportService.writeLine(writer, List.of(
+                "ID", "Contract Number", "Title", "Type", "From Organization", "To Organization", "Value",
+                "Start Date", "End Date", "Days Until Expiry"
+        ));
+
+        // K-way merge by (endDate, id): each shard is read a page at a time, continuing after its last row
+        int shardCount = shardRouter.getShardCount();
+        List<ArrayDeque<Contract>> pages = new ArrayList<>(shardCount);
+        boolean[] more = new boolean[shardCount];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(
+                Comparator.comparing((Integer shard) -> pages.get(shard).peek(), EXPIRY_ORDER));
+        for (int shard = 0; shard < shardCount; shard++) {
+            pages.add(new ArrayDeque<>(EXPIRING_PAGE_SIZE));
+            more[shard] = loadExpiringPage(shard, pages.get(shard), from, Long.MIN_VALUE, to);
+            if (!pages.get(shard).isEmpty()) {
+                heads.add(shard);
+            }
+        }
+
+        while (!heads.isEmpty()) {
+            int shard = heads.poll();
+            ArrayDeque<Contract> page = pages.get(shard);
+            Contract c = page.poll();
+            CsvExportService.writeLine(writer, Arrays.asList(
+                    c.getId(), c.getContractNumber(), c.getTitle(), c.getContractType(), c.getFromOrg(),
+                    c.getToOrg(), c.getValue(), c.getStartDate(), c.getEndDate(),
+                    ChronoUnit.DAYS.between(today, c.getEndDate().toLocalDate())
+            ));
+            progress.row();
+            if (page.isEmpty() && more[shard]) {
+                more[shard] = loadExpiringPage(shard, page, c.getEndDate(), c.getId(), to);
+            }
+            if (!page.isEmpty()) {
+                heads.add(shard);
+            }
+        }
+    }
+
+    // Appends the shard's next page to the queue (detached once the read-only transaction ends); false on the last page
+    private boolean loadExpiringPage(int shard, ArrayDeque<Contract> page, LocalDateTime afterEnd, Long afterId,
+                                     LocalDateTime to) {
+        List<Contract> rows = onShardReadOnly(shard, () -> contractRepository.findExpiringAfter(
+                afterEnd, afterId, to, PageRequest.of(0, EXPIRING_PAGE_SIZE)));
+        page.addAll(rows);
+        return rows.size() == EXPIRING_PAGE_SIZE;
+    }
+
+    private static final class Throughput {
+        private long approved;
+        private long rejected;
+        private long timed;
+        private long minutesToDecision;
+
+        void add(Contract contract) {
+            if ("APPROVED".equals(contract.getStatus())) {
+                approved++;
+            } else {
+                rejected++;
+            }
+            if (contract.getCreatedDate() != null) {
+                timed++;
+                minutesToDecision += Duration.between(contract.getCreatedDate(), contract.getApprovedDate()).toMinutes();
+            }
+        }
+
+        long total() {
+            return approved + rejected;
+        }
+    }
+
+    private static Double hoursBetween(LocalDateTime start, LocalDateTime end) {
+        return start == null || end == null ? null : round(Duration.between(start, end).toMinutes() / 60.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // =========================================================
+    // HOUSEKEEPING
+    // =========================================================
+
+    /**
+     * Keeps this node's jobs alive, fails jobs whose node stopped touching them (crash or restart), and
+     * removes finished jobs and their files after the retention period.
+     */
+    @Scheduled(fixedDelayString = "${reports.housekeeping-interval:60000}", initialDelay = 30000)
+    public void housekeeping() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (!localJobs.isEmpty()) {
+                onJobTable(() -> jobRepository.touch(List.copyOf(localJobs.keySet()), now));
+            }
+
+            List<ReportJob> stale = onJobTable(() ->
+                    jobRepository.findByStatusInAndUpdatedAtBefore(ACTIVE, now.minusMinutes(staleAfterMinutes)));
+            for (ReportJob job : stale) {
+                if (!localJobs.containsKey(job.getId())) {
+                    finish(job.getId(), FAILED, "Report worker stopped before finishing");
+                    log.warn("⚠️ Report {} was abandoned by its worker", job.getId());
+                }
+            }
+
+            List<ReportJob> expired = onJobTable(() ->
+                    jobRepository.findByStatusInAndFinishedAtBefore(FINISHED, now.minusDays(retentionDays)));
+            for (ReportJob job : expired) {
+                if (job.getFilePath() != null) {
+                    deleteQuietly(Paths.get(job.getFilePath()));
+                }
+            }
+            if (!expired.isEmpty()) {
+                onJobTable(() -> {
+                    jobRepository.deleteAllInBatch(expired);
+                    return null;
+                });
+                log.info("🧹 Removed {} expired reports", expired.size());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Report housekeeping failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING until housekeeping on another node (or after restart) fails them
+        workers.shutdownNow();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    // Jobs are global and live on the directory shard
+    private <T> T onJobTable(Supplier<T> work) {
+        return ShardRoutingDataSource.callOn(ShardRoutingDataSource.DIRECTORY_SHARD,
+                () -> jobTransaction.execute(status -> work.get()));
+    }
+
+    private <T> T onShardReadOnly(int shard, Supplier<T> work) {
+        return ShardRoutingDataSource.callOn(shard, () -> readOnly.execute(status -> work.get()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
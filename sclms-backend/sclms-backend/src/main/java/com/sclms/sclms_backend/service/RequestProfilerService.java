@@ -0,0 +1,153 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.RequestProfile;
+import com.sclms.sclms_backend.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Decides who gets the Server-Timing header and keeps the slowest requests since startup (or the last
+ * reset) in a bounded buffer for /api/admin/profiling/slowest.
+ *
+ * Server-Timing goes to every caller with a role in {@code profiling.server-timing.roles}, and to single
+ * users an admin switched it on for (e.g. the approver who reports a slow queue page) until it expires.
+ */
+@Service
+public class RequestProfilerService {
+
+    private final Set<String> serverTimingRoles;
+    private final Map<Long, Instant> serverTimingUsers = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    // Min-heap on wall time: the head is the fastest of the kept requests and the first to be replaced
+    private final PriorityQueue<SlowRequest> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowRequest::wallNanos));
+    // Wall time a request must beat to get in once the buffer is full; read without the lock
+    private volatile long admissionNanos;
+
+    public RequestProfilerService(@Value("${profiling.server-timing.roles:ADMIN}") String serverTimingRoles,
+                                  @Value("${profiling.slowest.size:50}") int capacity) {
+        this.serverTimingRoles = Arrays.stream(serverTimingRoles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(role -> role.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // =========================================================
+    // SERVER-TIMING
+    // =========================================================
+
+    public boolean isServerTimingEnabled(User caller) {
+        if (caller == null) {
+            return false;
+        }
+        if (caller.getRole() != null && serverTimingRoles.contains(caller.getRole().toUpperCase(Locale.ROOT))) {
+            return true;
+        }
+        Instant until = caller.getId() != null ? serverTimingUsers.get(caller.getId()) : null;
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            serverTimingUsers.remove(caller.getId(), until);
+            return false;
+        }
+        return true;
+    }
+
+    public Instant enableServerTiming(Long userId, int minutes) {
+        Instant until = Instant.now().plusSeconds(60L * Math.max(1, minutes));
+        serverTimingUsers.put(userId, until);
+        return until;
+    }
+
+    public void disableServerTiming(Long userId) {
+        serverTimingUsers.remove(userId);
+    }
+
+    public Map<Long, Instant> getServerTimingUsers() {
+        Instant now = Instant.now();
+        serverTimingUsers.values().removeIf(until -> until.isBefore(now));
+        return Map.copyOf(serverTimingUsers);
+    }
+
+    // =========================================================
+    // SLOWEST REQUESTS (top K)
+    // =========================================================
+
+    public void record(String method, String path, int status, RequestProfile profile) {
+        long wall = profile.wallNanos();
+        if (wall <= admissionNanos) {
+            return;
+        }
+        SlowRequest request = new SlowRequest(LocalDateTime.now(), method, path, profile.getRoute(), status,
+                profile.getUser(), wall, profile.getDbNanos(), profile.getStatements(),
+                profile.getSerializationNanos(), profile.getCacheHits(), profile.getCacheMisses());
+        synchronized (slowest) {
+            if (slowest.size() < capacity) {
+                slowest.add(request);
+            } else if (wall > slowest.peek().wallNanos()) {
+                slowest.poll();
+                slowest.add(request);
+            }
+            if (slowest.size() == capacity) {
+                admissionNanos = slowest.peek().wallNanos();
+            }
+        }
+    }
+
+    // Slowest first
+    public List<Map<String, Object>> getSlowest() {
+        List<SlowRequest> requests;
+        synchronized (slowest) {
+            requests = new ArrayList<>(slowest);
+        }
+        requests.sort(Comparator.comparingLong(SlowRequest::wallNanos).reversed());
+        return requests.stream().map(SlowRequest::toMap).toList();
+    }
+
+    public void reset() {
+        synchronized (slowest) {
+            slowest.clear();
+            admissionNanos = 0;
+        }
+    }
+
+    private record SlowRequest(LocalDateTime at, String method, String path, String route, int status, String user,
+                               long wallNanos, long dbNanos, int statements, long serializationNanos,
+                               int cacheHits, int cacheMisses) {
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("at", at);
+            map.put("method", method);
+            map.put("path", path);
+            map.put("route", route);
+            map.put("status", status);
+            map.put("user", user);
+            map.put("wallMs", RequestProfile.millis(wallNanos));
+            map.put("dbMs", RequestProfile.millis(dbNanos));
+            map.put("statements", statements);
+            map.put("serializationMs", RequestProfile.millis(serializationNanos));
+            map.put("appMs", RequestProfile.millis(Math.max(0, wallNanos - dbNanos - serializationNanos)));
+            map.put("cacheHits", cacheHits);
+            map.put("cacheMisses", cacheMisses);
+            return map;
+        }
+    }
+}
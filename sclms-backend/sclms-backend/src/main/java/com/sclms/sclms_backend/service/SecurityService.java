@@ -2,21 +2,20 @@ package com.sclms.sclms_backend.service;
 
 import com.sclms.sclms_backend.entity.SystemSettings;
 import com.sclms.sclms_backend.entity.User;
-import com.sclms.sclms_backend.repository.SystemSettingsRepository;
 import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.PasswordPolicyEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.regex.Pattern;
 
 @Service
 public class SecurityService {
 
     @Autowired
-    private SystemSettingsRepository systemSettingsRepository;
+    private SystemSettingsService systemSettingsService;
 
     @Autowired
     private UserRepository userRepository;
@@ -24,39 +23,20 @@ public class SecurityService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // Get system security settings
+    @Autowired
+    private PasswordPolicyEngine passwordPolicyEngine;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    // Get system security settings (cached snapshot, no database access)
     public SystemSettings getSecuritySettings() {
-        return systemSettingsRepository.findAll().stream()
-                .findFirst()
-                .orElseGet(() -> systemSettingsRepository.save(new SystemSettings()));
+        return systemSettingsService.getSystemSettings();
     }
 
-    // Validate password against policy
+    // Validate password against the compiled policy (no database access or regex per call)
     public void validatePasswordPolicy(String password) throws IllegalArgumentException {
-        SystemSettings settings = getSecuritySettings();
-
-        // Check minimum length
-        if (password.length() < settings.getPasswordMinLength()) {
-            throw new IllegalArgumentException("Password must be at least " + settings.getPasswordMinLength() + " characters long");
-        }
-
-        // Check for uppercase letters
-        if (settings.getPasswordRequireUppercase() &&
-            !Pattern.compile("[A-Z]").matcher(password).find()) {
-            throw new IllegalArgumentException("Password must contain at least one uppercase letter");
-        }
-
-        // Check for numbers
-        if (settings.getPasswordRequireNumbers() &&
-            !Pattern.compile("[0-9]").matcher(password).find()) {
-            throw new IllegalArgumentException("Password must contain at least one number");
-        }
-
-        // Check for special characters
-        if (settings.getPasswordRequireSpecialChars() &&
-            !Pattern.compile("[!@#$%^&*()_+-=\\[\\]{}|;':\",./<>?]").matcher(password).find()) {
-            throw new IllegalArgumentException("Password must contain at least one special character");
-        }
+        passwordPolicyEngine.validate(password);
     }
 
     // Check if password has expired
@@ -121,6 +101,8 @@ public class SecurityService {
         user.setLockoutUntil(LocalDateTime.now().plusMinutes(settings.getAccountLockoutDuration()));
 
         userRepository.save(user);
+        // Sessions already open must not outlive the lock
+        refreshTokenService.revokeAllForUser(user.getId());
     }
 
     // Unlock account
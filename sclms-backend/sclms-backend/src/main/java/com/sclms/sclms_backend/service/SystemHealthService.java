@@ -0,0 +1,337 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Probes the running system for the admin dashboard and the Actuator health endpoint: database
+ * connectivity and latency per shard, connection pool saturation, JVM memory, GC and threads, disk use
+ * of the upload directory, and the depth of the notification backlog and background work queues.
+ * The result is cached for system-health.cache-ttl-ms, so frequent polling costs one probe per period.
+ * Each section carries its own health (UP, DEGRADED or DOWN); the overall status is the worst of them.
+ */
+@Service
+public class SystemHealthService {
+
+    private static final Logger log = LoggerFactory.getLogger(SystemHealthService.class);
+
+    public static final String UP = "UP";
+    public static final String DEGRADED = "DEGRADED";
+    public static final String DOWN = "DOWN";
+
+    private final ShardRoutingDataSource shards;
+    private final ConnectionPoolService connectionPoolService;
+    private final NotificationRepository notificationRepository;
+    private final ReportService reportService;
+    private final ContractImportService importService;
+    private final FileStorageService fileStorageService;
+    private final ApplicationMetrics metrics;
+
+    // The probes block on JDBC and the file system; waiting virtual threads unmount on a ReentrantLock
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot cached;
+
+    // Walking the upload tree is slow on big volumes, so its size is refreshed on its own schedule
+    private final AtomicLong uploadBytes = new AtomicLong(-1);
+    private final AtomicLong uploadFiles = new AtomicLong(-1);
+
+    @Value("${system-health.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    @Value("${system-health.db-timeout-seconds:2}")
+    private int dbTimeoutSeconds;
+
+    @Value("${system-health.memory-warning-percent:90}")
+    private double memoryWarningPercent;
+
+    @Value("${system-health.disk-min-free-mb:500}")
+    private long diskMinFreeMb;
+
+    @Value("${app.version:1.0.0}")
+    private String version;
+
+    public SystemHealthService(ShardRoutingDataSource shards,
+                               ConnectionPoolService connectionPoolService,
+                               NotificationRepository notificationRepository,
+                               ReportService reportService,
+                               ContractImportService importService,
+                               FileStorageService fileStorageService,
+                               ApplicationMetrics metrics) {
+        this.shards = shards;
+        this.connectionPoolService = connectionPoolService;
+        this.notificationRepository = notificationRepository;
+        this.reportService = reportService;
+        this.importService = importService;
+        this.fileStorageService = fileStorageService;
+        this.metrics = metrics;
+    }
+
+    // =========================================================
+    // SNAPSHOT
+    // =========================================================
+
+    public Map<String, Object> getHealth() {
+        Snapshot snapshot = cached;
+        if (snapshot == null || snapshot.isOlderThan(cacheTtlMs)) {
+            // One probe per period however many dashboards poll; the others wait for it
+            refreshLock.lock();
+            try {
+                snapshot = cached;
+                if (snapshot == null || snapshot.isOlderThan(cacheTtlMs)) {
+                    metrics.cacheMiss("system-health");
+                    snapshot = new Snapshot(System.currentTimeMillis(), collect());
+                    cached = snapshot;
+                    return snapshot.data;
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        metrics.cacheHit("system-health");
+        return snapshot.data;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getSection(String name) {
+        return (Map<String, Object>) getHealth().get(name);
+    }
+
+    private Map<String, Object> collect() {
+        long started = System.currentTimeMillis();
+        Map<String, Object> database = probeDatabase();
+        Map<String, Object> pool = probePool();
+        Map<String, Object> memory = probeMemory();
+        Map<String, Object> threads = probeThreads();
+        Map<String, Object> uploads = probeUploads();
+        Map<String, Object> queues = probeQueues();
+
+        String status = UP;
+        for (Map<String, Object> section : List.of(database, pool, memory, threads, uploads, queues)) {
+            status = worst(status, (String) section.get("health"));
+        }
+
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", status);
+        health.put("timestamp", LocalDateTime.now());
+        health.put("version", version);
+        health.put("uptimeSeconds", ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
+        health.put("database", database);
+        health.put("connectionPool", pool);
+        health.put("memory", memory);
+        health.put("threads", threads);
+        health.put("uploads", uploads);
+        health.put("queues", queues);
+        health.put("probeMs", System.currentTimeMillis() - started);
+        return health;
+    }
+
+    // =========================================================
+    // PROBES
+    // =========================================================
+
+    private Map<String, Object> probeDatabase() {
+        List<Map<String, Object>> shardStatus = new ArrayList<>();
+        boolean allUp = true;
+        long maxLatency = 0;
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            Map<String, Object> probe = new LinkedHashMap<>();
+            probe.put("shard", shard);
+            long started = System.nanoTime();
+            try (Connection connection = shards.getShard(shard).getConnection()) {
+                boolean valid = connection.isValid(dbTimeoutSeconds);
+                long latencyMs = (System.nanoTime() - started) / 1_000_000;
+                probe.put("status", valid ? UP : DOWN);
+                probe.put("latencyMs", latencyMs);
+                allUp &= valid;
+                maxLatency = Math.max(maxLatency, latencyMs);
+            } catch (Exception e) {
+                probe.put("status", DOWN);
+                probe.put("error", e.getMessage());
+                allUp = false;
+                log.warn("⚠️ Health probe: shard {} unreachable: {}", shard, e.getMessage());
+            }
+            shardStatus.add(probe);
+        }
+
+        Map<String, Object> database = new LinkedHashMap<>();
+        // "status" is what the admin dashboard shows
+        database.put("status", allUp ? "CONNECTED" : "DISCONNECTED");
+        database.put("latencyMs", maxLatency);
+        database.put("shards", shardStatus);
+        database.put("replicas", connectionPoolService.getPoolMetrics().get("replicas"));
+        return withStatus(database, allUp ? UP : DOWN);
+    }
+
+    private Map<String, Object> probePool() {
+        Map<String, Object> pool = new LinkedHashMap<>(connectionPoolService.getPoolMetrics());
+        pool.remove("replicas");
+        int active = ((Number) pool.getOrDefault("active", 0)).intValue();
+        int max = ((Number) pool.getOrDefault("max", 0)).intValue();
+        int pending = ((Number) pool.getOrDefault("pending", 0)).intValue();
+        pool.put("saturationPercent", max > 0 ? round(active * 100.0 / max) : 0.0);
+        // Threads waiting for a connection mean the pool, not the database, is the bottleneck
+        boolean saturated = pending > 0 && active >= max;
+        pool.put("saturated", saturated);
+        return withStatus(pool, saturated ? DEGRADED : UP);
+    }
+
+    private Map<String, Object> probeMemory() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memoryBean.getNonHeapMemoryUsage();
+        long heapLimit = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        double usagePercent = round(heap.getUsed() * 100.0 / heapLimit);
+
+        List<Map<String, Object>> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(Map.of(
+                    "name", gc.getName(),
+                    "collections", gc.getCollectionCount(),
+                    "timeMs", gc.getCollectionTime()
+            ));
+        }
+
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("usagePercent", usagePercent);
+        memory.put("heapUsedMb", toMb(heap.getUsed()));
+        memory.put("heapCommittedMb", toMb(heap.getCommitted()));
+        memory.put("heapMaxMb", heap.getMax() > 0 ? toMb(heap.getMax()) : -1);
+        memory.put("nonHeapUsedMb", toMb(nonHeap.getUsed()));
+        memory.put("nonHeapCommittedMb", toMb(nonHeap.getCommitted()));
+        memory.put("gc", collectors);
+        return withStatus(memory, usagePercent >= memoryWarningPercent ? DEGRADED : UP);
+    }
+
+    private Map<String, Object> probeThreads() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long[] deadlocked = threadBean.findDeadlockedThreads();
+
+        Map<String, Object> threads = new LinkedHashMap<>();
+        threads.put("live", threadBean.getThreadCount());
+        threads.put("daemon", threadBean.getDaemonThreadCount());
+        threads.put("peak", threadBean.getPeakThreadCount());
+        threads.put("totalStarted", threadBean.getTotalStartedThreadCount());
+        threads.put("deadlocked", deadlocked != null ? deadlocked.length : 0);
+        return withStatus(threads, deadlocked != null ? DEGRADED : UP);
+    }
+
+    private Map<String, Object> probeUploads() {
+        Path directory = Paths.get(fileStorageService.getUploadDir()).toAbsolutePath();
+        Map<String, Object> uploads = new LinkedHashMap<>();
+        uploads.put("path", directory.toString());
+        try {
+            FileStore store = Files.getFileStore(Files.exists(directory) ? directory : directory.getRoot());
+            long total = store.getTotalSpace();
+            long usable = store.getUsableSpace();
+            uploads.put("diskTotalMb", toMb(total));
+            uploads.put("diskFreeMb", toMb(usable));
+            uploads.put("diskUsedPercent", total > 0 ? round((total - usable) * 100.0 / total) : 0.0);
+            uploads.put("directorySizeMb", uploadBytes.get() >= 0 ? toMb(uploadBytes.get()) : null);
+            uploads.put("files", uploadFiles.get() >= 0 ? uploadFiles.get() : null);
+            return withStatus(uploads, toMb(usable) < diskMinFreeMb ? DEGRADED : UP);
+        } catch (IOException e) {
+            uploads.put("error", e.getMessage());
+            return withStatus(uploads, DOWN);
+        }
+    }
+
+    private Map<String, Object> probeQueues() {
+        Map<String, Object> queues = new LinkedHashMap<>();
+        String status = UP;
+        try {
+            queues.put("unreadNotifications", notificationRepository.countByIsReadFalse());
+        } catch (Exception e) {
+            queues.put("unreadNotifications", null);
+            status = DEGRADED;
+        }
+        Map<String, Object> reports = reportService.getQueueStats();
+        queues.put("reports", reports);
+        queues.put("imports", importService.getQueueStats());
+        // A full report queue turns new requests away
+        if (((Number) reports.get("queued")).intValue() >= ((Number) reports.get("capacity")).intValue()) {
+            status = DEGRADED;
+        }
+        return withStatus(queues, status);
+    }
+
+    @Scheduled(fixedDelayString = "${system-health.upload-scan-interval:600000}", initialDelay = 10000)
+    public void scanUploadDirectory() {
+        Path directory = Paths.get(fileStorageService.getUploadDir());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long[] totals = new long[2];
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    totals[0] += Files.size(file);
+                    totals[1]++;
+                } catch (IOException ignored) {
+                    // Deleted while walking
+                }
+            });
+            uploadBytes.set(totals[0]);
+            uploadFiles.set(totals[1]);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not measure upload directory: {}", e.getMessage());
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private static Map<String, Object> withStatus(Map<String, Object> section, String status) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("health", status);
+        result.putAll(section);
+        return result;
+    }
+
+    private static String worst(String current, String candidate) {
+        if (DOWN.equals(current) || DOWN.equals(candidate)) {
+            return DOWN;
+        }
+        return DEGRADED.equals(current) || DEGRADED.equals(candidate) ? DEGRADED : UP;
+    }
+
+    private static long toMb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record Snapshot(long takenAt, Map<String, Object> data) {
+        boolean isOlderThan(long ttlMs) {
+            return System.currentTimeMillis() - takenAt > ttlMs;
+        }
+    }
+}
@@ -1,38 +1,156 @@
 package com.sclms.sclms_backend.service;
 
+import com.sclms.sclms_backend.config.ApplicationMetrics;
 import com.sclms.sclms_backend.entity.SystemSettings;
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.SystemSettingsRepository;
 import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.PasswordPolicyEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Map;
-
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the single SystemSettings row from an immutable in-memory snapshot. Every update replaces
+ * the snapshot after its transaction commits and increments {@code settings_version}; other
+ * instances poll that column and reload only when it moved. Callers always get their own copy, so
+ * nothing outside this class can change the snapshot.
+ */
 @Service
 public class SystemSettingsService {
 
+    private static final Logger log = LoggerFactory.getLogger(SystemSettingsService.class);
+
     @Autowired
     private SystemSettingsRepository systemSettingsRepository;
 
     @Autowired
     private UserRepository userRepository;
 
-    // Get or create system settings (singleton pattern)
+    @Autowired
+    private PasswordPolicyEngine passwordPolicyEngine;
+
+    @Autowired
+    private ConnectionPoolService connectionPoolService;
+
+    @Autowired
+    private ApplicationMetrics metrics;
+
+    // Immutable view of the settings row; replaced as a whole, never mutated
+    private final AtomicReference<SystemSettings> snapshot = new AtomicReference<>();
+    // Not synchronized: reload queries the database, which would pin a virtual thread to its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Get system settings (copy of the cached snapshot; the row is created on first access)
     public SystemSettings getSystemSettings() {
+        SystemSettings current = snapshot.get();
+        if (current == null) {
+            metrics.cacheMiss("system-settings");
+            current = reload();
+        } else {
+            metrics.cacheHit("system-settings");
+        }
+        return copyOf(current);
+    }
+
+    // Picks up changes made on other instances by comparing a single version column
+    @Scheduled(fixedDelayString = "${settings.refresh-interval:10000}")
+    public void refreshIfChanged() {
+        SystemSettings current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        try {
+            Long version = systemSettingsRepository.findSettingsVersion(current.getId()).orElse(null);
+            if (version == null || !version.equals(versionOf(current))) {
+                log.info("🔄 System settings changed on another instance | version {} -> {}", versionOf(current), version);
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Could not check system settings version: {}", e.getMessage());
+        }
+    }
+
+    private SystemSettings reload() {
+        reloadLock.lock();
+        try {
+            SystemSettings loaded = systemSettingsRepository.findAll().stream()
+                    .findFirst()
+                    .orElseGet(() -> systemSettingsRepository.save(new SystemSettings()));
+            return publish(copyOf(loaded));
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Managed entity for the update methods; callers must not hand it out
+    private SystemSettings loadForUpdate() {
+        SystemSettings current = snapshot.get();
+        if (current != null && current.getId() != null) {
+            Optional<SystemSettings> managed = systemSettingsRepository.findById(current.getId());
+            if (managed.isPresent()) {
+                return managed.get();
+            }
+        }
         return systemSettingsRepository.findAll().stream()
                 .findFirst()
-                .orElseGet(() -> {
-                    SystemSettings defaultSettings = new SystemSettings();
-                    return systemSettingsRepository.save(defaultSettings);
-                });
+                .orElseGet(SystemSettings::new);
+    }
+
+    // Saves the row, bumps its version and swaps in the new snapshot once the transaction commits
+    private SystemSettings persist(SystemSettings settings) {
+        SystemSettings saved = systemSettingsRepository.save(settings);
+        systemSettingsRepository.incrementSettingsVersion(saved.getId());
+
+        SystemSettings updated = copyOf(saved);
+        updated.setSettingsVersion(versionOf(saved) + 1);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(updated);
+                }
+            });
+        } else {
+            publish(updated);
+        }
+        return copyOf(updated);
+    }
+
+    private SystemSettings publish(SystemSettings settings) {
+        snapshot.set(settings);
+        passwordPolicyEngine.update(settings);
+        connectionPoolService.applyMaxConnections(settings.getMaxConnections());
+        return settings;
+    }
+
+    // Detached copy: keeps the managed entity out of the snapshot and the snapshot out of callers' hands
+    private static SystemSettings copyOf(SystemSettings source) {
+        SystemSettings copy = new SystemSettings();
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private static long versionOf(SystemSettings settings) {
+        return settings.getSettingsVersion() != null ? settings.getSettingsVersion() : 0L;
     }
 
     // Update general settings
     @Transactional
     public SystemSettings updateGeneralSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("organizationName")) {
             settings.setOrganizationName((String) updates.get("organizationName"));
@@ -60,13 +178,13 @@ public class SystemSettingsService {
         if (updatedBy != null) {
             settings.setUpdatedBy(updatedBy);
         }
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update security settings
     @Transactional
     public SystemSettings updateSecuritySettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("passwordMinLength")) {
             settings.setPasswordMinLength((Integer) updates.get("passwordMinLength"));
@@ -97,7 +215,7 @@ public class SystemSettingsService {
         if (updatedBy != null) {
             settings.setUpdatedBy(updatedBy);
         }
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update password policy
@@ -109,7 +227,7 @@ public class SystemSettingsService {
     // Update 2FA settings
     @Transactional
     public SystemSettings updateTwoFactorSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("twoFactorEnabled")) {
             settings.setTwoFactorEnabled((Boolean) updates.get("twoFactorEnabled"));
@@ -119,13 +237,13 @@ public class SystemSettingsService {
         if (updatedBy != null) {
             settings.setUpdatedBy(updatedBy);
         }
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update email settings
     @Transactional
     public SystemSettings updateEmailSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("smtpHost")) {
             settings.setSmtpHost((String) updates.get("smtpHost"));
@@ -150,13 +268,13 @@ public class SystemSettingsService {
         }
 
         settings.setUpdatedBy(updatedBy);
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update notification settings
     @Transactional
     public SystemSettings updateNotificationSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("systemAlertsEnabled")) {
             settings.setSystemAlertsEnabled((Boolean) updates.get("systemAlertsEnabled"));
@@ -172,13 +290,13 @@ public class SystemSettingsService {
         }
 
         settings.setUpdatedBy(updatedBy);
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update database settings
     @Transactional
     public SystemSettings updateDatabaseSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("backupFrequency")) {
             settings.setBackupFrequency((String) updates.get("backupFrequency"));
@@ -203,13 +321,13 @@ public class SystemSettingsService {
         }
 
         settings.setUpdatedBy(updatedBy);
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update user management settings
     @Transactional
     public SystemSettings updateUserSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("defaultUserRole")) {
             settings.setDefaultUserRole((String) updates.get("defaultUserRole"));
@@ -231,13 +349,13 @@ public class SystemSettingsService {
         }
 
         settings.setUpdatedBy(updatedBy);
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Update API settings
     @Transactional
     public SystemSettings updateApiSettings(Map<String, Object> updates, Long updatedBy) {
-        SystemSettings settings = getSystemSettings();
+        SystemSettings settings = loadForUpdate();
 
         if (updates.containsKey("apiBaseUrl")) {
             settings.setApiBaseUrl((String) updates.get("apiBaseUrl"));
@@ -259,7 +377,7 @@ public class SystemSettingsService {
         }
 
         settings.setUpdatedBy(updatedBy);
-        return systemSettingsRepository.save(settings);
+        return persist(settings);
     }
 
     // Get user by ID for updatedBy field
@@ -0,0 +1,201 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.config.TaskThreads;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs contract / approval-history repository work on the right shard.
+ *
+ * A contract lives on the shard of the organization it is sent to (toOrg), so approver queues and
+ * tenant analytics are answered by a single shard; lookups by contract id use the shard encoded in the id.
+ * Queries that span tenants (a user's sent contracts, admin analytics) are scattered to every shard in
+ * parallel and the results gathered. Work on a non-directory shard runs in its own transaction (read-only
+ * when the caller's is) and must only touch contracts and approval history; global tables such as users
+ * and notifications live on the directory shard. With a single shard, shard-local work joins the caller's
+ * transaction (or starts one) and scatter runs inline.
+ */
+@Service
+public class TenantShardRouter {
+
+    private final ShardRoutingDataSource shards;
+    private final OrganizationService organizationService;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService scatterExecutor;
+
+    public TenantShardRouter(ShardRoutingDataSource shards, OrganizationService organizationService,
+                             PlatformTransactionManager transactionManager, TaskThreads taskThreads) {
+        this.shards = shards;
+        this.organizationService = organizationService;
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly.setReadOnly(true);
+
+        // Platform threads are shared by all requests' scatters; virtual ones are started per shard query
+        int shardCount = shards.getShardCount();
+        if (shardCount == 1) {
+            this.scatterExecutor = null;
+        } else if (taskThreads.isVirtual()) {
+            this.scatterExecutor = taskThreads.perTask("shard-scatter-");
+        } else {
+            this.scatterExecutor = Executors.newFixedThreadPool(shardCount, TaskThreads.platformFactory("shard-scatter-"));
+        }
+    }
+
+    public int getShardCount() {
+        return shards.getShardCount();
+    }
+
+    public int shardForTenant(String organization) {
+        return shards.getShardCount() == 1
+                ? ShardRoutingDataSource.DIRECTORY_SHARD
+                : organizationService.getShard(organization);
+    }
+
+    // =========================================================
+    // SHARD-LOCAL
+    // =========================================================
+
+    public <T> T forTenant(String organization, Supplier<T> work) {
+        return onShard(shardForTenant(organization), work);
+    }
+
+    public <T> T forContract(Long contractId, Supplier<T> work) {
+        return onShard(ShardRoutingDataSource.shardOfId(contractId), work);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (shards.getShardCount() == 1) {
+            // Joins the caller's transaction; otherwise the work still runs in one, as it does on other shards
+            return TransactionSynchronizationManager.isActualTransactionActive()
+                    ? work.get()
+                    : readWrite.execute(status -> work.get());
+        }
+        shards.getShard(shard); // validates the shard number
+        TransactionTemplate transaction = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? readOnly : readWrite;
+        return ShardRoutingDataSource.callOn(shard, () -> transaction.execute(status -> work.get()));
+    }
+
+    // =========================================================
+    // SCATTER / GATHER
+    // =========================================================
+
+    // Runs the work on every shard in parallel; results are in shard order
+    public <T> List<T> scatter(Supplier<T> work) {
+        int shardCount = shards.getShardCount();
+        if (shardCount == 1) {
+            return Collections.singletonList(work.get());
+        }
+
+        TransactionTemplate transaction = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? readOnly : readWrite;
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() ->
+                    ShardRoutingDataSource.callOn(target, () -> transaction.execute(status -> work.get()))));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while querying shards", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Shard query failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    public long scatterSum(LongSupplier work) {
+        return scatter(work::getAsLong).stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * One page of a query ordered across shards. Each shard is asked for its first offset + limit rows in
+     * the given order (work gets that count and must apply the order and limit in its query); the sorted
+     * per-shard lists are then merged k-way, stopping once the page is complete.
+     */
+    public <T> List<T> scatterMerge(IntFunction<List<T>> work, Comparator<? super T> order, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid page: offset=" + offset + ", limit=" + limit);
+        }
+        int rowsPerShard = Math.addExact(offset, limit);
+        return merge(scatter(() -> work.apply(rowsPerShard)), order, offset, limit);
+    }
+
+    // Every row in the given order; work must return its shard's rows in that order, which are merged k-way
+    public <T> List<T> scatterMergeAll(Supplier<List<T>> work, Comparator<? super T> order) {
+        return merge(scatter(work), order, 0, Integer.MAX_VALUE);
+    }
+
+    private static <T> List<T> merge(List<List<T>> perShard, Comparator<? super T> order, int offset, int limit) {
+        if (perShard.size() == 1) {
+            List<T> rows = perShard.get(0);
+            return offset >= rows.size() ? new ArrayList<>()
+                    : new ArrayList<>(rows.subList(offset, (int) Math.min(rows.size(), (long) offset + limit)));
+        }
+
+        // Heads of the shard lists: {shard, position}, smallest head first
+        PriorityQueue<int[]> heads = new PriorityQueue<>(perShard.size(),
+                (a, b) -> order.compare(perShard.get(a[0]).get(a[1]), perShard.get(b[0]).get(b[1])));
+        int available = 0;
+        for (int shard = 0; shard < perShard.size(); shard++) {
+            available += perShard.get(shard).size();
+            if (!perShard.get(shard).isEmpty()) {
+                heads.add(new int[]{shard, 0});
+            }
+        }
+
+        List<T> page = new ArrayList<>(Math.max(0, Math.min(limit, available - offset)));
+        int skipped = 0;
+        while (page.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> rows = perShard.get(head[0]);
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(rows.get(head[1]));
+            }
+            if (++head[1] < rows.size()) {
+                heads.add(head);
+            }
+        }
+        return page;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sclms.sclms_backend.service;
 
+import com.sclms.sclms_backend.security.TotpEngine;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
@@ -12,9 +13,11 @@ import java.util.Map;
 public class TwoFactorAuthService {
 
     private final GoogleAuthenticator gAuth;
+    private final TotpEngine totpEngine;
 
-    public TwoFactorAuthService() {
+    public TwoFactorAuthService(TotpEngine totpEngine) {
         this.gAuth = new GoogleAuthenticator();
+        this.totpEngine = totpEngine;
     }
 
     /**
@@ -37,16 +40,17 @@ public class TwoFactorAuthService {
     }
 
     /**
-     * Validates a TOTP code against the secret
+     * Validates a TOTP code for the user. A code is accepted once; replays and codes outside the
+     * window are rejected, and repeated failures are throttled.
      */
-    public boolean validateCode(String secret, int code) {
-        return gAuth.authorize(secret, code);
+    public boolean verifyCode(Long userId, String secret, int code) {
+        return totpEngine.verify(userId, secret, code);
     }
 
     /**
-     * Validates a TOTP code with a time window tolerance
+     * Clears cached TOTP state for the user (after 2FA is disabled)
      */
-    public boolean validateCodeWithWindow(String secret, int code, int windowSize) {
-        return gAuth.authorize(secret, code, windowSize);
+    public void resetUser(Long userId) {
+        totpEngine.reset(userId);
     }
 }
@@ -2,6 +2,8 @@ package com.sclms.sclms_backend.service;
 
 import com.sclms.sclms_backend.entity.User;
 import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.TokenRevocationService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,17 +12,26 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("sclms.service")
 @Transactional
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SecurityService securityService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final OrganizationService organizationService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SecurityService securityService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SecurityService securityService,
+                       RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+                       OrganizationService organizationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.securityService = securityService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.organizationService = organizationService;
     }
 
     // User CRUD operations
@@ -39,6 +50,7 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setOrganizationId(organizationService.resolveId(user.getOrganization()));
         return userRepository.save(user);
     }
 
@@ -46,7 +58,18 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Access tokens carry name, role and organization, and stand for an approved account; force a
+        // refresh when any of them changes
+        boolean claimsChanged = !java.util.Objects.equals(user.getName(), userDetails.getName())
+                || !java.util.Objects.equals(user.getRole(), userDetails.getRole())
+                || !java.util.Objects.equals(user.getOrganization(), userDetails.getOrganization())
+                || !java.util.Objects.equals(user.getStatus(), userDetails.getStatus());
+
         user.setName(userDetails.getName());
+        if (!java.util.Objects.equals(user.getOrganization(), userDetails.getOrganization())
+                || user.getOrganizationId() == null) {
+            user.setOrganizationId(organizationService.resolveId(userDetails.getOrganization()));
+        }
         user.setOrganization(userDetails.getOrganization());
         user.setStatus(userDetails.getStatus());
         user.setRole(userDetails.getRole());
@@ -62,7 +85,11 @@ public class UserService {
         user.setTwoFactorEnabled(userDetails.getTwoFactorEnabled());
         user.setTwoFactorSecret(userDetails.getTwoFactorSecret());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (claimsChanged) {
+            tokenRevocationService.revokeAllForUser(id);
+        }
+        return saved;
     }
 
     public User getUserById(Long id) {
@@ -95,6 +122,7 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found");
         }
+        refreshTokenService.revokeAllForUser(id);
         userRepository.deleteById(id);
     }
 
@@ -124,7 +152,10 @@ public class UserService {
     public User changeUserRole(Long userId, String newRole) {
         User user = getUserById(userId);
         user.setRole(newRole);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Role is baked into access tokens; the next refresh picks up the new one
+        tokenRevocationService.revokeAllForUser(userId);
+        return saved;
     }
 
     public User approveUser(Long userId) {
@@ -136,6 +167,7 @@ public class UserService {
     public User rejectUser(Long userId) {
         User user = getUserById(userId);
         user.setStatus("REJECTED");
+        refreshTokenService.revokeAllForUser(userId);
         return userRepository.save(user);
     }
 
@@ -150,5 +182,6 @@ public class UserService {
         user.setLoginAttempts(0);
 
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(id);
     }
 }
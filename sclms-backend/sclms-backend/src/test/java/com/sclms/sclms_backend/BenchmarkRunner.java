@@ -0,0 +1,100 @@
+package com.sclms.sclms_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs one JMH benchmark class and writes its results as JSON to {@code target/jmh/<Benchmark>.json}
+ * (directory overridable with -Dbenchmark.results=...), the format JMH tooling and visualizers read.
+ *
+ * To compare two commits, copy target/jmh aside after the first run and pass it as
+ * -Dbenchmark.baseline=... on the second: each score is printed next to its baseline with the change.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static Collection<RunResult> run(Class<?> benchmark) throws RunnerException {
+        Path results = Path.of(System.getProperty("benchmark.results", "target/jmh"));
+        Path resultFile = results.resolve(benchmark.getSimpleName() + ".json");
+        try {
+            Files.createDirectories(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+        Collection<RunResult> runs = new Runner(options).run();
+
+        String baseline = System.getProperty("benchmark.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            compare(runs, Path.of(baseline).resolve(resultFile.getFileName()));
+        }
+        return runs;
+    }
+
+    private static void compare(Collection<RunResult> runs, Path baselineFile) {
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile);
+            return;
+        }
+        Map<String, Double> baseline = new HashMap<>();
+        try {
+            for (JsonNode entry : new ObjectMapper().readTree(baselineFile.toFile())) {
+                Map<String, String> params = new TreeMap<>();
+                JsonNode paramsNode = entry.get("params");
+                if (paramsNode != null) {
+                    paramsNode.fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+                }
+                baseline.put(key(entry.get("benchmark").asText(), params),
+                        entry.get("primaryMetric").get("score").asDouble());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        System.out.println();
+        System.out.printf("%-60s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (RunResult run : runs) {
+            BenchmarkParams benchmarkParams = run.getParams();
+            Map<String, String> params = new TreeMap<>();
+            for (String param : benchmarkParams.getParamsKeys()) {
+                params.put(param, benchmarkParams.getParam(param));
+            }
+            String key = key(benchmarkParams.getBenchmark(), params);
+            double current = run.getPrimaryResult().getScore();
+            Double before = baseline.get(key);
+            System.out.printf("%-60s %14s %14.3f %9s  %s%n",
+                    key.substring(key.lastIndexOf('.', key.indexOf(' ') > 0 ? key.indexOf(' ') : key.length()) + 1),
+                    before != null ? String.format("%.3f", before) : "-",
+                    current,
+                    before != null && before != 0 ? String.format("%+.1f%%", (current - before) * 100 / before) : "-",
+                    run.getPrimaryResult().getScoreUnit());
+        }
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + " " + params;
+    }
+}
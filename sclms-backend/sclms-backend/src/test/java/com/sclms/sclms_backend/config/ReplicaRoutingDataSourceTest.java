@@ -0,0 +1,95 @@
+package com.sclms.sclms_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes against two in-memory H2 databases in MySQL mode, each tagged with its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private JdbcTemplate replicaAdmin;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), 5, "SELECT lag FROM node");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> nodeName()));
+        assertEquals("primary", readWrite.execute(status -> nodeName()));
+        assertEquals("primary", nodeName());
+    }
+
+    @Test
+    void springDataDefaultTransactionsStayOnPrimary() {
+        readOnly.setName("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        replicaAdmin.update("UPDATE node SET lag = 30");
+        routing.checkReplicas();
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+
+        replicaAdmin.update("UPDATE node SET lag = 0");
+        routing.checkReplicas();
+        assertEquals("replica", readOnly.execute(status -> nodeName()));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        replica.close();
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+    }
+
+    private String nodeName() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE node (name VARCHAR(20), lag INT)");
+        new JdbcTemplate(dataSource).update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sclms.sclms_backend.controller;
+
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fires many approvals and rejections at the same PENDING contracts at once: each contract must end up
+ * decided exactly once, with every other attempt answered by a 409.
+ */
+@SpringBootTest
+class ContractApprovalConcurrencyTest {
+
+    private static final int CONTRACTS = 10;
+    private static final int ATTEMPTS_PER_CONTRACT = 16;
+
+    @Autowired
+    private ContractController contractController;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ApprovalHistoryRepository historyRepository;
+
+    @Test
+    void exactlyOneDecisionWinsPerContract() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CONTRACTS; i++) {
+            ids.add(contractRepository.save(pendingContract(i)).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(ATTEMPTS_PER_CONTRACT);
+        try {
+            for (Long id : ids) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ResponseEntity<?>>> attempts = new ArrayList<>();
+                for (int a = 0; a < ATTEMPTS_PER_CONTRACT; a++) {
+                    boolean approve = a % 2 == 0;
+                    Authentication approver = approver(100L + a);
+                    attempts.add(pool.submit(() -> {
+                        start.await();
+                        return approve
+                                ? contractController.approveContract(id, request(null), approver)
+                                : contractController.rejectContract(id, request("Not acceptable"), approver);
+                    }));
+                }
+                start.countDown();
+
+                int won = 0;
+                int conflicts = 0;
+                String winningStatus = null;
+                for (Future<ResponseEntity<?>> attempt : attempts) {
+                    ResponseEntity<?> response = attempt.get();
+                    if (response.getStatusCode().value() == 200) {
+                        won++;
+                        winningStatus = ((Contract) response.getBody()).getStatus();
+                    } else if (response.getStatusCode().value() == 409) {
+                        conflicts++;
+                    }
+                }
+
+                assertEquals(1, won, "contract " + id);
+                assertEquals(ATTEMPTS_PER_CONTRACT - 1, conflicts, "contract " + id);
+
+                Contract stored = contractRepository.findById(id).orElseThrow();
+                assertEquals(winningStatus, stored.getStatus());
+                assertEquals(1L, stored.getVersion());
+                assertEquals(1, historyRepository.findByContractIdOrderByTimestampAsc(id).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Contract pendingContract(int n) {
+        Contract contract = new Contract();
+        contract.setTitle("Concurrent " + n);
+        contract.setDescription("Approval race");
+        contract.setContractType("SERVICE");
+        contract.setFromOrg("Acme");
+        contract.setToOrg("Globex");
+        contract.setStartDate(LocalDateTime.now());
+        contract.setEndDate(LocalDateTime.now().plusDays(90));
+        contract.setStatus("PENDING");
+        contract.setCreatedDate(LocalDateTime.now());
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+
+    private static Authentication approver(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Approver " + id);
+        user.setRole("APPROVER");
+        return new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+
+    private static ContractController.ApprovalRequest request(String reason) {
+        ContractController.ApprovalRequest request = new ContractController.ApprovalRequest();
+        request.setReason(reason);
+        return request;
+    }
+}
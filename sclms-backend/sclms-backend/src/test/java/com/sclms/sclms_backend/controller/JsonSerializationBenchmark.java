@@ -0,0 +1,100 @@
+package com.sclms.sclms_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sclms.sclms_backend.BenchmarkRunner;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.Notification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON rendering of the contract and notification lists the controllers return, with the ObjectMapper
+ * settings Spring Boot applies (java.time support, ISO dates), written to a discarding stream.
+ *
+ * Run with: mvn test -Dtest=JsonSerializationBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Contract> contracts;
+    private List<Notification> notifications;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        contracts = new ArrayList<>(size);
+        notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Contract c = new Contract();
+            c.setId((long) i);
+            c.setContractNumber("CNT-2024-" + i);
+            c.setTitle("Supply agreement " + i);
+            c.setDescription("Annual supply of parts and maintenance, renewed each January");
+            c.setContractType("SERVICE");
+            c.setFromOrg("Acme");
+            c.setToOrg("Globex");
+            c.setFromOrgId(1L);
+            c.setToOrgId(2L);
+            c.setStatus("PENDING");
+            c.setValue(100.0 + i);
+            c.setStartDate(now);
+            c.setEndDate(now.plusDays(365));
+            c.setCreatedDate(now.minusDays(i % 30));
+            c.setCreatedBy(1L);
+            c.setDocumentName("contract-" + i + ".pdf");
+            c.setVersion(0L);
+            contracts.add(c);
+
+            Notification n = new Notification();
+            n.setId((long) i);
+            n.setUserId(42L);
+            n.setContractId((long) i);
+            n.setTitle("New contract");
+            n.setMessage("Supply agreement " + i + " from Acme needs your decision");
+            n.setType("NEW_CONTRACT");
+            n.setCreatedAt(now.minusMinutes(i));
+            notifications.add(n);
+        }
+    }
+
+    @Benchmark
+    public void contracts() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), contracts);
+    }
+
+    @Benchmark
+    public void notifications() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), notifications);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(JsonSerializationBenchmark.class);
+    }
+}
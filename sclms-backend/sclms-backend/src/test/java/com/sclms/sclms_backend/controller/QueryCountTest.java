@@ -0,0 +1,161 @@
+package com.sclms.sclms_backend.controller;
+
+import com.sclms.sclms_backend.config.QueryCounter;
+import com.sclms.sclms_backend.entity.ApprovalHistory;
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.Notification;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import com.sclms.sclms_backend.repository.NotificationRepository;
+import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per endpoint, including JSON serialization. Every list is seeded with more rows than its
+ * budget, so an N+1 (a lazy association touched per row) fails the count as well as the repeat check.
+ */
+@SpringBootTest(properties = {"db.query-tracking.enabled=true", "spring.jpa.hibernate.ddl-auto=create"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTest {
+
+    private static final int ROWS = 25;
+    // Same statement this many times in one request is treated as N+1
+    private static final int REPEAT_LIMIT = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ApprovalHistoryRepository historyRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User approver;
+    private User admin;
+    private Long contractId;
+
+    @BeforeAll
+    void seed() {
+        approver = userRepository.save(user("approver@globex.test", "APPROVER"));
+        admin = userRepository.save(user("admin@globex.test", "ADMIN"));
+
+        for (int i = 0; i < ROWS; i++) {
+            Contract contract = contractRepository.save(contract(i));
+            contractId = contract.getId();
+        }
+        for (int i = 0; i < ROWS; i++) {
+            historyRepository.save(history(contractId, i));
+            notificationRepository.save(notification(approver.getId(), contractId, i));
+        }
+    }
+
+    @Test
+    void contractEndpoints() throws Exception {
+        assertMaxQueries(3, get("/api/contracts/my/" + approver.getId()), approver);
+        assertMaxQueries(2, get("/api/contracts/approver/pending"), approver);
+        assertMaxQueries(2, get("/api/contracts/activity/approver"), approver);
+        assertMaxQueries(2, get("/api/contracts/history/" + contractId), approver);
+        assertMaxQueries(2, get("/api/contracts/" + contractId), approver);
+    }
+
+    @Test
+    void notificationEndpoints() throws Exception {
+        assertMaxQueries(2, get("/api/notifications/my"), approver);
+        assertMaxQueries(2, get("/api/notifications/unread/count"), approver);
+    }
+
+    @Test
+    void adminEndpoints() throws Exception {
+        assertMaxQueries(5, get("/api/admin/dashboard/stats"), admin);
+        assertMaxQueries(3, get("/api/admin/analytics/contracts"), admin);
+        assertMaxQueries(3, get("/api/admin/dashboard/recent-contracts"), admin);
+        assertMaxQueries(3, get("/api/admin/users"), admin);
+    }
+
+    private void assertMaxQueries(int max, MockHttpServletRequestBuilder request, User as) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            mockMvc.perform(request.header("Authorization", "Bearer " + jwtUtil.generateToken(as)))
+                    .andExpect(status().isOk());
+
+            List<QueryCounter.StatementStats> repeated = scope.repeated(REPEAT_LIMIT);
+            assertTrue(repeated.isEmpty(), "repeated statements (N+1?): " + repeated);
+            assertTrue(scope.count() <= max,
+                    "expected at most " + max + " statements, got " + scope.count() + ": " + scope.statements());
+        }
+    }
+
+    private static User user(String email, String role) {
+        User user = new User();
+        user.setName(role + " Globex");
+        user.setEmail(email);
+        user.setPassword("not-used");
+        user.setRole(role);
+        user.setOrganization("Globex");
+        user.setStatus("APPROVED");
+        return user;
+    }
+
+    private static Contract contract(int n) {
+        Contract contract = new Contract();
+        contract.setTitle("Budget " + n);
+        contract.setDescription("Query budget fixture");
+        contract.setContractType("SERVICE");
+        contract.setFromOrg("Acme");
+        contract.setToOrg("Globex");
+        contract.setStartDate(LocalDateTime.now());
+        contract.setEndDate(LocalDateTime.now().plusDays(90));
+        contract.setStatus("PENDING");
+        contract.setCreatedDate(LocalDateTime.now().minusMinutes(n));
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+
+    private static ApprovalHistory history(Long contractId, int n) {
+        ApprovalHistory history = new ApprovalHistory();
+        history.setContractId(contractId);
+        history.setAction("MODIFIED");
+        history.setActor("APPROVER Globex");
+        history.setActorRole("APPROVER");
+        history.setComment("Revision " + n);
+        history.setTimestamp(LocalDateTime.now().minusMinutes(n));
+        return history;
+    }
+
+    private static Notification notification(Long userId, Long contractId, int n) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setContractId(contractId);
+        notification.setTitle("Contract " + n);
+        notification.setMessage("Contract " + n + " needs a decision");
+        notification.setType("NEW_CONTRACT");
+        notification.setCreatedAt(LocalDateTime.now().minusMinutes(n));
+        return notification;
+    }
+}
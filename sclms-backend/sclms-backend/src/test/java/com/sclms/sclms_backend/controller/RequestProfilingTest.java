@@ -0,0 +1,104 @@
+package com.sclms.sclms_backend.controller;
+
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.UserRepository;
+import com.sclms.sclms_backend.security.JwtUtil;
+import com.sclms.sclms_backend.service.RequestProfilerService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing goes only to callers it is enabled for, and profiled requests show up in the
+ * slowest-requests buffer with their route and DB statement count.
+ */
+@SpringBootTest(properties = "profiling.enabled=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequestProfilingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestProfilerService profilerService;
+
+    private User user;
+    private User admin;
+
+    @BeforeAll
+    void seed() {
+        user = userRepository.save(user("profiled.user@initech.test", "USER"));
+        admin = userRepository.save(user("profiled.admin@initech.test", "ADMIN"));
+    }
+
+    @Test
+    void adminsGetServerTiming() throws Exception {
+        mockMvc.perform(get("/api/admin/dashboard/stats").header("Authorization", bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("total;dur="), containsString("db;dur="), containsString("ser;dur="))));
+    }
+
+    @Test
+    void usersGetServerTimingOnlyWhileEnabled() throws Exception {
+        mockMvc.perform(get("/api/notifications/unread/count").header("Authorization", bearer(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+
+        profilerService.enableServerTiming(user.getId(), 5);
+        try {
+            mockMvc.perform(get("/api/notifications/unread/count").header("Authorization", bearer(user)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Server-Timing", containsString("db;dur=")));
+        } finally {
+            profilerService.disableServerTiming(user.getId());
+        }
+    }
+
+    @Test
+    void slowestRequestsAreKept() throws Exception {
+        profilerService.reset();
+        mockMvc.perform(get("/api/contracts/my/" + user.getId()).header("Authorization", bearer(user)))
+                .andExpect(status().isOk());
+
+        List<Map<String, Object>> slowest = profilerService.getSlowest();
+        assertTrue(slowest.stream().anyMatch(request -> "/api/contracts/my/{userId}".equals(request.get("route"))
+                && ((Integer) request.get("statements")) > 0), "slowest: " + slowest);
+    }
+
+    private String bearer(User as) {
+        return "Bearer " + jwtUtil.generateToken(as);
+    }
+
+    private static User user(String email, String role) {
+        User user = new User();
+        user.setName(role + " Initech");
+        user.setEmail(email);
+        user.setPassword("not-used");
+        user.setRole(role);
+        user.setOrganization("Initech");
+        user.setStatus("APPROVED");
+        return user;
+    }
+}
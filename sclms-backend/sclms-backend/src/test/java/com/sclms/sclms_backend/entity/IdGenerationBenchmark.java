@@ -0,0 +1,127 @@
+package com.sclms.sclms_backend.entity;
+
+import com.sclms.sclms_backend.BenchmarkRunner;
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-row insert cost of notification-shaped rows with IDENTITY ids (no batching, one round trip per
+ * row) versus pooled table ids with JDBC batching, using the batching settings from application.properties.
+ *
+ * Runs against in-memory H2 by default, which understates the gap since there is no network round trip.
+ * Point it at MySQL with -Dbenchmark.jdbcUrl=... -Dbenchmark.user=... -Dbenchmark.password=...
+ *
+ * Run with: mvn test -Dtest=IdGenerationBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 200;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", System.getProperty("benchmark.jdbcUrl",
+                        "jdbc:h2:mem:idbench;MODE=MySQL;DB_CLOSE_DELAY=-1"))
+                .applySetting("hibernate.connection.username", System.getProperty("benchmark.user", "sa"))
+                .applySetting("hibernate.connection.password", System.getProperty("benchmark.password", ""))
+                .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+                .applySetting("hibernate.jdbc.batch_size", "50")
+                .applySetting("hibernate.order_inserts", "true")
+                .applySetting("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(PooledRow.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identityIds() {
+        insert(IdentityRow::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooledIdsBatched() {
+        insert(PooledRow::new);
+    }
+
+    private void insert(Supplier<? extends Row> factory) {
+        sessionFactory.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                Row row = factory.get();
+                row.userId = (long) i;
+                row.title = "New Contract for Approval";
+                row.message = "Contract 'Benchmark' from Org A requires your approval";
+                row.type = "CONTRACT_CREATED";
+                row.createdAt = now;
+                session.persist(row);
+            }
+        });
+    }
+
+    @MappedSuperclass
+    public abstract static class Row {
+        @Column(name = "user_id", nullable = false)
+        Long userId;
+        @Column(nullable = false)
+        String title;
+        @Column(nullable = false)
+        String message;
+        @Column(nullable = false)
+        String type;
+        @Column(nullable = false)
+        LocalDateTime createdAt;
+    }
+
+    @Entity
+    @Table(name = "bench_identity_rows")
+    public static class IdentityRow extends Row {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "bench_pooled_rows")
+    public static class PooledRow extends Row {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_ids")
+        @TableGenerator(name = "bench_ids", table = "bench_id_generators", pkColumnName = "sequence_name",
+                valueColumnName = "next_val", pkColumnValue = "bench_pooled_rows", allocationSize = 50)
+        Long id;
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(IdGenerationBenchmark.class);
+    }
+}
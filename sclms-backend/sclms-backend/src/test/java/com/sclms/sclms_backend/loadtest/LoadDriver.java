@@ -0,0 +1,323 @@
+package com.sclms.sclms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+/**
+ * Open-model load generator: starts scenario runs at a fixed rate whether or not earlier ones have
+ * finished, so a slow server shows up as latency instead of as a lower request rate. Every request is
+ * recorded in an HdrHistogram per endpoint; each scenario run is also recorded from the moment it was
+ * scheduled to start, which includes time spent waiting for a free worker (no coordinated omission).
+ */
+public final class LoadDriver {
+
+    // Histograms track 1 µs .. 1 min with 3 significant digits
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public LoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    // =========================================================
+    // REQUESTS
+    // =========================================================
+
+    /**
+     * Sends one request and records its latency under {@code label} (the route template, e.g.
+     * {@code GET /api/contracts/{id}}, so every id lands in the same histogram). Non-2xx answers and I/O
+     * failures are counted as errors; the response is returned either way (null on I/O failure).
+     */
+    public Response send(String label, String method, String path, String token, Object body) {
+        return send(label, method, path, token, body, status -> status < 400);
+    }
+
+    // As above, with the statuses that count as success (e.g. an expected 409 on a lost race)
+    public Response send(String label, String method, String path, String token, Object body,
+                         IntPredicate success) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Endpoint endpoint = endpoints.computeIfAbsent(label, key -> new Endpoint());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            endpoint.record(start, success.test(response.statusCode()));
+            return new Response(response.statusCode(), response.body(), objectMapper);
+        } catch (IOException e) {
+            endpoint.record(start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // =========================================================
+    // RUN
+    // =========================================================
+
+    /**
+     * Starts {@code rps} scenario runs per second for the warmup plus the measured duration, picking each
+     * run's scenario by weight. Results recorded during warmup are discarded. Runs waiting for a worker
+     * are capped at {@code concurrency * 10}; runs beyond that are dropped and counted.
+     */
+    public Result run(List<WeightedScenario> scenarios, double rps, int concurrency,
+                      Duration warmup, Duration duration) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(WeightedScenario::weight).sum();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicInteger waiting = new AtomicInteger();
+        AtomicLong dropped = new AtomicLong();
+        long periodNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rps));
+        long firstTick = System.nanoTime();
+        AtomicLong tick = new AtomicLong();
+
+        ticker.scheduleAtFixedRate(() -> {
+            // Intended start of this run, so a late ticker does not hide queueing either
+            long scheduledAt = firstTick + tick.getAndIncrement() * periodNanos;
+            if (waiting.get() >= concurrency * 10) {
+                dropped.incrementAndGet();
+                return;
+            }
+            WeightedScenario scenario = pick(scenarios, totalWeight);
+            waiting.incrementAndGet();
+            workers.execute(() -> {
+                waiting.decrementAndGet();
+                boolean ok;
+                try {
+                    ok = scenario.scenario().run(this);
+                } catch (RuntimeException e) {
+                    ok = false;
+                }
+                endpoints.computeIfAbsent("scenario:" + scenario.name(), key -> new Endpoint()).record(scheduledAt, ok);
+            });
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        Thread.sleep(warmup.toMillis());
+        endpoints.values().forEach(Endpoint::reset);
+        dropped.set(0);
+        long measuredFrom = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+
+        Map<String, Histogram> histograms = new TreeMap<>();
+        Map<String, Long> errors = new TreeMap<>();
+        endpoints.forEach((label, endpoint) -> {
+            histograms.put(label, endpoint.recorder.getIntervalHistogram());
+            errors.put(label, endpoint.errors.sumThenReset());
+        });
+        double seconds = (System.nanoTime() - measuredFrom) / 1e9;
+
+        ticker.shutdownNow();
+        workers.shutdownNow();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        return new Result(rps, concurrency, seconds, histograms, errors, dropped.get());
+    }
+
+    private static WeightedScenario pick(List<WeightedScenario> scenarios, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (WeightedScenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    // =========================================================
+    // TYPES
+    // =========================================================
+
+    @FunctionalInterface
+    public interface Scenario {
+        // One scripted visit; returns false if any step failed
+        boolean run(LoadDriver driver);
+    }
+
+    public record WeightedScenario(String name, int weight, Scenario scenario) {
+    }
+
+    public record Response(int status, byte[] body, ObjectMapper objectMapper) {
+        public boolean ok() {
+            return status < 400;
+        }
+
+        public <T> T as(Class<T> type) {
+            try {
+                return objectMapper.readValue(body, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(1, MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long startNanos, boolean ok) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            recorder.recordValue(Math.max(1, Math.min(micros, MAX_LATENCY_MICROS)));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        private void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+
+    public static final class Result {
+        private final double targetRps;
+        private final int concurrency;
+        private final double seconds;
+        private final Map<String, Histogram> histograms;
+        private final Map<String, Long> errors;
+        private final long dropped;
+
+        private Result(double targetRps, int concurrency, double seconds, Map<String, Histogram> histograms,
+                       Map<String, Long> errors, long dropped) {
+            this.targetRps = targetRps;
+            this.concurrency = concurrency;
+            this.seconds = seconds;
+            this.histograms = histograms;
+            this.errors = errors;
+            this.dropped = dropped;
+        }
+
+        public Map<String, Histogram> getHistograms() { return histograms; }
+        public long getDropped() { return dropped; }
+        public double getSeconds() { return seconds; }
+
+        public long getErrors(String label) {
+            return errors.getOrDefault(label, 0L);
+        }
+
+        // Completed scenario runs per second
+        public double getThroughput() {
+            return histograms.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("scenario:"))
+                    .mapToLong(entry -> entry.getValue().getTotalCount())
+                    .sum() / seconds;
+        }
+
+        public void print(PrintStream out) {
+            out.println();
+            out.printf("Target %.0f scenario runs/s, %d workers, measured %.1f s, %.1f runs/s completed, %d dropped%n",
+                    targetRps, concurrency, seconds, getThroughput(), dropped);
+            out.printf("%-48s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "Endpoint (ms)", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+            histograms.forEach((label, histogram) -> out.printf("%-48s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    label, histogram.getTotalCount(), getErrors(label), histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+
+        /**
+         * Writes one {@code .hgrm} percentile distribution per endpoint (loadable in HdrHistogram's plotter)
+         * and a {@code summary.json} with the headline numbers, so runs can be compared over time.
+         */
+        public void write(Path dir) throws IOException {
+            Files.createDirectories(dir);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("targetRps", targetRps);
+            summary.put("concurrency", concurrency);
+            summary.put("seconds", seconds);
+            summary.put("throughput", getThroughput());
+            summary.put("dropped", dropped);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+                try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(fileName(entry.getKey()) + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("endpoint", entry.getKey());
+                row.put("count", histogram.getTotalCount());
+                row.put("errors", getErrors(entry.getKey()));
+                row.put("p50", millis(histogram.getValueAtPercentile(50)));
+                row.put("p90", millis(histogram.getValueAtPercentile(90)));
+                row.put("p99", millis(histogram.getValueAtPercentile(99)));
+                row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+                row.put("max", millis(histogram.getMaxValue()));
+                rows.add(row);
+            }
+            summary.put("endpoints", rows);
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), summary);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+
+        private static String fileName(String label) {
+            return label.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.sclms.sclms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sclms.sclms_backend.config.LoadTestDataSeeder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scripted visits of the three roles against data from {@link LoadTestDataSeeder}. Each visit is what
+ * one page load or action costs the server; sessions log in once up front and are shared by the visits.
+ */
+public final class LoadScenarios {
+
+    private final List<Session> users = new ArrayList<>();
+    private final List<Session> approvers = new ArrayList<>();
+    private final List<Session> admins = new ArrayList<>();
+    private final int organizations;
+
+    private LoadScenarios(int organizations) {
+        this.organizations = organizations;
+    }
+
+    /**
+     * Logs in {@code sessionsPerRole} seeded users of each role, spread over the organizations. Logins are
+     * not recorded: BCrypt would dominate every histogram otherwise.
+     */
+    public static LoadScenarios login(LoadDriver driver, int organizations, int usersPerRole, int sessionsPerRole,
+                                      String password) {
+        LoadScenarios scenarios = new LoadScenarios(organizations);
+        for (int i = 0; i < sessionsPerRole; i++) {
+            int org = i % organizations + 1;
+            int n = i / organizations % usersPerRole + 1;
+            scenarios.users.add(login(driver, LoadTestDataSeeder.email("USER", org, n), password, org));
+            scenarios.approvers.add(login(driver, LoadTestDataSeeder.email("APPROVER", org, n), password, org));
+            scenarios.admins.add(login(driver, LoadTestDataSeeder.email("ADMIN", org, n), password, org));
+        }
+        return scenarios;
+    }
+
+    private static Session login(LoadDriver driver, String email, String password, int org) {
+        LoadDriver.Response response = driver.send("setup:login", "POST", "/api/auth/login", null,
+                Map.of("email", email, "password", password));
+        if (response == null || !response.ok()) {
+            throw new IllegalStateException("Login failed for " + email + " (status "
+                    + (response != null ? response.status() : "none") + "); was the data seeded?");
+        }
+        JsonNode body = response.as(JsonNode.class);
+        return new Session(body.get("user").get("id").asLong(), body.get("token").asText(), org);
+    }
+
+    public List<LoadDriver.WeightedScenario> mix(int userWeight, int approverWeight, int adminWeight) {
+        return List.of(
+                new LoadDriver.WeightedScenario("user", userWeight, this::user),
+                new LoadDriver.WeightedScenario("approver", approverWeight, this::approver),
+                new LoadDriver.WeightedScenario("admin", adminWeight, this::admin));
+    }
+
+    // =========================================================
+    // VISITS
+    // =========================================================
+
+    // Dashboard (own contracts + notification badge), sometimes the notification list or a new contract
+    private boolean user(LoadDriver driver) {
+        Session session = pick(users);
+        boolean ok = ok(driver.send("GET /api/contracts/my/{userId}", "GET", "/api/contracts/my/" + session.userId,
+                session.token, null));
+        ok &= ok(driver.send("GET /api/notifications/unread/count", "GET", "/api/notifications/unread/count",
+                session.token, null));
+
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 30) {
+            ok &= ok(driver.send("GET /api/notifications/my", "GET", "/api/notifications/my", session.token, null));
+        } else if (roll < 40) {
+            int to = session.org % organizations + 1;
+            LocalDate start = LocalDate.now().plusDays(7);
+            ok &= ok(driver.send("POST /api/contracts/create/{userId}", "POST", "/api/contracts/create/" + session.userId,
+                    session.token, Map.of(
+                            "title", "Load test contract " + ThreadLocalRandom.current().nextInt(1_000_000),
+                            "description", "Created by the load driver",
+                            "contractType", "SERVICE",
+                            "toOrg", LoadTestDataSeeder.organizationName(to),
+                            "startDate", start.toString(),
+                            "endDate", start.plusYears(1).toString())));
+        }
+        return ok;
+    }
+
+    // Approval queue, open one contract with its history, and decide it now and then
+    private boolean approver(LoadDriver driver) {
+        Session session = pick(approvers);
+        LoadDriver.Response pending = driver.send("GET /api/contracts/approver/pending", "GET",
+                "/api/contracts/approver/pending", session.token, null);
+        if (!ok(pending)) {
+            return false;
+        }
+        JsonNode queue = pending.as(JsonNode.class);
+        if (!queue.isArray() || queue.isEmpty()) {
+            return true;
+        }
+
+        long contractId = queue.get(ThreadLocalRandom.current().nextInt(queue.size())).get("id").asLong();
+        boolean ok = ok(driver.send("GET /api/contracts/{id}", "GET", "/api/contracts/" + contractId, session.token, null));
+        ok &= ok(driver.send("GET /api/contracts/history/{contractId}", "GET", "/api/contracts/history/" + contractId,
+                session.token, null));
+
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 15) {
+            // Another approver may have decided it in the meantime; that 409 is expected, not a failure
+            LoadDriver.Response decision = driver.send("PUT /api/contracts/approve/{id}", "PUT",
+                    "/api/contracts/approve/" + contractId, session.token, Map.of("comment", "Approved under load"),
+                    LoadScenarios::decided);
+            ok &= decision != null && decided(decision.status());
+        } else if (roll < 20) {
+            LoadDriver.Response decision = driver.send("PUT /api/contracts/reject/{id}", "PUT",
+                    "/api/contracts/reject/" + contractId, session.token, Map.of("reason", "Rejected under load"),
+                    LoadScenarios::decided);
+            ok &= decision != null && decided(decision.status());
+        }
+        return ok;
+    }
+
+    // Admin dashboard: stats, recent contracts, and one of the analytics or user list pages
+    private boolean admin(LoadDriver driver) {
+        Session session = pick(admins);
+        boolean ok = ok(driver.send("GET /api/admin/dashboard/stats", "GET", "/api/admin/dashboard/stats",
+                session.token, null));
+        ok &= ok(driver.send("GET /api/admin/dashboard/recent-contracts", "GET", "/api/admin/dashboard/recent-contracts",
+                session.token, null));
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            ok &= ok(driver.send("GET /api/admin/analytics/contracts", "GET", "/api/admin/analytics/contracts",
+                    session.token, null));
+        } else {
+            ok &= ok(driver.send("GET /api/admin/users", "GET", "/api/admin/users", session.token, null));
+        }
+        return ok;
+    }
+
+    private static boolean decided(int status) {
+        return status < 400 || status == 409;
+    }
+
+    private static boolean ok(LoadDriver.Response response) {
+        return response != null && response.ok();
+    }
+
+    private static Session pick(List<Session> sessions) {
+        return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+    }
+
+    private record Session(long userId, String token, int org) {
+    }
+}
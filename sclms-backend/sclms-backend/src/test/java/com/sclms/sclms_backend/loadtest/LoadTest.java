@@ -0,0 +1,101 @@
+package com.sclms.sclms_backend.loadtest;
+
+import com.sclms.sclms_backend.SclmsBackendApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Drives the scripted user/approver/admin mix at a fixed rate and prints per-endpoint latency
+ * percentiles; histograms and a summary are written to target/loadtest (override with -Dloadtest.results).
+ *
+ * Without -Dloadtest.url the application is started in-process on a random port with an in-memory
+ * database seeded by LoadTestDataSeeder. With it, the driver targets that server, which must have been
+ * started with loadtest.seed.enabled=true and the same seed settings.
+ *
+ * Run with: mvn test -Dtest=LoadTest -Dloadtest=true [-Dloadtest.rps=100 -Dloadtest.duration-seconds=120
+ *   -Dloadtest.concurrency=64 -Dloadtest.mix=70,25,5 -Dloadtest.seed.contracts=50000 ...]
+ *
+ * Access tokens live 15 minutes (jwt.expiration); longer runs against an external server need it raised.
+ */
+class LoadTest {
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest", matches = "true")
+    void run() throws Exception {
+        String url = System.getProperty("loadtest.url");
+
+        ConfigurableApplicationContext application = null;
+        try {
+            if (url == null || url.isBlank()) {
+                application = startApplication();
+                url = url(application);
+            }
+
+            LoadDriver.Result result = runMix(url, 50, 64);
+            result.print(System.out);
+            result.write(Path.of(System.getProperty("loadtest.results", "target/loadtest")));
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    // =========================================================
+    // SHARED WITH OTHER LOAD TESTS
+    // =========================================================
+
+    // Starts the application on a random port with the seed settings from the loadtest.seed.* properties
+    static ConfigurableApplicationContext startApplication(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--loadtest.seed.enabled=true",
+                "--loadtest.seed.organizations=" + organizations(),
+                "--loadtest.seed.users-per-role=" + usersPerRole(),
+                "--loadtest.seed.contracts=" + Integer.getInteger("loadtest.seed.contracts", 10_000),
+                "--loadtest.seed.password=" + password(),
+                "--logging.access.sample-rate=0"));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(SclmsBackendApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static String url(ConfigurableApplicationContext application) {
+        return "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+    }
+
+    // Logs in the sessions and runs the configured mix; rps and concurrency default to the given values
+    static LoadDriver.Result runMix(String url, double defaultRps, int defaultConcurrency) throws InterruptedException {
+        LoadDriver driver = new LoadDriver(url);
+        LoadScenarios scenarios = LoadScenarios.login(driver, organizations(), usersPerRole(),
+                Integer.getInteger("loadtest.sessions-per-role", 20), password());
+
+        String[] mix = System.getProperty("loadtest.mix", "70,25,5").split(",");
+        return driver.run(
+                scenarios.mix(Integer.parseInt(mix[0].trim()), Integer.parseInt(mix[1].trim()),
+                        Integer.parseInt(mix[2].trim())),
+                Double.parseDouble(System.getProperty("loadtest.rps", String.valueOf(defaultRps))),
+                Integer.getInteger("loadtest.concurrency", defaultConcurrency),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)));
+    }
+
+    private static int organizations() {
+        return Integer.getInteger("loadtest.seed.organizations", 20);
+    }
+
+    private static int usersPerRole() {
+        return Integer.getInteger("loadtest.seed.users-per-role", 10);
+    }
+
+    private static String password() {
+        return System.getProperty("loadtest.seed.password", "LoadTest#2026");
+    }
+}
@@ -0,0 +1,137 @@
+package com.sclms.sclms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sclms.sclms_backend.config.VirtualThreadPinningMonitor;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Runs the same load twice at high concurrency, first on Tomcat's platform-thread pool (200 threads by
+ * default) and then on virtual threads, and prints throughput and p99 of both side by side, with the
+ * number of pinned virtual threads seen (VirtualThreadPinningMonitor). Each mode gets a freshly started
+ * application; histograms go to target/loadtest/virtual-threads/{platform,virtual} and the comparison to
+ * comparison.json next to them.
+ *
+ * Run with: mvn -Pjava21 test -Dtest=VirtualThreadComparisonTest -Dloadtest=true [-Dloadtest.rps=400
+ *   -Dloadtest.concurrency=1000 -Dloadtest.duration-seconds=120 ...]
+ *
+ * Virtual threads only help while requests block, so for representative numbers point the application
+ * at MySQL (SPRING_DATASOURCE_URL etc.). Against the in-memory H2 default requests hardly wait on I/O and
+ * both modes should come out alike; H2 also synchronizes internally, which shows up as pinning.
+ */
+class VirtualThreadComparisonTest {
+
+    private static final String[] MODES = {"platform", "virtual"};
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest", matches = "true")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void compare() throws Exception {
+        Path results = Path.of(System.getProperty("loadtest.results", "target/loadtest")).resolve("virtual-threads");
+        Map<String, LoadDriver.Result> runs = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> pinned = new LinkedHashMap<>();
+
+        for (String mode : MODES) {
+            ConfigurableApplicationContext application = LoadTest.startApplication(
+                    "--spring.threads.virtual.enabled=" + "virtual".equals(mode));
+            try {
+                LoadDriver.Result result = LoadTest.runMix(LoadTest.url(application), 400, 1000);
+                System.out.println();
+                System.out.println("=== " + mode + " threads ===");
+                result.print(System.out);
+                result.write(results.resolve(mode));
+                runs.put(mode, result);
+                pinned.put(mode, application.getBean(VirtualThreadPinningMonitor.class).getPinnedCounts());
+            } finally {
+                application.close();
+            }
+        }
+
+        Map<String, Object> comparison = summarize(runs, pinned);
+        Files.createDirectories(results);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(results.resolve("comparison.json").toFile(), comparison);
+    }
+
+    private static Map<String, Object> summarize(Map<String, LoadDriver.Result> runs,
+                                                 Map<String, Map<String, Long>> pinned) {
+        System.out.println();
+        System.out.printf("%-10s %10s %8s %8s %9s %9s %9s %8s%n",
+                "Mode", "runs/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "pinned");
+        Map<String, Object> modes = new LinkedHashMap<>();
+        runs.forEach((mode, result) -> {
+            Histogram runsHistogram = scenarioRuns(result);
+            long errors = result.getHistograms().keySet().stream()
+                    .filter(label -> label.startsWith("scenario:"))
+                    .mapToLong(result::getErrors)
+                    .sum();
+            long pinnedCount = pinned.get(mode).values().stream().mapToLong(Long::longValue).sum();
+            System.out.printf("%-10s %10.1f %8d %8d %9.2f %9.2f %9.2f %8d%n",
+                    mode, result.getThroughput(), errors, result.getDropped(),
+                    millis(runsHistogram.getValueAtPercentile(50)), millis(runsHistogram.getValueAtPercentile(99)),
+                    millis(runsHistogram.getValueAtPercentile(99.9)), pinnedCount);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("throughput", result.getThroughput());
+            row.put("errors", errors);
+            row.put("dropped", result.getDropped());
+            row.put("p50", millis(runsHistogram.getValueAtPercentile(50)));
+            row.put("p99", millis(runsHistogram.getValueAtPercentile(99)));
+            row.put("p999", millis(runsHistogram.getValueAtPercentile(99.9)));
+            row.put("pinned", pinnedCount);
+            row.put("pinnedSites", pinned.get(mode));
+            modes.put(mode, row);
+        });
+
+        // p99 per endpoint in both modes
+        System.out.println();
+        System.out.printf("%-48s %14s %14s%n", "Endpoint p99 (ms)", MODES[0], MODES[1]);
+        TreeSet<String> labels = new TreeSet<>();
+        runs.values().forEach(result -> labels.addAll(result.getHistograms().keySet()));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (String label : labels) {
+            Map<String, Object> byMode = new LinkedHashMap<>();
+            for (String mode : MODES) {
+                Histogram histogram = runs.get(mode).getHistograms().get(label);
+                byMode.put(mode, histogram != null ? millis(histogram.getValueAtPercentile(99)) : null);
+            }
+            System.out.printf("%-48s %14s %14s%n", label, byMode.get(MODES[0]), byMode.get(MODES[1]));
+            endpoints.put(label, byMode);
+        }
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("modes", modes);
+        comparison.put("endpointP99", endpoints);
+        return comparison;
+    }
+
+    // All scenario runs of one result in a single histogram
+    private static Histogram scenarioRuns(LoadDriver.Result result) {
+        Histogram all = null;
+        for (Map.Entry<String, Histogram> entry : result.getHistograms().entrySet()) {
+            if (!entry.getKey().startsWith("scenario:")) {
+                continue;
+            }
+            if (all == null) {
+                all = entry.getValue().copy();
+            } else {
+                all.add(entry.getValue());
+            }
+        }
+        return all != null ? all : new Histogram(3);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
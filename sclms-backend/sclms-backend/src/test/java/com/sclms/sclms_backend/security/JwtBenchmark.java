@@ -0,0 +1,95 @@
+package com.sclms.sclms_backend.security;
+
+import com.sclms.sclms_backend.BenchmarkRunner;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying access tokens (RS256 with the ephemeral key the key ring generates when
+ * no keys are configured), and of a whole pass through {@link JwtAuthenticationFilter} for an
+ * authenticated request: parse, revocation check, principal from claims, authorities.
+ *
+ * Run with: mvn test -Dtest=JwtBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        JwtKeyRing keyRing = new JwtKeyRing(environment);
+        ReflectionTestUtils.setField(keyRing, "keysDir", "");
+        ReflectionTestUtils.setField(keyRing, "configuredActiveKid", "");
+        ReflectionTestUtils.setField(keyRing, "legacySecret", "");
+        keyRing.init();
+
+        jwtUtil = new JwtUtil(keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 900_000L);
+
+        // Tokens carry the full principal, so the filter never reaches the repository
+        filter = new JwtAuthenticationFilter(jwtUtil, Mockito.mock(UserRepository.class),
+                new TokenRevocationService(jwtUtil));
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("approver@globex.test");
+        user.setName("Approver Globex");
+        user.setOrganization("Globex");
+        user.setRole("APPROVER");
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object filterAuthenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contracts/approver/pending");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(JwtBenchmark.class);
+    }
+}
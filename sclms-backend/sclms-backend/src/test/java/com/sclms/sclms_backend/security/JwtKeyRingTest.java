@@ -0,0 +1,40 @@
+package com.sclms.sclms_backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingTest {
+
+    @Test
+    void configuredKeysDirWithoutActiveKeyFailsStartup(@TempDir Path keysDir) {
+        JwtKeyRing keyRing = keyRing(keysDir.toString(), "test");
+        assertThrows(IllegalStateException.class, keyRing::init);
+    }
+
+    @Test
+    void ephemeralKeyOnlyUnderDevOrTestProfile() {
+        assertThrows(IllegalStateException.class, keyRing("", "prod")::init);
+
+        JwtKeyRing keyRing = keyRing("", "test");
+        keyRing.init();
+        assertNotNull(keyRing.getActiveKeyId());
+    }
+
+    private static JwtKeyRing keyRing(String keysDir, String profile) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profile);
+        JwtKeyRing keyRing = new JwtKeyRing(environment);
+        ReflectionTestUtils.setField(keyRing, "keysDir", keysDir);
+        ReflectionTestUtils.setField(keyRing, "configuredActiveKid", "");
+        ReflectionTestUtils.setField(keyRing, "legacySecret", "");
+        ReflectionTestUtils.setField(keyRing, "legacyAcceptUntil", "");
+        return keyRing;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sclms.sclms_backend.security;
+
+import com.sclms.sclms_backend.BenchmarkRunner;
+import com.sclms.sclms_backend.service.TwoFactorAuthService;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares TOTP verification through GoogleAuthenticator with {@link TotpEngine} under concurrent
+ * 2FA logins spread over many users, and measures the TwoFactorAuthService entry point.
+ *
+ * libraryValidCode compares with engineFreshCode (a code the engine accepts) and libraryWrongCode with
+ * engineFirstAttemptInStep. engineReplayedCode is the engine rejecting a code already used in its step;
+ * the library has no replay check, so it has no counterpart there.
+ *
+ * Run with: mvn test -Dtest=TotpVerificationBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TotpVerificationBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    @State(Scope.Benchmark)
+    public static class Users {
+        final GoogleAuthenticator googleAuthenticator = new GoogleAuthenticator();
+        final TotpEngine engine = new TotpEngine(1, Integer.MAX_VALUE, Long.MAX_VALUE);
+        final TwoFactorAuthService service = new TwoFactorAuthService(new TotpEngine(1, Integer.MAX_VALUE, Long.MAX_VALUE));
+        final int[] currentCodes = new int[USERS];
+        final String[] secrets = new String[USERS];
+        final int[] validCodes = new int[USERS];
+        final int[] wrongCodes = new int[USERS];
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < USERS; i++) {
+                secrets[i] = googleAuthenticator.createCredentials().getKey();
+                validCodes[i] = googleAuthenticator.getTotpPassword(secrets[i], NOW);
+                wrongCodes[i] = (validCodes[i] + 500_000) % 1_000_000;
+                currentCodes[i] = googleAuthenticator.getTotpPassword(secrets[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Clock {
+        long step;
+    }
+
+    /**
+     * Valid codes for FRESH_STEPS consecutive steps of each user, one engine per thread. Each call takes
+     * the next user, moving to the next step after the last user, so every code verified is unused.
+     * After the last step the engine is replaced, which costs one extra secret decode per user.
+     */
+    @State(Scope.Thread)
+    public static class FreshCodes {
+        static final int FRESH_USERS = 256;
+        static final int FRESH_STEPS = 64;
+
+        final String[] secrets = new String[FRESH_USERS];
+        final int[][] codes = new int[FRESH_STEPS][FRESH_USERS];
+        TotpEngine engine;
+        int next;
+
+        @Setup
+        public void setUp() {
+            GoogleAuthenticator googleAuthenticator = new GoogleAuthenticator();
+            for (int u = 0; u < FRESH_USERS; u++) {
+                secrets[u] = googleAuthenticator.createCredentials().getKey();
+                for (int s = 0; s < FRESH_STEPS; s++) {
+                    codes[s][u] = googleAuthenticator.getTotpPassword(secrets[u], NOW + s * 30_000L);
+                }
+            }
+            engine = new TotpEngine(1, Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public boolean libraryValidCode(Users users) {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return users.googleAuthenticator.authorize(users.secrets[i], users.validCodes[i], NOW);
+    }
+
+    @Benchmark
+    public boolean libraryWrongCode(Users users) {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return users.googleAuthenticator.authorize(users.secrets[i], users.wrongCodes[i], NOW);
+    }
+
+    // Every attempt lands in a new time step, so the engine computes the full window each time
+    @Benchmark
+    public boolean engineFirstAttemptInStep(Users users, Clock clock) {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        long now = NOW + (clock.step++ * 30_000L);
+        return users.engine.verify((long) i, users.secrets[i], users.wrongCodes[i], now);
+    }
+
+    // A valid, unused code: window computed for the new step, then accepted
+    @Benchmark
+    public boolean engineFreshCode(FreshCodes fresh) {
+        int user = fresh.next % FreshCodes.FRESH_USERS;
+        int step = fresh.next / FreshCodes.FRESH_USERS;
+        if (++fresh.next == FreshCodes.FRESH_USERS * FreshCodes.FRESH_STEPS) {
+            fresh.next = 0;
+            fresh.engine = new TotpEngine(1, Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+        return fresh.engine.verify((long) user, fresh.secrets[user], fresh.codes[step][user], NOW + step * 30_000L);
+    }
+
+    // Replay path: after the first call per user the code is rejected as already used, from the cached window
+    @Benchmark
+    public boolean engineReplayedCode(Users users) {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return users.engine.verify((long) i, users.secrets[i], users.validCodes[i], NOW);
+    }
+
+    // What the 2FA login endpoint calls, on the wall clock. Each code is accepted once per step, so most
+    // calls measure the replay check
+    @Benchmark
+    public boolean serviceVerifyCode(Users users) {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return users.service.verifyCode((long) i, users.secrets[i], users.currentCodes[i]);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(TotpVerificationBenchmark.class);
+    }
+}
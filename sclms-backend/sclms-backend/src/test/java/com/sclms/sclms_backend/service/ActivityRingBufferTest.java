@@ -0,0 +1,91 @@
+package com.sclms.sclms_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityRingBufferTest {
+
+    @Test
+    void rejectsOffersWhenFullAndAcceptsAgainAfterDrain() {
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        assertFalse(buffer.offer(6));
+
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(1024, new ActivityRingBuffer<>(1000).capacity());
+        assertEquals(1024, new ActivityRingBuffer<>(1024).capacity());
+    }
+
+    // Producers retry on a full buffer while one consumer drains: every item arrives exactly once
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        ActivityRingBuffer<Long> buffer = new ActivityRingBuffer<>(256);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            Set<Long> seen = new HashSet<>();
+            List<Long> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+                buffer.drainTo(batch, 64);
+                for (Long item : batch) {
+                    assertTrue(seen.add(item), "duplicate " + item);
+                }
+                batch.clear();
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(producers * perProducer, seen.size());
+            assertEquals(0, buffer.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.entity.Contract;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ContractRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk decisions only reach contracts addressed to the approver's organization; anything else is
+ * reported as not found and left untouched. Admins are not limited to one organization.
+ */
+@SpringBootTest
+class ContractDecisionScopeTest {
+
+    @Autowired
+    private ContractDecisionService decisionService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Test
+    void approverCannotDecideOtherOrganizationsContracts() {
+        Long own = contractRepository.save(pendingContract("Globex")).getId();
+        Long foreign = contractRepository.save(pendingContract("Initech")).getId();
+
+        Map<Long, String> outcomes = decisionService.decideAll(
+                List.of(own, foreign), "APPROVED", null, null, user(200L, "APPROVER", "Globex"));
+
+        assertEquals("APPROVED", outcomes.get(own));
+        assertEquals(ContractDecisionService.NOT_FOUND, outcomes.get(foreign));
+        assertEquals("PENDING", contractRepository.findById(foreign).orElseThrow().getStatus());
+
+        Map<Long, String> asAdmin = decisionService.decideAll(
+                List.of(foreign), "REJECTED", null, "Out of budget", user(201L, "ADMIN", "Acme"));
+
+        assertEquals("REJECTED", asAdmin.get(foreign));
+        assertEquals("REJECTED", contractRepository.findById(foreign).orElseThrow().getStatus());
+    }
+
+    private static Contract pendingContract(String toOrg) {
+        Contract contract = new Contract();
+        contract.setTitle("Scoped " + toOrg);
+        contract.setDescription("Bulk decision scope");
+        contract.setContractType("SERVICE");
+        contract.setFromOrg("Acme");
+        contract.setToOrg(toOrg);
+        contract.setStartDate(LocalDateTime.now());
+        contract.setEndDate(LocalDateTime.now().plusDays(90));
+        contract.setStatus("PENDING");
+        contract.setCreatedDate(LocalDateTime.now());
+        contract.setCreatedBy(1L);
+        return contract;
+    }
+
+    private static User user(Long id, String role, String organization) {
+        User user = new User();
+        user.setId(id);
+        user.setName(role + " " + id);
+        user.setRole(role);
+        user.setOrganization(organization);
+        return user;
+    }
+}
@@ -0,0 +1,193 @@
+package com.sclms.sclms_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.config.TaskThreads;
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.ApprovalHistoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs imports end to end against two in-memory H2 shards; Acme's contracts live on shard 0, Globex's on
+ * shard 1. A chunk size of 2 makes every upload span several chunks.
+ */
+class ContractImportServiceTest {
+
+    private static final String HEADER = "title,description,toOrg,contractType,startDate,endDate,value";
+
+    private List<HikariDataSource> shardPools;
+    private TenantShardRouter router;
+    private ContractImportService importService;
+    private JdbcTemplate jdbc;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        shardPools = List.of(h2(0), h2(1));
+        ShardRoutingDataSource shards = new ShardRoutingDataSource(List.copyOf(shardPools));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(shards);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+
+        OrganizationService organizations = mock(OrganizationService.class);
+        when(organizations.getShard("Acme")).thenReturn(0);
+        when(organizations.getShard("Globex")).thenReturn(1);
+        when(organizations.findId("Acme")).thenReturn(1L);
+        when(organizations.findId("Globex")).thenReturn(2L);
+        when(organizations.findId("Initech")).thenReturn(null);
+
+        router = new TenantShardRouter(shards, organizations, transactionManager, TaskThreads.platform());
+        importService = new ContractImportService(mock(ApprovalHistoryRepository.class), mock(NotificationService.class),
+                organizations, router, new ObjectMapper(), dataSource, transactionManager,
+                new ApplicationMetrics(new SimpleMeterRegistry()), TaskThreads.platform(), 1);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+
+        user = new User();
+        user.setId(7L);
+        user.setName("Importer");
+        user.setOrganization("SCLMS");
+        user.setOrganizationId(3L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        router.shutdown();
+        shardPools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void csvFieldsMayBeQuoted() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), ContractImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of("", "", ""), ContractImportService.parseCsvLine(",,"));
+        assertEquals(List.of("\"\""), ContractImportService.parseCsvLine("\"\"\"\"\"\""));
+        assertEquals(List.of("x"), ContractImportService.parseCsvLine("x"));
+    }
+
+    @Test
+    void headerWithByteOrderMarkMapsColumnsByName() throws Exception {
+        ContractImportService.ImportJob job = run(
+                "\uFEFFEnd_Date,To-Org,TITLE,contract_type,start_date,Description\n" +
+                "2025-12-31,Globex,\"Supply, phase 2\",SERVICE,2025-01-01,\"Includes \"\"rush\"\" orders\"\n");
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(1, job.getImported());
+        Map<String, Object> row = router.onShard(1, () -> jdbc.queryForMap(
+                "SELECT title, description, to_org_id, from_org_id, created_by FROM contracts"));
+        assertEquals("Supply, phase 2", row.get("TITLE"));
+        assertEquals("Includes \"rush\" orders", row.get("DESCRIPTION"));
+        assertEquals(2L, ((Number) row.get("TO_ORG_ID")).longValue());
+        assertEquals(3L, ((Number) row.get("FROM_ORG_ID")).longValue());
+        assertEquals(7L, ((Number) row.get("CREATED_BY")).longValue());
+    }
+
+    @Test
+    void missingRequiredColumnFailsTheJob() throws Exception {
+        ContractImportService.ImportJob job = run("title,toOrg,contractType,startDate\nA,Acme,SERVICE,2025-01-01\n");
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("CSV header is missing column enddate", job.getError());
+        assertEquals(0, job.getImported());
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLineNumbers() throws Exception {
+        ContractImportService.ImportJob job = run(HEADER + "\n" +
+                "Good one,,Acme,SERVICE,2025-01-01,2025-06-30,\n" +   // line 2
+                ",,Acme,SERVICE,2025-01-01,2025-06-30,\n" +           // line 3
+                "\n" +                                                // line 4, skipped
+                "Bad date,,Acme,SERVICE,2025-13-01,2025-06-30,\n" +   // line 5
+                "Backwards,,Acme,SERVICE,2025-06-30,2025-01-01,\n" +  // line 6
+                "Stranger,,Initech,SERVICE,2025-01-01,2025-06-30,\n" + // line 7
+                "Negative,,Globex,SERVICE,2025-01-01,2025-06-30,-5\n" + // line 8
+                "Good two,,Globex,SERVICE,2025-01-01,2025-06-30,1200.50\n"); // line 9
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getImported());
+        assertEquals(5, job.getFailed());
+        assertEquals(7, job.getRowsRead());
+        assertEquals(List.of(
+                new ContractImportService.RowError(3, "title is required"),
+                new ContractImportService.RowError(5, "Invalid date '2025-13-01'"),
+                new ContractImportService.RowError(6, "endDate must be after startDate"),
+                new ContractImportService.RowError(7, "toOrg 'Initech' is not a registered organization"),
+                new ContractImportService.RowError(8, "value must not be negative")), job.getErrors());
+        assertEquals(1, countOn(0));
+        assertEquals(1, countOn(1));
+    }
+
+    @Test
+    void chunksAreWrittenInUploadOrder() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        List<String> acme = new ArrayList<>();
+        List<String> globex = new ArrayList<>();
+        for (int i = 1; i <= 41; i++) {
+            String title = String.format("Contract %02d", i);
+            String org = i % 3 == 0 ? "Globex" : "Acme";
+            (org.equals("Acme") ? acme : globex).add(title);
+            csv.append(title).append(",,").append(org).append(",SERVICE,2025-01-01,2025-12-31,\n");
+        }
+
+        ContractImportService.ImportJob job = run(csv.toString());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(41, job.getImported());
+        assertEquals(acme, titlesInInsertOrder(0));
+        assertEquals(globex, titlesInInsertOrder(1));
+    }
+
+    private ContractImportService.ImportJob run(String upload) throws Exception {
+        ContractImportService.ImportJob job = importService.submit(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), ContractImportService.Format.CSV, user);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNotNull(job.getFinishedAt(), "import did not finish");
+        return job;
+    }
+
+    private List<String> titlesInInsertOrder(int shard) {
+        return router.onShard(shard, () -> jdbc.queryForList("SELECT title FROM contracts ORDER BY id", String.class));
+    }
+
+    private int countOn(int shard) {
+        return router.onShard(shard, () -> jdbc.queryForObject("SELECT COUNT(*) FROM contracts", Integer.class));
+    }
+
+    private static HikariDataSource h2(int shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("import-shard-" + shard);
+        dataSource.setJdbcUrl("jdbc:h2:mem:import" + shard + "-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(3);
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE contracts (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100), " +
+                "description VARCHAR(255), contract_type VARCHAR(30), from_org VARCHAR(50), to_org VARCHAR(50), " +
+                "from_org_id BIGINT, to_org_id BIGINT, start_date TIMESTAMP, end_date TIMESTAMP, status VARCHAR(20), " +
+                "created_date TIMESTAMP, created_by BIGINT, contract_value DOUBLE, version BIGINT)");
+        admin.execute("ALTER TABLE contracts ALTER COLUMN id RESTART WITH " + Math.max(1, ShardRoutingDataSource.idBase(shard)));
+        return dataSource;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.BenchmarkRunner;
+import com.sclms.sclms_backend.entity.Contract;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV building as the exports and reports do it: field escaping, and whole contract rows written through
+ * the same buffered UTF-8 writer into a discarding stream, so only formatting is measured.
+ *
+ * Run with: mvn test -Dtest=CsvExportBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private List<Contract> contracts;
+
+    @Setup
+    public void setUp() {
+        contracts = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < rows; i++) {
+            Contract c = new Contract();
+            c.setId((long) i);
+            c.setContractNumber("CNT-2024-" + i);
+            // Every fourth title needs quoting, as free text from users does
+            c.setTitle(i % 4 == 0 ? "Supply, \"premium\" tier " + i : "Supply agreement " + i);
+            c.setContractType("SERVICE");
+            c.setFromOrg("Acme");
+            c.setToOrg("Globex");
+            c.setStatus(i % 3 == 0 ? "REJECTED" : "APPROVED");
+            c.setValue(100.0 + i);
+            c.setStartDate(now);
+            c.setEndDate(now.plusDays(365));
+            c.setCreatedDate(now.minusDays(i % 30));
+            c.setCreatedBy(1L);
+            c.setApprovedDate(now.plusHours(4));
+            c.setApprovedBy(2L);
+            c.setRejectionReason(i % 3 == 0 ? "Missing clause 4.2\nresubmit" : null);
+            contracts.add(c);
+        }
+    }
+
+    @Benchmark
+    public String escapePlain() {
+        return CsvExportService.escape("Supply agreement 42");
+    }
+
+    @Benchmark
+    public String escapeQuoted() {
+        return CsvExportService.escape("Supply, \"premium\" tier");
+    }
+
+    @Benchmark
+    public void writeContractRows() throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        for (Contract c : contracts) {
+            CsvExportService.writeLine(writer, Arrays.asList(
+                    c.getId(), c.getContractNumber(), c.getTitle(), c.getContractType(), c.getFromOrg(),
+                    c.getToOrg(), c.getStatus(), c.getValue(), c.getStartDate(), c.getEndDate(),
+                    c.getCreatedDate(), c.getCreatedBy(), c.getApprovedDate(), c.getApprovedBy(),
+                    c.getRejectionReason()
+            ));
+        }
+        writer.flush();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(CsvExportBenchmark.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ApplicationMetrics;
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.entity.Organization;
+import com.sclms.sclms_backend.repository.OrganizationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrganizationServiceTest {
+
+    private OrganizationRepository repository;
+    private OrganizationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OrganizationRepository.class);
+        ShardRoutingDataSource shards = mock(ShardRoutingDataSource.class);
+        when(shards.getShardCount()).thenReturn(3);
+        service = new OrganizationService(repository, mock(PlatformTransactionManager.class), shards,
+                new ApplicationMetrics(new SimpleMeterRegistry()));
+
+        when(repository.findAll()).thenReturn(List.of(organization(1L, "Acme", 1)));
+        service.reload();
+    }
+
+    // Registered on another instance after this one loaded its directory
+    @Test
+    void organizationMissingFromTheSnapshotIsRoutedByTheRegistry() {
+        when(repository.findByName("Globex")).thenReturn(Optional.of(organization(2L, "Globex", 2)));
+        when(repository.findAll()).thenReturn(List.of(organization(1L, "Acme", 1), organization(2L, "Globex", 2)));
+
+        assertEquals(1, service.getShard("Acme"));
+        assertEquals(2, service.getShard("Globex"));
+        assertEquals(2, service.getShardMap().get("Globex"));
+    }
+
+    @Test
+    void unknownOrganizationUsesTheDirectoryShard() {
+        when(repository.findByName("Initech")).thenReturn(Optional.empty());
+
+        assertEquals(ShardRoutingDataSource.DIRECTORY_SHARD, service.getShard("Initech"));
+        assertEquals(ShardRoutingDataSource.DIRECTORY_SHARD, service.getShard(null));
+    }
+
+    // Counterparty lookups never register a tenant
+    @Test
+    void findIdResolvesKnownOrganizationsOnly() {
+        when(repository.findByName("Globex")).thenReturn(Optional.of(organization(2L, "Globex", 2)));
+        when(repository.findByName("Initech")).thenReturn(Optional.empty());
+
+        assertEquals(1L, service.findId(" Acme "));
+        assertEquals(2L, service.findId("Globex"));
+        assertNull(service.findId("Initech"));
+        assertNull(service.findId(" "));
+        verify(repository, never()).save(any());
+    }
+
+    private static Organization organization(Long id, String name, int shard) {
+        Organization organization = new Organization();
+        organization.setId(id);
+        organization.setName(name);
+        organization.setShardId(shard);
+        return organization;
+    }
+}
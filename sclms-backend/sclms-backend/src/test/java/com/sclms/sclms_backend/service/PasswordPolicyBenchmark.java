@@ -0,0 +1,79 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.BenchmarkRunner;
+import com.sclms.sclms_backend.entity.SystemSettings;
+import com.sclms.sclms_backend.repository.SystemSettingsRepository;
+import com.sclms.sclms_backend.security.PasswordPolicyEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SecurityService#validatePasswordPolicy} with the default settings and the bundled breached
+ * password list: an accepted password, one rejected by a character rule, and one rejected by the
+ * breached list (the last check, so the full rule set runs first).
+ *
+ * Run with: mvn test -Dtest=PasswordPolicyBenchmark -Dbenchmark=true
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordPolicyBenchmark {
+
+    private SecurityService securityService;
+
+    @Setup
+    public void setUp() {
+        SystemSettingsRepository settings = Mockito.mock(SystemSettingsRepository.class);
+        Mockito.when(settings.findAll()).thenReturn(List.of(new SystemSettings()));
+
+        PasswordPolicyEngine engine = new PasswordPolicyEngine(settings, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "breachedListLocation", "classpath:breached-passwords.txt");
+        ReflectionTestUtils.setField(engine, "breachedListFalsePositiveRate", 0.0001);
+
+        securityService = new SecurityService();
+        ReflectionTestUtils.setField(securityService, "passwordPolicyEngine", engine);
+        // Compiles the policy and loads the breached list outside the measurement
+        securityService.validatePasswordPolicy("Warm-up-Passw0rd");
+    }
+
+    @Benchmark
+    public boolean acceptedPassword() {
+        return validate("Contract-Signing-2024");
+    }
+
+    @Benchmark
+    public boolean missingNumber() {
+        return validate("Contract-Signing");
+    }
+
+    @Benchmark
+    public boolean breachedPassword() {
+        return validate("Password123");
+    }
+
+    private boolean validate(String password) {
+        try {
+            securityService.validatePasswordPolicy(password);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        BenchmarkRunner.run(PasswordPolicyBenchmark.class);
+    }
+}
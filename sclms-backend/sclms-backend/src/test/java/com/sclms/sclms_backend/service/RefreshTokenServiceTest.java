@@ -0,0 +1,110 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.entity.User;
+import com.sclms.sclms_backend.repository.RefreshTokenRepository;
+import com.sclms.sclms_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A refresh token can be exchanged exactly once. Presenting it again, or racing two exchanges of the
+ * same token, is treated as theft and ends every session of the user.
+ */
+@SpringBootTest
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Rotating User");
+        user.setEmail("rotate-" + System.nanoTime() + "@acme.test");
+        user.setPassword("x");
+        user.setRole("USER");
+        user.setStatus("APPROVED");
+        user.setOrganization("Acme");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void rotationIssuesANewTokenAndSpendsTheOldOne() {
+        String first = refreshTokenService.issueRefreshToken(user);
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(first);
+
+        assertEquals(user.getId(), result.getUser().getId());
+        assertNotEquals(first, result.getRefreshToken());
+        assertTrue(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(first)).orElseThrow().isRevoked());
+        assertEquals(RefreshTokenService.hash(result.getRefreshToken()),
+                refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(first)).orElseThrow().getReplacedByHash());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeChain() {
+        String first = refreshTokenService.issueRefreshToken(user);
+        String second = refreshTokenService.rotate(first).getRefreshToken();
+
+        assertThrows(RefreshTokenService.InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(first));
+
+        assertTrue(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(second)).orElseThrow().isRevoked());
+        assertThrows(RefreshTokenService.InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(second));
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenLetOnlyOneThrough() throws Exception {
+        String token = refreshTokenService.issueRefreshToken(user);
+        int racers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(racers);
+        List<Future<RefreshTokenService.RotationResult>> futures = new ArrayList<>();
+        try {
+            Callable<RefreshTokenService.RotationResult> rotate = () -> {
+                start.await();
+                return refreshTokenService.rotate(token);
+            };
+            for (int i = 0; i < racers; i++) {
+                futures.add(pool.submit(rotate));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<RefreshTokenService.RotationResult> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    // losers see the token as already spent (or hit the row lock) - either way no new chain
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sclms.sclms_backend.service;
+
+import com.sclms.sclms_backend.config.ShardRoutingDataSource;
+import com.sclms.sclms_backend.config.TaskThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routes against three in-memory H2 databases in MySQL mode, each holding a contracts table.
+ */
+class TenantShardRouterTest {
+
+    private List<HikariDataSource> shardPools;
+    private ShardRoutingDataSource shards;
+    private TenantShardRouter router;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        shardPools = List.of(h2(0), h2(1), h2(2));
+        shards = new ShardRoutingDataSource(List.copyOf(shardPools));
+
+        OrganizationService organizations = mock(OrganizationService.class);
+        when(organizations.getShard("Acme")).thenReturn(1);
+        when(organizations.getShard("Globex")).thenReturn(2);
+        when(organizations.getShard("SCLMS")).thenReturn(0);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(shards);
+        jdbc = new JdbcTemplate(dataSource);
+        router = new TenantShardRouter(shards, organizations, new DataSourceTransactionManager(dataSource),
+                TaskThreads.platform());
+
+        insert("SCLMS", "Acme");
+        insert("Acme", "Acme");
+        insert("Acme", "Globex");
+        insert("SCLMS", "Globex");
+        insert("Globex", "SCLMS");
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+        shardPools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void tenantQueriesRunOnTheTenantsShard() {
+        assertEquals(2, (int) router.forTenant("Acme", () -> countTo("Acme")));
+        assertEquals(0, (int) router.forTenant("Globex", () -> countTo("Acme")));
+        assertEquals("shard-2", router.forTenant("Globex", this::shardName));
+        // Outside a shard scope everything goes to the directory shard
+        assertEquals("shard-0", shardName());
+    }
+
+    @Test
+    void contractIdsCarryTheirShard() {
+        Long id = router.forTenant("Globex", () ->
+                jdbc.queryForObject("SELECT MIN(id) FROM contracts", Long.class));
+        assertEquals(2, ShardRoutingDataSource.shardOfId(id));
+        assertEquals("Acme", router.forContract(id, () ->
+                jdbc.queryForObject("SELECT from_org FROM contracts WHERE id = ?", String.class, id)));
+    }
+
+    @Test
+    void scatterGatherCoversEveryShard() {
+        assertEquals(5, router.scatterSum(() -> jdbc.queryForObject("SELECT COUNT(*) FROM contracts", Long.class)));
+        assertEquals(2, router.scatterSum(() -> countFrom("SCLMS")));
+
+        List<Long> newestIds = router.scatterMerge(this::newestIds, Comparator.reverseOrder(), 0, 3);
+        assertEquals(List.of(2, 2, 1), newestIds.stream().map(ShardRoutingDataSource::shardOfId).toList());
+    }
+
+    @Test
+    void scatterMergePagesThroughTheMergedOrder() {
+        List<Long> all = router.scatterMerge(this::newestIds, Comparator.reverseOrder(), 0, 10);
+        assertEquals(5, all.size());
+        assertEquals(all.stream().sorted(Comparator.reverseOrder()).toList(), all);
+
+        assertEquals(all.subList(2, 4), router.scatterMerge(this::newestIds, Comparator.reverseOrder(), 2, 2));
+        assertEquals(all.subList(4, 5), router.scatterMerge(this::newestIds, Comparator.reverseOrder(), 4, 2));
+        assertEquals(List.of(), router.scatterMerge(this::newestIds, Comparator.reverseOrder(), 6, 2));
+        assertEquals(all, router.scatterMergeAll(
+                () -> jdbc.queryForList("SELECT id FROM contracts ORDER BY id DESC", Long.class), Comparator.reverseOrder()));
+    }
+
+    @Test
+    void singleShardRunsInline() {
+        ShardRoutingDataSource single = new ShardRoutingDataSource(List.of(shardPools.get(0)));
+        TenantShardRouter inline = new TenantShardRouter(single, mock(OrganizationService.class),
+                new DataSourceTransactionManager(single), TaskThreads.platform());
+        JdbcTemplate singleJdbc = new JdbcTemplate(single);
+        assertEquals(1, inline.scatterSum(() -> singleJdbc.queryForObject("SELECT COUNT(*) FROM contracts", Long.class)));
+        assertEquals("shard-0", inline.forTenant("Acme", () -> singleJdbc.queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    private void insert(String fromOrg, String toOrg) {
+        router.forTenant(toOrg, () -> jdbc.update("INSERT INTO contracts (from_org, to_org) VALUES (?, ?)", fromOrg, toOrg));
+    }
+
+    private List<Long> newestIds(int rows) {
+        return jdbc.queryForList("SELECT id FROM contracts ORDER BY id DESC LIMIT ?", Long.class, rows);
+    }
+
+    private int countTo(String org) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM contracts WHERE to_org = ?", Integer.class, org);
+    }
+
+    private long countFrom(String org) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM contracts WHERE from_org = ?", Long.class, org);
+    }
+
+    private String shardName() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource h2(int shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + shard);
+        dataSource.setJdbcUrl("jdbc:h2:mem:shard" + shard + "-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(3);
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE node (name VARCHAR(20))");
+        admin.update("INSERT INTO node VALUES (?)", "shard-" + shard);
+        admin.execute("CREATE TABLE contracts (id BIGINT AUTO_INCREMENT PRIMARY KEY, from_org VARCHAR(50), to_org VARCHAR(50))");
+        admin.execute("ALTER TABLE contracts ALTER COLUMN id RESTART WITH " + Math.max(1, ShardRoutingDataSource.idBase(shard)));
+        return dataSource;
+    }
+}
@@ -1,6 +1,7 @@
 import { createContext, useState, useEffect } from "react";
 import { useNavigate } from "react-router-dom";
 import { createLogger } from "../utils/logger";
+import { apiRequest } from "../utils/api";
 
 const logger = createLogger('AuthContext');
 
@@ -43,6 +44,7 @@ export function AuthProvider({ children }) {
       // Only clear if not loading (prevents clearing during initial load)
       localStorage.removeItem("user");
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
     }
   }, [user, token, loading]);
 
@@ -60,6 +62,20 @@ export function AuthProvider({ children }) {
   };
 
   const logout = () => {
+    // Revoke the session server-side; local state is cleared regardless of the outcome
+    const refreshToken = localStorage.getItem("refreshToken");
+    const accessToken = localStorage.getItem("token");
+    if (refreshToken || accessToken) {
+      apiRequest("auth/logout", {
+        method: "POST",
+        headers: {
+          "Content-Type": "application/json",
+          ...(accessToken ? { Authorization: `Bearer ${accessToken}` } : {}),
+        },
+        body: JSON.stringify({ refreshToken }),
+      }).catch((error) => logger.error("Logout request failed", error));
+    }
+
     setUser(null);
     setToken(null);
     navigate("/login");
@@ -1,6 +1,6 @@
 import { useState, useContext } from "react";
 import { AuthContext } from "../../context/AuthContext";
-import { apiRequest } from "../../utils/api";
+import { apiRequest, storeSessionTokens } from "../../utils/api";
 import { Palette, Bell, Shield, Globe, Monitor, Moon, Sun, Eye, EyeOff, CheckCircle, AlertCircle } from "lucide-react";
 import { showToast } from "../../utils/toast";
 import "../../styles/approver-settings.css";
@@ -96,13 +96,15 @@ export default function ApproverSettings() {
       console.log("Current password length:", passwordForm.currentPassword.length);
       console.log("New password length:", passwordForm.newPassword.length);
 
-      await apiRequest("auth/change-password", {
+      const result = await apiRequest("auth/change-password", {
         method: "PUT",
         body: {
           oldPassword: passwordForm.currentPassword,
           newPassword: passwordForm.newPassword
         }
       });
+      // Other sessions are signed out; this one continues with the new tokens
+      storeSessionTokens(result);
 
       showToast("Password changed successfully", "success");
       setPasswordForm({
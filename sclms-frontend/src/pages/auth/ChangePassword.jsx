@@ -1,6 +1,6 @@
 import { useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { apiRequest } from "../../utils/api";
+import { apiRequest, storeSessionTokens } from "../../utils/api";
 import { showToast } from "../../utils/toast";
 import "../../styles/auth.css";
 
@@ -65,10 +65,12 @@ function ChangePassword() {
         requestBody.userId = forceResetUserId;
       }
 
-      await apiRequest("auth/change-password", {
+      const result = await apiRequest("auth/change-password", {
         method: "PUT",
         body: JSON.stringify(requestBody)
       });
+      // Other sessions are signed out; this one continues with the new tokens
+      storeSessionTokens(result);
 
       showToast("Password changed successfully!", "success");
 
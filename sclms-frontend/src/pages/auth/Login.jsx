@@ -47,6 +47,7 @@ function Login() {
 
       // Store token and user data for regular login
       localStorage.setItem("token", response.token);
+      localStorage.setItem("refreshToken", response.refreshToken);
       localStorage.setItem("user", JSON.stringify(response.user));
 
       // Update AuthContext with user data and token
@@ -86,6 +87,7 @@ function Login() {
 
       // Store token and user data
       localStorage.setItem("token", response.token);
+      localStorage.setItem("refreshToken", response.refreshToken);
       localStorage.setItem("user", JSON.stringify(response.user));
 
       // Update AuthContext with user data and token
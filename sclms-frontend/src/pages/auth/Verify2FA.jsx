@@ -43,6 +43,7 @@ function Verify2FA() {
 
       // Store token and user data
       localStorage.setItem("token", response.token);
+      localStorage.setItem("refreshToken", response.refreshToken);
       localStorage.setItem("user", JSON.stringify(response.user));
 
       showToast("Login successful!", "success");
@@ -1,6 +1,6 @@
 import { useContext, useEffect, useState } from "react";
 import { AuthContext } from "../../context/AuthContext";
-import { apiRequest } from "../../utils/api";
+import { apiRequest, storeSessionTokens } from "../../utils/api";
 import {
   FiSettings, FiBell, FiShield, FiEye, FiLock,
   FiSave, FiRefreshCw, FiSmartphone, FiKey, FiToggleRight, FiToggleLeft
@@ -145,13 +145,15 @@ function Settings() {
     try {
       setSaving(true);
 
-      await apiRequest("auth/change-password", {
+      const result = await apiRequest("auth/change-password", {
         method: 'PUT',
         body: {
           currentPassword: passwordChange.current,
           newPassword: passwordChange.new
         }
       });
+      // Other sessions are signed out; this one continues with the new tokens
+      storeSessionTokens(result);
 
       setPasswordChange({ current: "", new: "", confirm: "" });
       showSuccess("Password changed successfully");
@@ -32,11 +32,68 @@ const getCsrfToken = () => {
   return "";
 };
 
+// ==============================
+// Access Token Refresh
+// ==============================
+// Access tokens are short-lived; renew shortly before expiry using the refresh token.
+const REFRESH_MARGIN_MS = 30 * 1000;
+let refreshPromise = null;
+
+// Keep the tokens a response hands out (refresh, or a password change that revoked the old ones)
+export const storeSessionTokens = (data) => {
+  if (data?.token) localStorage.setItem("token", data.token);
+  if (data?.refreshToken) localStorage.setItem("refreshToken", data.refreshToken);
+};
+
+const isTokenExpiring = (token) => {
+  try {
+    const payload = JSON.parse(atob(token.split(".")[1].replace(/-/g, "+").replace(/_/g, "/")));
+    return !payload.exp || payload.exp * 1000 - Date.now() < REFRESH_MARGIN_MS;
+  } catch {
+    return false;
+  }
+};
+
+export const refreshAccessToken = async () => {
+  const refreshToken = localStorage.getItem("refreshToken");
+  if (!refreshToken) return null;
+
+  // Share one in-flight refresh between concurrent requests (refresh tokens rotate on use)
+  if (!refreshPromise) {
+    refreshPromise = fetch(`${API_BASE_URL}/auth/refresh`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ refreshToken }),
+    })
+      .then(async (res) => {
+        if (!res.ok) {
+          logger.error("Token refresh failed");
+          localStorage.removeItem("refreshToken");
+          return null;
+        }
+        const data = await res.json();
+        storeSessionTokens(data);
+        return data.token;
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+
+  return refreshPromise;
+};
+
 // ==============================
 // Core API Handler
 // ==============================
 export const apiRequest = async (endpoint, options = {}) => {
-  const token = localStorage.getItem("token");
+  let token = localStorage.getItem("token");
+
+  // Renew the access token before it expires
+  if (token && isTokenExpiring(token)) {
+    token = (await refreshAccessToken()) || token;
+  }
 
   // Normalize endpoint
   const cleanEndpoint = endpoint.replace(/^\/+/, "");